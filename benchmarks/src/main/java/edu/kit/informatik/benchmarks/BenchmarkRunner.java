@@ -0,0 +1,40 @@
+package edu.kit.informatik.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler, so the allocation rate is reported next to the throughput and the
+ * average time. All the usual JMH command line options can be passed; without a benchmark pattern all
+ * benchmarks of this package are run.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public final class BenchmarkRunner {
+
+    /** Utility class, so it cannot be instantiated. */
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * Main method to run the benchmarks.
+     * @param args JMH command line options.
+     * @throws RunnerException If the benchmarks fail.
+     * @throws CommandLineOptionException If the options are invalid.
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(commandLine).addProfiler(GCProfiler.class);
+        if (commandLine.getIncludes().isEmpty()) { // The includes of the parent are merged, not replaced.
+            builder.include(BenchmarkRunner.class.getPackage().getName());
+        }
+        new Runner(builder.build()).run();
+    }
+}
@@ -0,0 +1,132 @@
+package edu.kit.informatik.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.kit.informatik.data.Item;
+import edu.kit.informatik.data.NeedsAssessment;
+import edu.kit.informatik.exceptions.RuleBrokenException;
+
+/**
+ * The shapes of the BOMs that the benchmarks are run on. Every shape has a root assembly named {@value #ROOT}.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public enum BomShape {
+
+    /**
+     * The root contains as many different components as the size.
+     */
+    WIDE {
+        @Override
+        void build(NeedsAssessment factory, int size) throws RuleBrokenException {
+            List<Item> children = new ArrayList<>();
+            for (int index = 0; index < size; index++) {
+                children.add(new Item(1, name(PART, index)));
+            }
+            factory.addAssembly(ROOT, children);
+        }
+    },
+
+    /**
+     * A chain of as many assemblies as the size, each containing one component and the next assembly.
+     */
+    DEEP {
+        @Override
+        void build(NeedsAssessment factory, int size) throws RuleBrokenException {
+            factory.addAssembly(name(ASSEMBLY, size - 1), items(name(PART, size - 1)));
+            for (int index = size - 2; index >= 0; index--) {
+                factory.addAssembly(name(ASSEMBLY, index), items(name(ASSEMBLY, index + 1), name(PART, index)));
+            }
+            factory.addAssembly(ROOT, items(name(ASSEMBLY, 0)));
+        }
+    },
+
+    /**
+     * Layers of {@value #LAYER_WIDTH} assemblies in which every assembly contains all assemblies of the next layer,
+     * so the subassemblies are shared very heavily. The number of assemblies is about the size.
+     */
+    SHARED {
+        @Override
+        void build(NeedsAssessment factory, int size) throws RuleBrokenException {
+            int layers = Math.max(1, size / LAYER_WIDTH);
+            for (int index = 0; index < LAYER_WIDTH; index++) {
+                factory.addAssembly(name(ASSEMBLY, (layers - 1) * LAYER_WIDTH + index), items(name(PART, index)));
+            }
+            for (int layer = layers - 2; layer >= 0; layer--) {
+                List<Item> children = layerItems(layer + 1);
+                for (int index = 0; index < LAYER_WIDTH; index++) {
+                    factory.addAssembly(name(ASSEMBLY, layer * LAYER_WIDTH + index), children);
+                }
+            }
+            factory.addAssembly(ROOT, layerItems(0));
+        }
+    };
+
+    /** The name of the root assembly of every shape. */
+    public static final String ROOT = "Root";
+
+    /** The number of assemblies in a layer of the shared shape. */
+    static final int LAYER_WIDTH = 8;
+
+    /** The prefix of the names of the components. */
+    private static final String PART = "Part";
+
+    /** The prefix of the names of the assemblies. */
+    private static final String ASSEMBLY = "Assembly";
+
+    /** The number of letters that are used to encode a number in a name. */
+    private static final int LETTERS = 26;
+
+    /**
+     * Builds a BOM of this shape.
+     * @param factory The (empty) NeedsAssessment in which the BOM is built.
+     * @param size The size of the BOM.
+     * @throws RuleBrokenException If the BOM cannot be built.
+     */
+    abstract void build(NeedsAssessment factory, int size) throws RuleBrokenException;
+
+    /**
+     * Method to create a valid name (letters only) from a number.
+     * @param prefix The prefix of the name.
+     * @param number The number.
+     * @return The name.
+     */
+    static String name(String prefix, int number) {
+        StringBuilder name = new StringBuilder(prefix);
+        int rest = number;
+        do {
+            name.append((char) ('a' + rest % LETTERS));
+            rest /= LETTERS;
+        } while (rest > 0);
+        return name.toString();
+    }
+
+    /**
+     * Method to create a list of items with the amount one.
+     * @param names The names of the items.
+     * @return The items.
+     */
+    private static List<Item> items(String... names) {
+        List<Item> items = new ArrayList<>();
+        for (String name : names) {
+            items.add(new Item(1, name));
+        }
+        return items;
+    }
+
+    /**
+     * Method to create the items of all assemblies of a layer of the shared shape.
+     * @param layer The layer.
+     * @return The items.
+     */
+    private static List<Item> layerItems(int layer) {
+        List<Item> items = new ArrayList<>();
+        for (int index = 0; index < LAYER_WIDTH; index++) {
+            items.add(new Item(1, name(ASSEMBLY, layer * LAYER_WIDTH + index)));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,222 @@
+package edu.kit.informatik.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.kit.informatik.data.Edge;
+import edu.kit.informatik.data.Item;
+import edu.kit.informatik.data.NeedsAssessment;
+import edu.kit.informatik.exceptions.RuleBrokenException;
+
+/**
+ * Benchmarks of all operations of NeedsAssessment on BOMs of different shapes and sizes.
+ *
+ * Every mutation is undone after each invocation (outside of the measurement), so every invocation runs on the
+ * same BOM.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NeedsAssessmentBenchmark {
+
+    /** The name of the assembly that is added and removed by the benchmarks. */
+    private static final String EXTRA = "Extra";
+
+    /**
+     * The BOM the benchmarks are run on.
+     */
+    @State(Scope.Thread)
+    public static class Bom {
+
+        /** The shape of the BOM. */
+        @Param({"WIDE", "DEEP", "SHARED"})
+        public BomShape shape;
+
+        /** The size of the BOM. */
+        @Param({"100", "10000"})
+        public int size;
+
+        /** The capacity of the cache of exploded assemblies (0 measures the explosion itself). */
+        @Param({"0", "256"})
+        public int cacheCapacity;
+
+        /** The system that contains the BOM. */
+        NeedsAssessment factory;
+
+        /** The children of the root, used to add the extra assembly. */
+        List<Item> children;
+
+        /** The name of a child of the root, used to add and remove parts. */
+        String child;
+
+        /**
+         * Builds the BOM.
+         * @throws RuleBrokenException If the BOM cannot be built.
+         */
+        @Setup(Level.Trial)
+        public void build() throws RuleBrokenException {
+            factory = new NeedsAssessment(cacheCapacity);
+            shape.build(factory, size);
+            children = new ArrayList<>();
+            for (Edge edge : factory.getSystem().getAssembly(BomShape.ROOT).getChildren()) {
+                children.add(edge.toItem());
+            }
+            child = children.get(0).getName();
+        }
+    }
+
+    /**
+     * Removes the extra assembly after it was added.
+     */
+    @State(Scope.Thread)
+    public static class AddedAssembly {
+
+        /**
+         * @param bom The BOM.
+         * @throws RuleBrokenException If the extra assembly doesn't exist.
+         */
+        @TearDown(Level.Invocation)
+        public void remove(Bom bom) throws RuleBrokenException {
+            bom.factory.removeAssembly(EXTRA);
+        }
+    }
+
+    /**
+     * Adds the extra assembly before it is removed.
+     */
+    @State(Scope.Thread)
+    public static class ExistingAssembly {
+
+        /**
+         * @param bom The BOM.
+         * @throws RuleBrokenException If the extra assembly cannot be added.
+         */
+        @Setup(Level.Invocation)
+        public void add(Bom bom) throws RuleBrokenException {
+            bom.factory.addAssembly(EXTRA, bom.children);
+        }
+    }
+
+    /**
+     * Removes a part again after it was added to the root.
+     */
+    @State(Scope.Thread)
+    public static class AddedPart {
+
+        /**
+         * @param bom The BOM.
+         * @throws RuleBrokenException If the part cannot be removed.
+         */
+        @TearDown(Level.Invocation)
+        public void remove(Bom bom) throws RuleBrokenException {
+            bom.factory.removePart(BomShape.ROOT, 1, bom.child);
+        }
+    }
+
+    /**
+     * Adds a part to the root before it is removed.
+     */
+    @State(Scope.Thread)
+    public static class ExistingPart {
+
+        /**
+         * @param bom The BOM.
+         * @throws RuleBrokenException If the part cannot be added.
+         */
+        @Setup(Level.Invocation)
+        public void add(Bom bom) throws RuleBrokenException {
+            bom.factory.addPart(BomShape.ROOT, 1, bom.child);
+        }
+    }
+
+    /**
+     * @param bom The BOM.
+     * @param cleanup Removes the assembly afterwards.
+     * @throws RuleBrokenException If the assembly cannot be added.
+     */
+    @Benchmark
+    public void addAssembly(Bom bom, AddedAssembly cleanup) throws RuleBrokenException {
+        bom.factory.addAssembly(EXTRA, bom.children);
+    }
+
+    /**
+     * @param bom The BOM.
+     * @param preparation Adds the assembly beforehand.
+     * @throws RuleBrokenException If the assembly cannot be removed.
+     */
+    @Benchmark
+    public void removeAssembly(Bom bom, ExistingAssembly preparation) throws RuleBrokenException {
+        bom.factory.removeAssembly(EXTRA);
+    }
+
+    /**
+     * @param bom The BOM.
+     * @param cleanup Removes the part afterwards.
+     * @throws RuleBrokenException If the part cannot be added.
+     */
+    @Benchmark
+    public void addPart(Bom bom, AddedPart cleanup) throws RuleBrokenException {
+        bom.factory.addPart(BomShape.ROOT, 1, bom.child);
+    }
+
+    /**
+     * @param bom The BOM.
+     * @param preparation Adds the part beforehand.
+     * @throws RuleBrokenException If the part cannot be removed.
+     */
+    @Benchmark
+    public void removePart(Bom bom, ExistingPart preparation) throws RuleBrokenException {
+        bom.factory.removePart(BomShape.ROOT, 1, bom.child);
+    }
+
+    /**
+     * @param bom The BOM.
+     * @return The output.
+     * @throws RuleBrokenException If the root doesn't exist.
+     */
+    @Benchmark
+    public String printAssembly(Bom bom) throws RuleBrokenException {
+        return bom.factory.printAssembly(BomShape.ROOT);
+    }
+
+    /**
+     * @param bom The BOM.
+     * @return The output.
+     * @throws RuleBrokenException If the root doesn't exist.
+     */
+    @Benchmark
+    public String getAssemblies(Bom bom) throws RuleBrokenException {
+        return bom.factory.getAssemblies(BomShape.ROOT);
+    }
+
+    /**
+     * @param bom The BOM.
+     * @return The output.
+     * @throws RuleBrokenException If the root doesn't exist.
+     */
+    @Benchmark
+    public String getComponents(Bom bom) throws RuleBrokenException {
+        return bom.factory.getComponents(BomShape.ROOT);
+    }
+}
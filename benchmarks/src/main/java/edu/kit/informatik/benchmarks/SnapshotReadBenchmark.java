@@ -0,0 +1,96 @@
+package edu.kit.informatik.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.kit.informatik.data.NeedsAssessment;
+import edu.kit.informatik.exceptions.RuleBrokenException;
+
+/**
+ * Benchmarks of queries on published snapshots by several reader threads while one writer keeps changing the
+ * BOM. The number of readers is set with the JMH option -tg, e.g. {@code -tg 1,4} for one writer and four
+ * readers, so the scaling of the reads can be compared for different numbers of threads.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SnapshotReadBenchmark {
+
+    /**
+     * The BOM that is shared by the writer and the readers.
+     */
+    @State(Scope.Group)
+    public static class SharedBom {
+
+        /** The shape of the BOM. */
+        @Param({"WIDE", "DEEP", "SHARED"})
+        public BomShape shape;
+
+        /** The size of the BOM. */
+        @Param({"1000"})
+        public int size;
+
+        /** The system that contains the BOM and publishes the snapshots. */
+        NeedsAssessment factory;
+
+        /** The name of a child of the root, used to add and remove parts. */
+        String child;
+
+        /**
+         * Builds the BOM.
+         * @throws RuleBrokenException If the BOM cannot be built.
+         */
+        @Setup(Level.Trial)
+        public void build() throws RuleBrokenException {
+            factory = new NeedsAssessment(0, true);
+            shape.build(factory, size);
+            child = factory.getSystem().getAssembly(BomShape.ROOT).getChildren().iterator().next().getChild()
+                    .getName();
+        }
+    }
+
+    /**
+     * Changes the BOM and publishes two snapshots.
+     * @param bom The BOM.
+     * @throws RuleBrokenException If the part cannot be added or removed.
+     */
+    @Benchmark
+    @Group("readWhileWriting")
+    @GroupThreads(1)
+    public void write(SharedBom bom) throws RuleBrokenException {
+        bom.factory.addPart(BomShape.ROOT, 1, bom.child);
+        bom.factory.removePart(BomShape.ROOT, 1, bom.child);
+    }
+
+    /**
+     * @param bom The BOM.
+     * @return The output.
+     * @throws RuleBrokenException If the root doesn't exist.
+     */
+    @Benchmark
+    @Group("readWhileWriting")
+    @GroupThreads(3)
+    public String getComponents(SharedBom bom) throws RuleBrokenException {
+        return bom.factory.getSnapshot().getComponents(BomShape.ROOT);
+    }
+}
@@ -7,10 +7,8 @@ import java.util.Set;
 
 import edu.kit.informatik.data.Item;
 import edu.kit.informatik.data.NeedsAssessment;
-import edu.kit.informatik.data.TreeNode;
 import edu.kit.informatik.exceptions.InvalidInputException;
 import edu.kit.informatik.exceptions.RuleBrokenException;
-import edu.kit.informatik.ui.InputChecker;
 import edu.kit.informatik.util.StringList;
 
 /**
@@ -30,43 +28,26 @@ public class AddAssemblyCommand extends Command {
         super(factory);
     }
     
-    /**
-     * Helper method to get the node of an Item.
-     * @param amount The amount of the Item.
-     * @param name The name of the Item.
-     * @return If the item already exists as a tree/assembly, a clone of it will be returned.
-     * If it doesn't exist, a new node with the correct amount and name will be returned.
-     */
-    private TreeNode getChildNode(int amount, String name) {
-        TreeNode node = null;
-        if (factory.getSystem().getAssembly(name) != null) {
-            node = factory.getSystem().getAssembly(name).getCopy();
-            node.getData().setAmount(amount);
-        } else {
-            node = new TreeNode(new Item(amount, name));
-        }
-        return node;
-    }
-    
     @Override
     public String getNameofCommand() {
       return "addAssembly";
     }
 
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+
     @Override
     public String run(String parameters) throws InvalidInputException, RuleBrokenException {
-        InputChecker.checkAddAssembly(parameters);
-        List<TreeNode> children = new ArrayList<>();
-        List<String> names = new ArrayList<>();
-        String[] noEquals = parameters.split(StringList.EQUALS.toString());
-        String nameAssembly = noEquals[0];
-        String[] items = noEquals[1].split(StringList.SEMICOLON.toString());
-        for (int index = 0; index < items.length; index++) {
-            String[] item = items[index].split(StringList.COLON.toString());
-            int amount = Integer.parseInt(item[0]);
-            String name = item[1];
+        tokenizer.tokenizeAssembly(parameters);
+        List<Item> children = new ArrayList<>(tokenizer.size());
+        List<String> names = new ArrayList<>(tokenizer.size());
+        String nameAssembly = tokenizer.getHead();
+        for (int index = 0; index < tokenizer.size(); index++) {
+            String name = tokenizer.getName(index);
             names.add(name);
-            children.add(getChildNode(amount, name));
+            children.add(new Item(tokenizer.getAmount(index), name));
         }
         // This checks for duplicate name entries by the user (HashSet removes duplicates).
         Set<String> setOfNames = new HashSet<>(names);
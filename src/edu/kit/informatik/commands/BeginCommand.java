@@ -0,0 +1,41 @@
+package edu.kit.informatik.commands;
+
+import edu.kit.informatik.data.NeedsAssessment;
+import edu.kit.informatik.exceptions.RuleBrokenException;
+import edu.kit.informatik.util.StringList;
+
+/**
+ * Represents the begin command, which opens a transaction. The addPart and removePart commands that follow are
+ * only staged until the commit command applies them all at once, or the rollback command discards them.
+ * 
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public class BeginCommand extends Command {
+
+    /**
+     * Constructor for the begin command.
+     * @param factory All methods are called from it.
+     */
+    public BeginCommand(NeedsAssessment factory) {
+        super(factory);
+    }
+
+    @Override
+    public String getNameofCommand() {
+        return "begin";
+    }
+
+    @Override
+    public boolean hasParameters() {
+        return false;
+    }
+
+    @Override
+    public String run(String parameters) throws RuleBrokenException {
+        factory.begin();
+        return StringList.OK.toString();
+    }
+
+}
@@ -0,0 +1,39 @@
+package edu.kit.informatik.commands;
+
+import edu.kit.informatik.data.NeedsAssessment;
+import edu.kit.informatik.ui.CommandModule;
+import edu.kit.informatik.ui.CommandRegistry;
+
+/**
+ * The commands that change and query the BOM.
+ * 
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public class BomCommands implements CommandModule {
+
+    /** All methods are called from it. */
+    private final NeedsAssessment factory;
+
+    /**
+     * Constructor for the module.
+     * @param factory All methods are called from it.
+     */
+    public BomCommands(NeedsAssessment factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    public void registerCommands(CommandRegistry commands) {
+        commands.register(new AddAssemblyCommand(factory));
+        commands.register(new AddPartCommand(factory));
+        commands.register(new GetAssembliesCommand(factory));
+        commands.register(new GetComponentsCommand(factory));
+        commands.register(new GetImplosionCommand(factory));
+        commands.register(new GetWhereUsedCommand(factory));
+        commands.register(new PrintAssemblyCommand(factory));
+        commands.register(new RemoveAssemblyCommand(factory));
+        commands.register(new RemovePartCommand(factory));
+    }
+}
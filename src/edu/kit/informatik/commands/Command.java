@@ -2,6 +2,7 @@ package edu.kit.informatik.commands;
 
 import edu.kit.informatik.data.NeedsAssessment;
 import edu.kit.informatik.ui.CommandInterface;
+import edu.kit.informatik.ui.CommandTokenizer;
 
 /**
  * Abstract command class that stores the NeedsAssessment object and from which all commands
@@ -17,6 +18,9 @@ public abstract class Command implements CommandInterface {
      * The NeedsAssessment object from which all methods to run the program are called from.
      */
     protected NeedsAssessment factory;
+
+    /** Checks the parameters of the command and splits them into tokens (reused for every call). */
+    protected final CommandTokenizer tokenizer = new CommandTokenizer();
     
     /**
      * Constructor for a command.
@@ -25,4 +29,10 @@ public abstract class Command implements CommandInterface {
     protected Command(final NeedsAssessment factory) {
         this.factory = factory;
     }
+
+    @Override
+    public String getJournalRecord(String parameters) {
+        // Edits staged in a transaction are journaled together when it is committed.
+        return factory.isInTransaction() ? null : CommandInterface.super.getJournalRecord(parameters);
+    }
 }
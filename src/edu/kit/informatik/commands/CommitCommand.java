@@ -0,0 +1,59 @@
+package edu.kit.informatik.commands;
+
+import edu.kit.informatik.data.NeedsAssessment;
+import edu.kit.informatik.exceptions.RuleBrokenException;
+import edu.kit.informatik.util.StringList;
+
+/**
+ * Represents the commit command, which checks the edits staged in the open transaction together and applies them
+ * all at once, or none of them if one breaks a rule. The transaction is journaled as a single commitEdits command.
+ * 
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public class CommitCommand extends Command {
+
+    /** The record of the last successful commit, or null if it committed nothing. */
+    private String record;
+
+    /**
+     * Constructor for the commit command.
+     * @param factory All methods are called from it.
+     */
+    public CommitCommand(NeedsAssessment factory) {
+        super(factory);
+    }
+
+    @Override
+    public String getNameofCommand() {
+        return "commit";
+    }
+
+    @Override
+    public boolean hasParameters() {
+        return false;
+    }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+
+    @Override
+    public String run(String parameters) throws RuleBrokenException {
+        String edits = factory.getStagedEdits();
+        record = null;
+        factory.commit();
+        if (!edits.isEmpty()) {
+            record = CommitEditsCommand.NAME + StringList.COMMAND_SEPARATOR + edits;
+        }
+        return StringList.OK.toString();
+    }
+
+    @Override
+    public String getJournalRecord(String parameters) {
+        return record;
+    }
+
+}
@@ -0,0 +1,56 @@
+package edu.kit.informatik.commands;
+
+import edu.kit.informatik.data.NeedsAssessment;
+import edu.kit.informatik.exceptions.InvalidInputException;
+import edu.kit.informatik.exceptions.RuleBrokenException;
+import edu.kit.informatik.util.StringList;
+
+/**
+ * Represents the commitEdits command, which applies several addPart and removePart edits as one transaction
+ * ({@code name+amount:name;name-amount:name...}): they are checked together and either all applied or none.
+ * 
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public class CommitEditsCommand extends Command {
+
+    /** The name of the command. */
+    public static final String NAME = "commitEdits";
+
+    /**
+     * Constructor for the commitEdits command.
+     * @param factory All methods are called from it.
+     */
+    public CommitEditsCommand(NeedsAssessment factory) {
+        super(factory);
+    }
+
+    @Override
+    public String getNameofCommand() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+
+    @Override
+    public String run(String parameters) throws InvalidInputException, RuleBrokenException {
+        // All edits are tokenized first, so that a transaction is only opened for valid input.
+        tokenizer.tokenizeEdits(parameters);
+        factory.begin();
+        for (int index = 0; index < tokenizer.size(); index++) {
+            int delta = tokenizer.getAmount(index);
+            if (delta > 0) {
+                factory.addPart(tokenizer.getAssembly(index), delta, tokenizer.getName(index));
+            } else {
+                factory.removePart(tokenizer.getAssembly(index), -delta, tokenizer.getName(index));
+            }
+        }
+        factory.commit();
+        return StringList.OK.toString();
+    }
+
+}
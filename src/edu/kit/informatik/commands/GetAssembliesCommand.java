@@ -1,12 +1,13 @@
 package edu.kit.informatik.commands;
 
+import java.io.IOException;
+
 import edu.kit.informatik.data.NeedsAssessment;
 import edu.kit.informatik.exceptions.InvalidInputException;
 import edu.kit.informatik.exceptions.RuleBrokenException;
-import edu.kit.informatik.ui.InputChecker;
 
 /**
- * Represents the getAssemblies command.
+ * Represents the getAssemblies command. With {@code name/limit/offset} only a page of the assemblies is shown.
  * 
  * @author Rakan Zeid Al Masri
  * @version 1.0
@@ -29,8 +30,22 @@ public class GetAssembliesCommand extends Command {
 
     @Override
     public String run(String parameters) throws InvalidInputException, RuleBrokenException {
-        InputChecker.checkOnlyName(parameters);
-        return factory.getAssemblies(parameters);
+        tokenizer.tokenizePage(parameters);
+        if (tokenizer.getLimit() < 0) {
+            return factory.getAssemblies(parameters);
+        }
+        return factory.getAssemblies(tokenizer.getHead(), tokenizer.getOffset(), tokenizer.getLimit());
+    }
+
+    @Override
+    public void run(String parameters, Appendable output)
+            throws InvalidInputException, RuleBrokenException, IOException {
+        tokenizer.tokenizePage(parameters);
+        if (tokenizer.getLimit() < 0) {
+            factory.getAssemblies(parameters, output);
+        } else {
+            factory.getAssemblies(tokenizer.getHead(), tokenizer.getOffset(), tokenizer.getLimit(), output);
+        }
     }
 
 }
@@ -0,0 +1,37 @@
+package edu.kit.informatik.commands;
+
+import edu.kit.informatik.data.NeedsAssessment;
+import edu.kit.informatik.exceptions.InvalidInputException;
+import edu.kit.informatik.exceptions.RuleBrokenException;
+import edu.kit.informatik.util.StringList;
+
+/**
+ * Represents the getComponentsAsOf command ({@code snapshot:assembly}), which shows the components of an assembly
+ * in a snapshot that was taken under a name.
+ * 
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public class GetComponentsAsOfCommand extends Command {
+
+    /**
+     * Constructor for the getComponentsAsOf command.
+     * @param factory All methods are called from it.
+     */
+    public GetComponentsAsOfCommand(NeedsAssessment factory) {
+        super(factory);
+    }
+
+    @Override
+    public String getNameofCommand() {
+        return "getComponentsAsOf";
+    }
+
+    @Override
+    public String run(String parameters) throws InvalidInputException, RuleBrokenException {
+        tokenizer.tokenizePair(parameters, StringList.COLON.toString().charAt(0));
+        return factory.getSnapshot(tokenizer.getHead()).getComponents(tokenizer.getName(0));
+    }
+
+}
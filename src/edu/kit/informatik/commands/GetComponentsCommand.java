@@ -1,12 +1,13 @@
 package edu.kit.informatik.commands;
 
+import java.io.IOException;
+
 import edu.kit.informatik.data.NeedsAssessment;
 import edu.kit.informatik.exceptions.InvalidInputException;
 import edu.kit.informatik.exceptions.RuleBrokenException;
-import edu.kit.informatik.ui.InputChecker;
 
 /**
- * Represents the getComponents command.
+ * Represents the getComponents command. With {@code name/limit/offset} only a page of the components is shown.
  * 
  * @author Rakan Zeid Al Masri
  * @version 1.0
@@ -29,8 +30,22 @@ public class GetComponentsCommand extends Command {
 
     @Override
     public String run(String parameters) throws InvalidInputException, RuleBrokenException {
-        InputChecker.checkOnlyName(parameters);
-        return factory.getComponents(parameters);
+        tokenizer.tokenizePage(parameters);
+        if (tokenizer.getLimit() < 0) {
+            return factory.getComponents(parameters);
+        }
+        return factory.getComponents(tokenizer.getHead(), tokenizer.getOffset(), tokenizer.getLimit());
+    }
+
+    @Override
+    public void run(String parameters, Appendable output)
+            throws InvalidInputException, RuleBrokenException, IOException {
+        tokenizer.tokenizePage(parameters);
+        if (tokenizer.getLimit() < 0) {
+            factory.getComponents(parameters, output);
+        } else {
+            factory.getComponents(tokenizer.getHead(), tokenizer.getOffset(), tokenizer.getLimit(), output);
+        }
     }
 
 }
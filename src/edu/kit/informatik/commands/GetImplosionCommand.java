@@ -0,0 +1,45 @@
+package edu.kit.informatik.commands;
+
+import java.io.IOException;
+
+import edu.kit.informatik.data.NeedsAssessment;
+import edu.kit.informatik.exceptions.InvalidInputException;
+import edu.kit.informatik.exceptions.RuleBrokenException;
+
+/**
+ * Represents the getImplosion command, which shows all assemblies that use an item and how many of it they contain
+ * in total.
+ * 
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public class GetImplosionCommand extends Command {
+
+    /**
+     * Constructor for the getImplosion command.
+     * @param factory All methods are called from it.
+     */
+    public GetImplosionCommand(NeedsAssessment factory) {
+        super(factory);
+    }
+
+    @Override
+    public String getNameofCommand() {
+        return "getImplosion";
+    }
+
+    @Override
+    public String run(String parameters) throws InvalidInputException, RuleBrokenException {
+        tokenizer.tokenizeName(parameters);
+        return factory.getImplosion(parameters);
+    }
+
+    @Override
+    public void run(String parameters, Appendable output)
+            throws InvalidInputException, RuleBrokenException, IOException {
+        tokenizer.tokenizeName(parameters);
+        factory.getImplosion(parameters, output);
+    }
+
+}
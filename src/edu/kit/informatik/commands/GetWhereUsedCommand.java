@@ -0,0 +1,44 @@
+package edu.kit.informatik.commands;
+
+import java.io.IOException;
+
+import edu.kit.informatik.data.NeedsAssessment;
+import edu.kit.informatik.exceptions.InvalidInputException;
+import edu.kit.informatik.exceptions.RuleBrokenException;
+
+/**
+ * Represents the getWhereUsed command, which shows the assemblies that use an item directly.
+ * 
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public class GetWhereUsedCommand extends Command {
+
+    /**
+     * Constructor for the getWhereUsed command.
+     * @param factory All methods are called from it.
+     */
+    public GetWhereUsedCommand(NeedsAssessment factory) {
+        super(factory);
+    }
+
+    @Override
+    public String getNameofCommand() {
+        return "getWhereUsed";
+    }
+
+    @Override
+    public String run(String parameters) throws InvalidInputException, RuleBrokenException {
+        tokenizer.tokenizeName(parameters);
+        return factory.getWhereUsed(parameters);
+    }
+
+    @Override
+    public void run(String parameters, Appendable output)
+            throws InvalidInputException, RuleBrokenException, IOException {
+        tokenizer.tokenizeName(parameters);
+        factory.getWhereUsed(parameters, output);
+    }
+
+}
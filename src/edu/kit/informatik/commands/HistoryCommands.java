@@ -0,0 +1,35 @@
+package edu.kit.informatik.commands;
+
+import edu.kit.informatik.data.NeedsAssessment;
+import edu.kit.informatik.ui.CommandModule;
+import edu.kit.informatik.ui.CommandRegistry;
+
+/**
+ * The commands that undo and redo changes and take, query and restore named snapshots.
+ * 
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public class HistoryCommands implements CommandModule {
+
+    /** All methods are called from it. */
+    private final NeedsAssessment factory;
+
+    /**
+     * Constructor for the module.
+     * @param factory All methods are called from it.
+     */
+    public HistoryCommands(NeedsAssessment factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    public void registerCommands(CommandRegistry commands) {
+        commands.register(new GetComponentsAsOfCommand(factory));
+        commands.register(new RedoCommand(factory));
+        commands.register(new RestoreSnapshotCommand(factory));
+        commands.register(new SnapshotCommand(factory));
+        commands.register(new UndoCommand(factory));
+    }
+}
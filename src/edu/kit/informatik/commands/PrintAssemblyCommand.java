@@ -1,9 +1,10 @@
 package edu.kit.informatik.commands;
 
+import java.io.IOException;
+
 import edu.kit.informatik.data.NeedsAssessment;
 import edu.kit.informatik.exceptions.InvalidInputException;
 import edu.kit.informatik.exceptions.RuleBrokenException;
-import edu.kit.informatik.ui.InputChecker;
 
 /**
  * Represents the printAssembly command.
@@ -29,8 +30,15 @@ public class PrintAssemblyCommand extends Command {
 
     @Override
     public String run(String parameters) throws InvalidInputException, RuleBrokenException {
-        InputChecker.checkOnlyName(parameters);
+        tokenizer.tokenizeName(parameters);
         return factory.printAssembly(parameters);
     }
 
+    @Override
+    public void run(String parameters, Appendable output)
+            throws InvalidInputException, RuleBrokenException, IOException {
+        tokenizer.tokenizeName(parameters);
+        factory.printAssembly(parameters, output);
+    }
+
 }
@@ -0,0 +1,45 @@
+package edu.kit.informatik.commands;
+
+import edu.kit.informatik.data.NeedsAssessment;
+import edu.kit.informatik.exceptions.RuleBrokenException;
+import edu.kit.informatik.util.StringList;
+
+/**
+ * Represents the redo command. Redoes the last change that was undone, as long as nothing was changed since.
+ * 
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public class RedoCommand extends Command {
+
+    /**
+     * Constructor for the redo command.
+     * @param factory All methods are called from it.
+     */
+    public RedoCommand(NeedsAssessment factory) {
+        super(factory);
+    }
+
+    @Override
+    public String getNameofCommand() {
+        return "redo";
+    }
+
+    @Override
+    public boolean hasParameters() {
+        return false;
+    }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+
+    @Override
+    public String run(String parameters) throws RuleBrokenException {
+        factory.redo();
+        return StringList.OK.toString();
+    }
+
+}
@@ -3,7 +3,6 @@ package edu.kit.informatik.commands;
 import edu.kit.informatik.data.NeedsAssessment;
 import edu.kit.informatik.exceptions.InvalidInputException;
 import edu.kit.informatik.exceptions.RuleBrokenException;
-import edu.kit.informatik.ui.InputChecker;
 import edu.kit.informatik.util.StringList;
 
 /**
@@ -28,9 +27,14 @@ public class RemoveAssemblyCommand extends Command {
         return "removeAssembly";
     }
 
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+
     @Override
     public String run(String parameters) throws InvalidInputException, RuleBrokenException {
-        InputChecker.checkOnlyName(parameters);
+        tokenizer.tokenizeName(parameters);
         factory.removeAssembly(parameters);
         return StringList.OK.toString();
     }
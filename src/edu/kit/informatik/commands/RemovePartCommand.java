@@ -3,7 +3,6 @@ package edu.kit.informatik.commands;
 import edu.kit.informatik.data.NeedsAssessment;
 import edu.kit.informatik.exceptions.InvalidInputException;
 import edu.kit.informatik.exceptions.RuleBrokenException;
-import edu.kit.informatik.ui.InputChecker;
 import edu.kit.informatik.util.StringList;
 
 /**
@@ -28,13 +27,15 @@ public class RemovePartCommand extends Command {
         return "removePart";
     }
 
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+
     @Override
     public String run(String parameters) throws InvalidInputException, RuleBrokenException {
-        InputChecker.checkRemovePart(parameters);
-        String[] inputs = parameters.split(StringList.MINUS.toString());
-        String nameofAssembly = inputs[0];
-        String[] item = inputs[1].split(StringList.COLON.toString());
-        factory.removePart(nameofAssembly, Integer.parseInt(item[0]), item[1]);
+        tokenizer.tokenizeItem(parameters, StringList.MINUS.toString().charAt(0));
+        factory.removePart(tokenizer.getHead(), tokenizer.getAmount(0), tokenizer.getName(0));
         return StringList.OK.toString();
     }
 
@@ -0,0 +1,42 @@
+package edu.kit.informatik.commands;
+
+import edu.kit.informatik.data.NeedsAssessment;
+import edu.kit.informatik.exceptions.InvalidInputException;
+import edu.kit.informatik.exceptions.RuleBrokenException;
+import edu.kit.informatik.util.StringList;
+
+/**
+ * Represents the restoreSnapshot command, which restores the system to a snapshot that was taken under a name.
+ * 
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public class RestoreSnapshotCommand extends Command {
+
+    /**
+     * Constructor for the restoreSnapshot command.
+     * @param factory All methods are called from it.
+     */
+    public RestoreSnapshotCommand(NeedsAssessment factory) {
+        super(factory);
+    }
+
+    @Override
+    public String getNameofCommand() {
+        return "restoreSnapshot";
+    }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+
+    @Override
+    public String run(String parameters) throws InvalidInputException, RuleBrokenException {
+        tokenizer.tokenizeName(parameters);
+        factory.restoreSnapshot(parameters);
+        return StringList.OK.toString();
+    }
+
+}
@@ -0,0 +1,40 @@
+package edu.kit.informatik.commands;
+
+import edu.kit.informatik.data.NeedsAssessment;
+import edu.kit.informatik.exceptions.RuleBrokenException;
+import edu.kit.informatik.util.StringList;
+
+/**
+ * Represents the rollback command, which discards the open transaction with all its staged edits.
+ * 
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public class RollbackCommand extends Command {
+
+    /**
+     * Constructor for the rollback command.
+     * @param factory All methods are called from it.
+     */
+    public RollbackCommand(NeedsAssessment factory) {
+        super(factory);
+    }
+
+    @Override
+    public String getNameofCommand() {
+        return "rollback";
+    }
+
+    @Override
+    public boolean hasParameters() {
+        return false;
+    }
+
+    @Override
+    public String run(String parameters) throws RuleBrokenException {
+        factory.rollback();
+        return StringList.OK.toString();
+    }
+
+}
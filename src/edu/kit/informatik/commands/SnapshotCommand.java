@@ -0,0 +1,38 @@
+package edu.kit.informatik.commands;
+
+import edu.kit.informatik.data.NeedsAssessment;
+import edu.kit.informatik.exceptions.InvalidInputException;
+import edu.kit.informatik.exceptions.RuleBrokenException;
+import edu.kit.informatik.util.StringList;
+
+/**
+ * Represents the snapshot command, which takes a snapshot of the system under a name. The snapshot can be queried
+ * with getComponentsAsOf and restored with restoreSnapshot.
+ * 
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public class SnapshotCommand extends Command {
+
+    /**
+     * Constructor for the snapshot command.
+     * @param factory All methods are called from it.
+     */
+    public SnapshotCommand(NeedsAssessment factory) {
+        super(factory);
+    }
+
+    @Override
+    public String getNameofCommand() {
+        return "snapshot";
+    }
+
+    @Override
+    public String run(String parameters) throws InvalidInputException, RuleBrokenException {
+        tokenizer.tokenizeName(parameters);
+        factory.takeSnapshot(parameters);
+        return StringList.OK.toString();
+    }
+
+}
@@ -0,0 +1,31 @@
+package edu.kit.informatik.commands;
+
+import edu.kit.informatik.ui.CommandModule;
+import edu.kit.informatik.ui.CommandRegistry;
+import edu.kit.informatik.ui.CommandStatistics;
+
+/**
+ * The commands that report the statistics of the commands.
+ * 
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public class StatisticsCommands implements CommandModule {
+
+    /** The statistics, or null if they are not collected. */
+    private final CommandStatistics statistics;
+
+    /**
+     * Constructor for the module.
+     * @param statistics The statistics, or null if they are not collected.
+     */
+    public StatisticsCommands(CommandStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void registerCommands(CommandRegistry commands) {
+        commands.register(new StatsCommand(statistics));
+    }
+}
@@ -0,0 +1,60 @@
+package edu.kit.informatik.commands;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import edu.kit.informatik.exceptions.RuleBrokenException;
+import edu.kit.informatik.ui.CommandInterface;
+import edu.kit.informatik.ui.CommandStatistics;
+
+/**
+ * Represents the stats command, which prints the number of calls, the errors and the latencies of every command
+ * since the start of the program.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public class StatsCommand implements CommandInterface {
+
+    /** The statistics, or null if they are not collected. */
+    private final CommandStatistics statistics;
+
+    /**
+     * Constructor for the stats command.
+     * @param statistics The statistics, or null if they are not collected.
+     */
+    public StatsCommand(CommandStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public String getNameofCommand() {
+        return "stats";
+    }
+
+    @Override
+    public boolean hasParameters() {
+        return false;
+    }
+
+    @Override
+    public String run(String parameters) throws RuleBrokenException {
+        StringBuilder output = new StringBuilder();
+        try {
+            run(parameters, output);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception); // A StringBuilder is never closed.
+        }
+        return output.toString();
+    }
+
+    @Override
+    public void run(String parameters, Appendable output) throws RuleBrokenException, IOException {
+        if (statistics == null) {
+            throw new RuleBrokenException("statistics are not collected, start the program with --stats.");
+        }
+        statistics.write(output);
+    }
+
+}
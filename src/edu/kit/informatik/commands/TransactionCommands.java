@@ -0,0 +1,34 @@
+package edu.kit.informatik.commands;
+
+import edu.kit.informatik.data.NeedsAssessment;
+import edu.kit.informatik.ui.CommandModule;
+import edu.kit.informatik.ui.CommandRegistry;
+
+/**
+ * The commands that group addPart and removePart edits into transactions.
+ * 
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public class TransactionCommands implements CommandModule {
+
+    /** All methods are called from it. */
+    private final NeedsAssessment factory;
+
+    /**
+     * Constructor for the module.
+     * @param factory All methods are called from it.
+     */
+    public TransactionCommands(NeedsAssessment factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    public void registerCommands(CommandRegistry commands) {
+        commands.register(new BeginCommand(factory));
+        commands.register(new CommitCommand(factory));
+        commands.register(new CommitEditsCommand(factory));
+        commands.register(new RollbackCommand(factory));
+    }
+}
@@ -0,0 +1,45 @@
+package edu.kit.informatik.commands;
+
+import edu.kit.informatik.data.NeedsAssessment;
+import edu.kit.informatik.exceptions.RuleBrokenException;
+import edu.kit.informatik.util.StringList;
+
+/**
+ * Represents the undo command. Undoes the last change (or the last redo or restored snapshot).
+ * 
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public class UndoCommand extends Command {
+
+    /**
+     * Constructor for the undo command.
+     * @param factory All methods are called from it.
+     */
+    public UndoCommand(NeedsAssessment factory) {
+        super(factory);
+    }
+
+    @Override
+    public String getNameofCommand() {
+        return "undo";
+    }
+
+    @Override
+    public boolean hasParameters() {
+        return false;
+    }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+
+    @Override
+    public String run(String parameters) throws RuleBrokenException {
+        factory.undo();
+        return StringList.OK.toString();
+    }
+
+}
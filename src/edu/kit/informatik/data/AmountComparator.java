@@ -0,0 +1,22 @@
+package edu.kit.informatik.data;
+
+import java.util.Comparator;
+
+/**
+ * Compares two items. It compares the amounts first. If they are equal, then the names are compared.
+ * 
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public class AmountComparator implements Comparator<Item> {
+   @Override
+    public int compare(Item firstItem, Item secondItem) {
+        int intComparator = Integer.compare(firstItem.getAmount(), secondItem.getAmount());
+        if (intComparator == 0) {
+            return firstItem.getName().compareTo(secondItem.getName());
+        }
+        // To reverse the order (since this is what is required by the exercise).
+        return (intComparator > 0) ? -1 : 1;
+    }
+}
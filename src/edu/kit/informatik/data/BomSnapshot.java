@@ -0,0 +1,204 @@
+package edu.kit.informatik.data;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import edu.kit.informatik.exceptions.RuleBrokenException;
+import edu.kit.informatik.util.PersistentHashMap;
+
+/**
+ * An immutable state of the whole system, published after every change. It maps the name of every live item
+ * to a record of it, and consecutive snapshots share all records and map nodes that didn't change.
+ *
+ * Since a snapshot never changes, the queries can be run from any number of threads without locking while a
+ * single writer keeps changing the system. Their output is the same as that of NeedsAssessment at the time the
+ * snapshot was published.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public final class BomSnapshot {
+
+    /** The snapshot of the empty system. */
+    static final BomSnapshot EMPTY = new BomSnapshot(PersistentHashMap.<String, ItemRecord>empty(), 0);
+
+    /** The records of all live items, keyed by name. */
+    private final PersistentHashMap<String, ItemRecord> items;
+
+    /** The number of changes before the snapshot was published. */
+    private final long version;
+
+    /**
+     * Constructor for a snapshot.
+     * @param items The records of all live items.
+     * @param version The number of changes before the snapshot was published.
+     */
+    BomSnapshot(PersistentHashMap<String, ItemRecord> items, long version) {
+        this.items = items;
+        this.version = version;
+    }
+
+    /**
+     * Creates the next snapshot, in which some nodes are replaced by their current state.
+     * @param system The system the nodes belong to.
+     * @param nodes The nodes that changed (nodes that vanished are removed).
+     * @return The next snapshot.
+     */
+    BomSnapshot update(SystemInitializer system, Iterable<TreeNode> nodes) {
+        PersistentHashMap<String, ItemRecord> newItems = items;
+        for (TreeNode node : nodes) {
+            if (system.getItem(node.getName()) == node) {
+                newItems = newItems.plus(node.getName(), new ItemRecord(node));
+            } else {
+                newItems = newItems.minus(node.getName());
+            }
+        }
+        return new BomSnapshot(newItems, version + 1);
+    }
+
+    /**
+     * Method to get the items whose records differ in another snapshot. Records and map nodes that both snapshots
+     * share are skipped, so this costs time proportional to the changes between the snapshots.
+     * @param other The other snapshot.
+     * @return The records of the items in the other snapshot (null for items that don't exist in it), keyed by
+     *         name.
+     */
+    Map<String, ItemRecord> diff(BomSnapshot other) {
+        Map<String, ItemRecord> differences = new HashMap<>();
+        items.diff(other.items, differences::put);
+        return differences;
+    }
+
+    /**
+     * Getter method for the record of an item.
+     * @param name The name of the item.
+     * @return The record, or null if no such item exists.
+     */
+    public ItemRecord getItem(String name) {
+        return items.get(name);
+    }
+
+    /**
+     * Getter method for the number of live items.
+     * @return The number of items.
+     */
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * Getter method for the version.
+     * @return The number of changes before the snapshot was published.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Creates a String of the children of an assembly, like NeedsAssessment#printAssembly.
+     * @param nameofAssembly The name of the assembly.
+     * @return A String of the children of the assembly, or "COMPONENT".
+     * @throws RuleBrokenException If no such item exists.
+     */
+    public String printAssembly(String nameofAssembly) throws RuleBrokenException {
+        ItemRecord assembly = items.get(nameofAssembly);
+        if (assembly == null) {
+            NeedsAssessment.throwDoesntExist(nameofAssembly);
+        }
+        if (assembly.isLeaf()) {
+            return "COMPONENT";
+        }
+        List<Item> children = assembly.getChildren();
+        Collections.sort(children, new ItemComparator());
+        return NeedsAssessment.createOutput(children);
+    }
+
+    /**
+     * Gets all the assemblies of an assembly, like NeedsAssessment#getAssemblies.
+     * @param nameofAssembly The name of the assembly.
+     * @return String of all the assemblies or "EMPTY" if the assembly is only made up of parts.
+     * @throws RuleBrokenException If no assembly of that name exists.
+     */
+    public String getAssemblies(String nameofAssembly) throws RuleBrokenException {
+        List<Item> assemblies = explode(nameofAssembly, false);
+        return assemblies.isEmpty() ? "EMPTY" : NeedsAssessment.createOutput(assemblies);
+    }
+
+    /**
+     * Gets all the components of an assembly, like NeedsAssessment#getComponents.
+     * @param nameofAssembly The name of the assembly.
+     * @return String of all the components.
+     * @throws RuleBrokenException If no assembly of that name exists.
+     */
+    public String getComponents(String nameofAssembly) throws RuleBrokenException {
+        return NeedsAssessment.createOutput(explode(nameofAssembly, true));
+    }
+
+    /**
+     * Explodes an assembly, like Explosion#explode, but on the records of the snapshot.
+     * @param nameofAssembly The name of the assembly.
+     * @param components Whether the components or the assemblies are returned.
+     * @return The components or assemblies with their total amounts, sorted by amount and then name.
+     * @throws RuleBrokenException If no assembly of that name exists.
+     */
+    private List<Item> explode(String nameofAssembly, boolean components) throws RuleBrokenException {
+        ItemRecord root = items.get(nameofAssembly);
+        if (root == null || root.isLeaf()) {
+            NeedsAssessment.throwAssemblyDoesntExist(nameofAssembly);
+        }
+        List<ItemRecord> order = topologicalOrder(root);
+        Map<String, Integer> amounts = new HashMap<>(order.size() * 2);
+        amounts.put(root.getName(), 1);
+        List<Item> result = new ArrayList<>();
+        for (ItemRecord record : order) {
+            int multiplier = amounts.get(record.getName());
+            for (int index = 0; index < record.size(); index++) {
+                amounts.merge(record.getChildName(index), multiplier * record.getAmount(index), Integer::sum);
+            }
+            if (record != root && record.isLeaf() == components) {
+                result.add(new Item(multiplier, record.getName()));
+            }
+        }
+        Collections.sort(result, new AmountComparator());
+        return result;
+    }
+
+    /**
+     * Method to get all records under a record (including itself) in topological order.
+     * @param root The record to start from.
+     * @return The records, every parent before all of its children.
+     */
+    private List<ItemRecord> topologicalOrder(ItemRecord root) {
+        List<ItemRecord> postOrder = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+        Deque<ItemRecord> records = new ArrayDeque<>();
+        Deque<Integer> nextChild = new ArrayDeque<>();
+        visited.add(root.getName());
+        records.push(root);
+        nextChild.push(0);
+        while (!records.isEmpty()) {
+            ItemRecord record = records.peek();
+            int index = nextChild.pop();
+            if (index < record.size()) {
+                nextChild.push(index + 1);
+                String child = record.getChildName(index);
+                if (visited.add(child)) {
+                    records.push(items.get(child));
+                    nextChild.push(0);
+                }
+            } else {
+                postOrder.add(records.pop());
+            }
+        }
+        Collections.reverse(postOrder);
+        return postOrder;
+    }
+}
@@ -0,0 +1,380 @@
+package edu.kit.informatik.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import edu.kit.informatik.exceptions.RuleBrokenException;
+import edu.kit.informatik.util.SymbolTable;
+
+/**
+ * A thread-safe version of NeedsAssessment that only locks the parts of the BOM that a call touches.
+ *
+ * The items are split into components: every component is a separate NeedsAssessment with its own lock, and no
+ * edge leads from one component to another. Every name is routed to the component it belongs to. A call locks
+ * the components of all names it touches (always in the same order, so calls cannot deadlock), and if it touches
+ * more than one, the smaller components are merged into the largest before the call is run on it. Calls on
+ * independent product lines therefore run in parallel, and the result is the same as if they had run one after
+ * another.
+ *
+ * Components are never split again when an edge is removed, so two items may share a lock although they aren't
+ * connected any more. This only costs parallelism, never correctness. All components share one symbol table, so
+ * the ids of the items stay the same when they are moved into another component.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public class ConcurrentNeedsAssessment {
+
+    /** The component of every name that was used by a change. */
+    private final ConcurrentMap<String, Component> components = new ConcurrentHashMap<>();
+
+    /** The id of the next component (components are locked in the order of their ids). */
+    private final AtomicLong nextId = new AtomicLong();
+
+    /** The capacity of the cache of exploded assemblies of every component. */
+    private final int cacheCapacity;
+
+    /** The ids of the names of all items, shared by all components. */
+    private final SymbolTable symbols = new SymbolTable();
+
+    /** Constructor for a concurrent system. */
+    public ConcurrentNeedsAssessment() {
+        this(ExplosionCache.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor for a concurrent system with a custom cache size.
+     * @param cacheCapacity The maximum number of exploded assemblies cached per component (0 disables the cache).
+     */
+    public ConcurrentNeedsAssessment(int cacheCapacity) {
+        this.cacheCapacity = cacheCapacity;
+    }
+
+    /**
+     * Adds an assembly, like NeedsAssessment#addAssembly.
+     * @param nameOfAssembly The name of the assembly.
+     * @param children The children (name and amount) to be added to this new assembly.
+     * @throws RuleBrokenException If an assembly of the same name already exists or if a cycle occurs because
+     * of the addition.
+     */
+    public void addAssembly(String nameOfAssembly, List<Item> children) throws RuleBrokenException {
+        String[] names = new String[children.size() + 1];
+        names[0] = nameOfAssembly;
+        for (int index = 0; index < children.size(); index++) {
+            names[index + 1] = children.get(index).getName();
+        }
+        Component component = lock(true, names);
+        try {
+            component.factory.addAssembly(nameOfAssembly, children);
+        } finally {
+            component.lock.unlock();
+        }
+    }
+
+    /**
+     * Removes an assembly, like NeedsAssessment#removeAssembly.
+     * @param nameofAssembly The name of the assembly to be deleted.
+     * @throws RuleBrokenException If no such assembly exists in the system.
+     */
+    public void removeAssembly(String nameofAssembly) throws RuleBrokenException {
+        Component component = lock(false, nameofAssembly);
+        if (component == null) {
+            NeedsAssessment.throwNotRemovable(nameofAssembly);
+        }
+        try {
+            component.factory.removeAssembly(nameofAssembly);
+        } finally {
+            component.lock.unlock();
+        }
+    }
+
+    /**
+     * Adds a part to an assembly, like NeedsAssessment#addPart.
+     * @param nameofAssembly The name of the assembly to which an item is going to be added.
+     * @param amount The amount of the item to be added.
+     * @param name The name of the item to be added.
+     * @throws RuleBrokenException If no assembly exists, if the amount to be added is larger than the max, or
+     * if the addition causes a cycle.
+     */
+    public void addPart(String nameofAssembly, int amount, String name) throws RuleBrokenException {
+        if (!components.containsKey(nameofAssembly)) { // Don't join anything for an assembly that doesn't exist.
+            NeedsAssessment.throwAssemblyDoesntExist(nameofAssembly);
+        }
+        Component component = lock(true, nameofAssembly, name);
+        try {
+            component.factory.addPart(nameofAssembly, amount, name);
+        } finally {
+            component.lock.unlock();
+        }
+    }
+
+    /**
+     * Removes a part from an assembly, like NeedsAssessment#removePart.
+     * @param nameofAssembly The name of the assembly.
+     * @param amount The amount to be removed.
+     * @param name The name of the item to be removed.
+     * @throws RuleBrokenException If no assembly of nameofAssembly exists, if the child doesn't exist in said
+     * amount or if the item isn't a child of the assembly.
+     */
+    public void removePart(String nameofAssembly, int amount, String name) throws RuleBrokenException {
+        // A child always belongs to the component of its assembly.
+        Component component = lock(false, nameofAssembly);
+        if (component == null) {
+            NeedsAssessment.throwAssemblyDoesntExist(nameofAssembly);
+        }
+        try {
+            component.factory.removePart(nameofAssembly, amount, name);
+        } finally {
+            component.lock.unlock();
+        }
+    }
+
+    /**
+     * Creates a String of the children of an assembly, like NeedsAssessment#printAssembly.
+     * @param nameofAssembly The name of the assembly.
+     * @return A String of the children of the assembly, or "COMPONENT".
+     * @throws RuleBrokenException If no such item exists.
+     */
+    public String printAssembly(String nameofAssembly) throws RuleBrokenException {
+        Component component = lock(false, nameofAssembly);
+        if (component == null) {
+            NeedsAssessment.throwDoesntExist(nameofAssembly);
+        }
+        try {
+            return component.factory.printAssembly(nameofAssembly);
+        } finally {
+            component.lock.unlock();
+        }
+    }
+
+    /**
+     * Gets all the assemblies of an assembly, like NeedsAssessment#getAssemblies.
+     * @param nameofAssembly The name of the assembly.
+     * @return String of all the assemblies or "EMPTY" if the assembly is only made up of parts.
+     * @throws RuleBrokenException If no assembly of that name exists.
+     */
+    public String getAssemblies(String nameofAssembly) throws RuleBrokenException {
+        Component component = lock(false, nameofAssembly);
+        if (component == null) {
+            NeedsAssessment.throwAssemblyDoesntExist(nameofAssembly);
+        }
+        try {
+            return component.factory.getAssemblies(nameofAssembly);
+        } finally {
+            component.lock.unlock();
+        }
+    }
+
+    /**
+     * Gets all the components of an assembly, like NeedsAssessment#getComponents.
+     * @param nameofAssembly The name of the assembly.
+     * @return String of all the components.
+     * @throws RuleBrokenException If no assembly of that name exists.
+     */
+    public String getComponents(String nameofAssembly) throws RuleBrokenException {
+        Component component = lock(false, nameofAssembly);
+        if (component == null) {
+            NeedsAssessment.throwAssemblyDoesntExist(nameofAssembly);
+        }
+        try {
+            return component.factory.getComponents(nameofAssembly);
+        } finally {
+            component.lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the assemblies that use an item directly, like NeedsAssessment#getWhereUsed. All of them are in the same
+     * component as the item.
+     * @param name The name of the item.
+     * @return String of the parents or "EMPTY" if the item isn't used in any assembly.
+     * @throws RuleBrokenException If no item of that name exists.
+     */
+    public String getWhereUsed(String name) throws RuleBrokenException {
+        Component component = lock(false, name);
+        if (component == null) {
+            NeedsAssessment.throwDoesntExist(name);
+        }
+        try {
+            return component.factory.getWhereUsed(name);
+        } finally {
+            component.lock.unlock();
+        }
+    }
+
+    /**
+     * Gets all assemblies that use an item, like NeedsAssessment#getImplosion. All of them are in the same component
+     * as the item.
+     * @param name The name of the item.
+     * @return String of the ancestors or "EMPTY" if the item isn't used in any assembly.
+     * @throws RuleBrokenException If no item of that name exists.
+     */
+    public String getImplosion(String name) throws RuleBrokenException {
+        Component component = lock(false, name);
+        if (component == null) {
+            NeedsAssessment.throwDoesntExist(name);
+        }
+        try {
+            return component.factory.getImplosion(name);
+        } finally {
+            component.lock.unlock();
+        }
+    }
+
+    /**
+     * Getter method for the number of components that are in use.
+     * @return The number of distinct components names are routed to.
+     */
+    public int getNumberofComponents() {
+        Set<Component> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Component component : components.values()) {
+            distinct.add(component.resolve());
+        }
+        return distinct.size();
+    }
+
+    /**
+     * Locks the single component that contains all the names, merging their components if necessary.
+     * @param claim Whether names that don't belong to any component are added to it (for changes that may create
+     *              them).
+     * @param names The names.
+     * @return The locked component, or null if the names belong to no component and aren't claimed.
+     */
+    private Component lock(boolean claim, String... names) {
+        while (true) {
+            List<Component> locked = new ArrayList<>();
+            Component[] fresh = new Component[1]; // Created once for all new names of this call.
+            for (String name : names) {
+                Component component = claim ? components.computeIfAbsent(name, key -> {
+                    if (fresh[0] == null) {
+                        fresh[0] = new Component(nextId.getAndIncrement(),
+                                new NeedsAssessment(cacheCapacity, false, new SystemInitializer(symbols)));
+                    }
+                    return fresh[0];
+                }) : components.get(name);
+                if (component != null && !locked.contains(component.resolve())) {
+                    locked.add(component.resolve());
+                }
+            }
+            if (locked.isEmpty()) {
+                return null;
+            }
+            Collections.sort(locked, Comparator.comparingLong(component -> component.id));
+            for (Component component : locked) {
+                component.lock.lock();
+            }
+            if (!isCurrent(locked)) { // Another call merged one of them in the meantime.
+                unlock(locked);
+                continue;
+            }
+            return merge(locked, names);
+        }
+    }
+
+    /**
+     * Checks whether all locked components are still in use (weren't merged into another one before they were
+     * locked).
+     * @param locked The locked components.
+     * @return true if all of them are still in use, otherwise false.
+     */
+    private static boolean isCurrent(List<Component> locked) {
+        for (Component component : locked) {
+            if (component.mergedInto != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Merges locked components into the largest of them and unlocks the others.
+     * @param locked The locked components.
+     * @param names The names that are routed to the merged component.
+     * @return The merged component, which is still locked.
+     */
+    private Component merge(List<Component> locked, String[] names) {
+        Component target = locked.get(0);
+        for (Component component : locked) {
+            if (component.size() > target.size()) {
+                target = component;
+            }
+        }
+        for (Component component : locked) {
+            if (component != target) {
+                component.mergedInto = target;
+                for (TreeNode node : target.factory.absorb(component.factory)) {
+                    components.put(node.getName(), target);
+                }
+                component.lock.unlock();
+            }
+        }
+        for (String name : names) {
+            components.replace(name, target);
+        }
+        return target;
+    }
+
+    /**
+     * Unlocks components.
+     * @param locked The locked components.
+     */
+    private static void unlock(List<Component> locked) {
+        for (Component component : locked) {
+            component.lock.unlock();
+        }
+    }
+
+    /**
+     * A part of the BOM that is independent of all other parts, with its own lock.
+     */
+    private static final class Component {
+
+        /** The id of the component, which decides the order in which components are locked. */
+        private final long id;
+
+        /** The items of the component. */
+        private final NeedsAssessment factory;
+
+        /** The lock that is held while the component is read or changed. */
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /** The component this one was merged into, or null if it is still in use. */
+        private volatile Component mergedInto;
+
+        /**
+         * @param id The id of the component.
+         * @param factory The items of the component.
+         */
+        Component(long id, NeedsAssessment factory) {
+            this.id = id;
+            this.factory = factory;
+        }
+
+        /**
+         * @return The component that is in use for the items of this one.
+         */
+        Component resolve() {
+            Component current = this;
+            while (current.mergedInto != null) {
+                current = current.mergedInto;
+            }
+            return current;
+        }
+
+        /**
+         * @return The number of items of the component.
+         */
+        int size() {
+            return factory.getSystem().getItems().size();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package edu.kit.informatik.data;
+
+/**
+ * Represents a weighted edge between an assembly and one of its children.
+ * 
+ * Every item exists exactly once in the system, so the amount of a child is not stored in the child itself
+ * but on the edge that connects it to its parent.
+ * 
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public class Edge {
+
+    /** The assembly that contains the child. */
+    private final TreeNode parent;
+
+    /** The child contained in the assembly. */
+    private final TreeNode child;
+
+    /** How many of the child the parent contains. */
+    private int amount;
+
+    /**
+     * Constructor for an edge.
+     * @param parent The assembly that contains the child.
+     * @param child The child.
+     * @param amount How many of the child the parent contains.
+     */
+    public Edge(TreeNode parent, TreeNode child, int amount) {
+        this.parent = parent;
+        this.child = child;
+        this.amount = amount;
+    }
+
+    /**
+     * Getter method for the parent of the edge.
+     * @return The parent node.
+     */
+    public TreeNode getParent() {
+        return parent;
+    }
+
+    /**
+     * Getter method for the child of the edge.
+     * @return The child node.
+     */
+    public TreeNode getChild() {
+        return child;
+    }
+
+    /**
+     * Getter method for the amount of the child.
+     * @return The amount.
+     */
+    public int getAmount() {
+        return amount;
+    }
+
+    /**
+     * Setter method for the amount of the child.
+     * @param amount The new amount.
+     */
+    public void setAmount(int amount) {
+        this.amount = amount;
+    }
+
+    /**
+     * Method to convert the edge into the item it represents from the view of the parent.
+     * @return The child as an item with the amount of the edge.
+     */
+    public Item toItem() {
+        return new Item(amount, child.getName());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj != null && getClass().equals(obj.getClass())) {
+            Edge otherEdge = (Edge) obj;
+            return this.parent.equals(otherEdge.parent) && this.child.equals(otherEdge.child);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * parent.getId() + child.getId();
+    }
+
+    @Override
+    public String toString() {
+        return toItem().toString();
+    }
+}
@@ -0,0 +1,269 @@
+package edu.kit.informatik.data;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import edu.kit.informatik.exceptions.InvalidInputException;
+import edu.kit.informatik.exceptions.RuleBrokenException;
+import edu.kit.informatik.util.StringList;
+import edu.kit.informatik.util.SymbolTable;
+
+/**
+ * Imports a list of edges, for example an export of an ERP system, in a single step.
+ *
+ * Every line of the list has the form {@code parent,child,quantity}; an optional first line
+ * {@value #HEADER} and empty lines are skipped. The list is read line by line and the edges are added to a copy
+ * of the current items, where an edge that exists already (or occurs more than once) has its quantities added up.
+ * Only then is the whole graph checked once for cycles and once for amounts that are too large, and the result
+ * replaces the items of the system. If the list is invalid, the system isn't changed at all.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public final class EdgeListImporter {
+
+    /** The optional first line of an edge list. */
+    public static final String HEADER = "parent,child,quantity";
+
+    /** The character that separates the columns. */
+    private static final char SEPARATOR = ',';
+
+    /** The maximum number of digits of a quantity (so that it fits into an int). */
+    private static final int MAX_DIGITS = 9;
+
+    /** Utility class, so it cannot be instantiated. */
+    private EdgeListImporter() {
+    }
+
+    /**
+     * Imports an edge list from a file.
+     * @param file The file (UTF-8).
+     * @param factory The system the edges are added to.
+     * @return The number of imported edges (lines).
+     * @throws IOException If the file cannot be read.
+     * @throws InvalidInputException If a line isn't in the right format.
+     * @throws RuleBrokenException If the edges would cause a cycle or an amount would be larger than the max.
+     */
+    public static int importFile(Path file, NeedsAssessment factory)
+            throws IOException, InvalidInputException, RuleBrokenException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return importEdges(reader, factory);
+        }
+    }
+
+    /**
+     * Imports an edge list.
+     * @param reader The edge list.
+     * @param factory The system the edges are added to.
+     * @return The number of imported edges (lines).
+     * @throws IOException If the list cannot be read.
+     * @throws InvalidInputException If a line isn't in the right format.
+     * @throws RuleBrokenException If the edges would cause a cycle or an amount would be larger than the max.
+     */
+    public static int importEdges(BufferedReader reader, NeedsAssessment factory)
+            throws IOException, InvalidInputException, RuleBrokenException {
+        SymbolTable names = factory.getSystem().getNames();
+        Map<String, TreeNode> nodes = copyItems(factory, names);
+        int numberofEdges = 0;
+        int lineNumber = 0;
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            lineNumber++;
+            if (line.isEmpty() || lineNumber == 1 && line.equals(HEADER)) {
+                continue;
+            }
+            int first = line.indexOf(SEPARATOR);
+            int second = (first < 0) ? -1 : line.indexOf(SEPARATOR, first + 1);
+            if (second < 0 || line.indexOf(SEPARATOR, second + 1) >= 0) {
+                throw new InvalidInputException("line " + lineNumber + " must have the form " + HEADER + ".");
+            }
+            TreeNode parent = getOrCreate(nodes, names, parseName(line, 0, first, lineNumber));
+            TreeNode child = getOrCreate(nodes, names, parseName(line, first + 1, second, lineNumber));
+            int quantity = parseQuantity(line, second + 1, lineNumber);
+            Edge edge = parent.getChild(child.getName());
+            if (edge == null) {
+                parent.addChild(child, quantity);
+            } else { // Only the sum is checked, so it just has to stay above the max.
+                edge.setAmount((int) Math.min((long) edge.getAmount() + quantity,
+                        SystemInitializer.getMaxAmount() + 1L));
+            }
+            numberofEdges++;
+        }
+        TreeNode[] ordered = topologicalOrder(nodes.values());
+        checkAmounts(ordered);
+        factory.install(ordered);
+        return numberofEdges;
+    }
+
+    /**
+     * Copies all items of a system, so that the system stays unchanged until the import succeeded.
+     * @param factory The system.
+     * @param names The symbol table of the system.
+     * @return The copies, keyed by name.
+     */
+    private static Map<String, TreeNode> copyItems(NeedsAssessment factory, SymbolTable names) {
+        Map<String, TreeNode> nodes = new LinkedHashMap<>();
+        for (TreeNode item : factory.getItemsInOrder()) {
+            TreeNode copy = getOrCreate(nodes, names, item.getName());
+            for (Edge edge : item.getChildren()) {
+                copy.addChild(getOrCreate(nodes, names, edge.getChild().getName()), edge.getAmount());
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * Helper method to get the node of a name.
+     * @param nodes The nodes so far.
+     * @param names The symbol table of the system.
+     * @param name The name.
+     * @return The node of the name, which is created if it doesn't exist yet.
+     */
+    private static TreeNode getOrCreate(Map<String, TreeNode> nodes, SymbolTable names, String name) {
+        TreeNode node = nodes.get(name);
+        if (node == null) {
+            node = new TreeNode(name, names);
+            nodes.put(name, node);
+        }
+        return node;
+    }
+
+    /**
+     * Parses the name in a column.
+     * @param line The line.
+     * @param start The index of the first character of the column.
+     * @param end The index after the last character of the column.
+     * @param lineNumber The number of the line.
+     * @return The name.
+     * @throws InvalidInputException If the column isn't a name of letters.
+     */
+    private static String parseName(String line, int start, int end, int lineNumber) throws InvalidInputException {
+        if (start == end) {
+            throw new InvalidInputException("line " + lineNumber + " contains an empty name.");
+        }
+        for (int index = start; index < end; index++) {
+            char character = line.charAt(index);
+            if (!(character >= 'a' && character <= 'z' || character >= 'A' && character <= 'Z')) {
+                throw new InvalidInputException("line " + lineNumber + " contains a name that isn't made of letters.");
+            }
+        }
+        return line.substring(start, end);
+    }
+
+    /**
+     * Parses the quantity in the last column.
+     * @param line The line.
+     * @param start The index of the first character of the column.
+     * @param lineNumber The number of the line.
+     * @return The quantity.
+     * @throws InvalidInputException If the column isn't a positive number.
+     */
+    private static int parseQuantity(String line, int start, int lineNumber) throws InvalidInputException {
+        int quantity = 0;
+        if (start == line.length() || line.length() - start > MAX_DIGITS) {
+            throw new InvalidInputException("line " + lineNumber + " contains an invalid quantity.");
+        }
+        for (int index = start; index < line.length(); index++) {
+            char digit = line.charAt(index);
+            if (digit < '0' || digit > '9') {
+                throw new InvalidInputException("line " + lineNumber + " contains an invalid quantity.");
+            }
+            quantity = quantity * 10 + (digit - '0');
+        }
+        if (quantity == 0) {
+            throw new InvalidInputException("line " + lineNumber + " contains a quantity of 0.");
+        }
+        return quantity;
+    }
+
+    /**
+     * Puts all nodes into topological order with a single depth-first search, which also finds any cycle.
+     * @param nodes The nodes.
+     * @return The nodes, every parent before all of its children.
+     * @throws RuleBrokenException If the nodes contain a cycle (the message contains the path of the cycle).
+     */
+    private static TreeNode[] topologicalOrder(Iterable<TreeNode> nodes) throws RuleBrokenException {
+        List<TreeNode> postOrder = new ArrayList<>();
+        Set<TreeNode> visited = new HashSet<>();
+        Set<TreeNode> onPath = new HashSet<>();
+        Deque<TreeNode> path = new ArrayDeque<>();
+        Deque<Iterator<Edge>> edges = new ArrayDeque<>();
+        for (TreeNode start : nodes) {
+            if (!visited.add(start)) {
+                continue;
+            }
+            onPath.add(start);
+            path.push(start);
+            edges.push(start.getChildren().iterator());
+            while (!path.isEmpty()) {
+                Iterator<Edge> iterator = edges.peek();
+                if (iterator.hasNext()) {
+                    TreeNode child = iterator.next().getChild();
+                    if (onPath.contains(child)) {
+                        throw new RuleBrokenException(StringList.CYCLE_ERROR_MSG + createCycle(path, child));
+                    }
+                    if (visited.add(child)) {
+                        onPath.add(child);
+                        path.push(child);
+                        edges.push(child.getChildren().iterator());
+                    }
+                } else {
+                    onPath.remove(path.peek());
+                    postOrder.add(path.pop());
+                    edges.pop();
+                }
+            }
+        }
+        Collections.reverse(postOrder);
+        return postOrder.toArray(new TreeNode[0]);
+    }
+
+    /**
+     * Helper method to create the path of a cycle.
+     * @param path The path of the depth-first search (the last node first).
+     * @param child The node on the path that the last node leads back to.
+     * @return The cycle, for example "A-B-C-A".
+     */
+    private static String createCycle(Deque<TreeNode> path, TreeNode child) {
+        StringBuilder cycle = new StringBuilder();
+        boolean inCycle = false;
+        for (Iterator<TreeNode> iterator = path.descendingIterator(); iterator.hasNext();) {
+            TreeNode node = iterator.next();
+            inCycle = inCycle || node == child;
+            if (inCycle) {
+                cycle.append(node.getName()).append('-');
+            }
+        }
+        return cycle.append(child.getName()).toString();
+    }
+
+    /**
+     * Checks all amounts against the max.
+     * @param nodes All nodes.
+     * @throws RuleBrokenException If an amount is larger than the max.
+     */
+    private static void checkAmounts(TreeNode[] nodes) throws RuleBrokenException {
+        for (TreeNode node : nodes) {
+            for (Edge edge : node.getChildren()) {
+                if (edge.getAmount() > SystemInitializer.getMaxAmount()) {
+                    throw new RuleBrokenException("the amount of a part/assembly cannot exceed "
+                            + SystemInitializer.getMaxAmount() + ": " + node.getName() + " contains "
+                            + edge.getChild().getName() + " more often.");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package edu.kit.informatik.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import edu.kit.informatik.util.BoundedHeap;
+
+/**
+ * Represents the result of exploding an assembly: all of its assemblies and all of its components with their
+ * total amounts, already sorted in the order in which they are printed.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public class ExplodedAssembly {
+
+    /** The assemblies under the exploded assembly, sorted by amount and then name. */
+    private final List<Item> assemblies;
+
+    /** The components under the exploded assembly, sorted by amount and then name. */
+    private final List<Item> components;
+
+    /**
+     * Constructor for an exploded assembly.
+     * @param assembly The assembly to be exploded.
+     */
+    public ExplodedAssembly(TreeNode assembly) {
+        List<TreeNode> order = Explosion.topologicalOrder(assembly);
+        int[] amounts = Explosion.amounts(order);
+        List<Item> listofAssemblies = new ArrayList<>();
+        List<Item> listofComponents = new ArrayList<>();
+        for (int index = 1; index < order.size(); index++) { // The assembly itself comes first.
+            add(order.get(index), amounts[index], listofAssemblies, listofComponents);
+        }
+        this.assemblies = sort(listofAssemblies, false);
+        this.components = sort(listofComponents, false);
+    }
+
+    /**
+     * Constructor for an exploded assembly whose descendants are already known.
+     * @param descendants The descendants of the assembly mapped to how many of them it contains in total.
+     * @param parallel Whether the items are sorted on all threads of the common pool.
+     */
+    ExplodedAssembly(Map<TreeNode, Integer> descendants, boolean parallel) {
+        List<Item> listofAssemblies = new ArrayList<>();
+        List<Item> listofComponents = new ArrayList<>();
+        for (Map.Entry<TreeNode, Integer> descendant : descendants.entrySet()) {
+            add(descendant.getKey(), descendant.getValue(), listofAssemblies, listofComponents);
+        }
+        this.assemblies = sort(listofAssemblies, parallel);
+        this.components = sort(listofComponents, parallel);
+    }
+
+    /**
+     * Helper method to add a descendant to the assemblies or the components.
+     * @param descendant The descendant.
+     * @param amount How many of the descendant the exploded assembly contains in total.
+     * @param listofAssemblies The assemblies so far.
+     * @param listofComponents The components so far.
+     */
+    private static void add(TreeNode descendant, int amount, List<Item> listofAssemblies,
+            List<Item> listofComponents) {
+        Item item = new Item(amount, descendant.getName());
+        if (descendant.isLeaf()) {
+            listofComponents.add(item);
+        } else {
+            listofAssemblies.add(item);
+        }
+    }
+
+    /**
+     * Explodes an assembly and selects only the first of its components or assemblies, without sorting all of
+     * them.
+     * @param assembly The assembly to be exploded.
+     * @param components Whether the components (otherwise the assemblies) are selected.
+     * @param count The number of items that are selected.
+     * @return The first items in the order of getComponents or getAssemblies (all, if there are fewer).
+     */
+    static List<Item> first(TreeNode assembly, boolean components, int count) {
+        List<TreeNode> order = Explosion.topologicalOrder(assembly);
+        int[] amounts = Explosion.amounts(order);
+        BoundedHeap<Item> heap = new BoundedHeap<>(count, new AmountComparator());
+        for (int index = 1; index < order.size(); index++) { // The assembly itself comes first.
+            if (order.get(index).isLeaf() == components) {
+                heap.offer(new Item(amounts[index], order.get(index).getName()));
+            }
+        }
+        return heap.toSortedList();
+    }
+
+    /**
+     * Selects only the first of the components or assemblies of an assembly whose descendants are already known,
+     * without sorting all of them.
+     * @param descendants The descendants of the assembly mapped to how many of them it contains in total.
+     * @param components Whether the components (otherwise the assemblies) are selected.
+     * @param count The number of items that are selected.
+     * @return The first items in the order of getComponents or getAssemblies (all, if there are fewer).
+     */
+    static List<Item> first(Map<TreeNode, Integer> descendants, boolean components, int count) {
+        BoundedHeap<Item> heap = new BoundedHeap<>(count, new AmountComparator());
+        for (Map.Entry<TreeNode, Integer> descendant : descendants.entrySet()) {
+            if (descendant.getKey().isLeaf() == components) {
+                heap.offer(new Item(descendant.getValue(), descendant.getKey().getName()));
+            }
+        }
+        return heap.toSortedList();
+    }
+
+    /**
+     * Helper method to sort items by amount and then name.
+     * @param items The items.
+     * @param parallel Whether the items are sorted on all threads of the common pool.
+     * @return The sorted items, which cannot be modified.
+     */
+    private static List<Item> sort(List<Item> items, boolean parallel) {
+        if (!parallel) {
+            Collections.sort(items, new AmountComparator());
+            return Collections.unmodifiableList(items);
+        }
+        Item[] array = items.toArray(new Item[0]);
+        Arrays.parallelSort(array, new AmountComparator());
+        return Collections.unmodifiableList(Arrays.asList(array));
+    }
+
+    /**
+     * Getter method for the assemblies under the exploded assembly.
+     * @return The assemblies, sorted by amount and then name.
+     */
+    public List<Item> getAssemblies() {
+        return assemblies;
+    }
+
+    /**
+     * Getter method for the components under the exploded assembly.
+     * @return The components, sorted by amount and then name.
+     */
+    public List<Item> getComponents() {
+        return components;
+    }
+}
@@ -0,0 +1,100 @@
+package edu.kit.informatik.data;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import edu.kit.informatik.util.IntHashSet;
+import edu.kit.informatik.util.IntIntHashMap;
+
+/**
+ * Explodes an assembly into all of its descendants together with how many of them the assembly contains.
+ *
+ * The descendants are first put into a topological order (every assembly before its children), then the
+ * amount of every node is pushed down its edges exactly once. This visits every node and edge of the
+ * exploded assembly only once, no matter how often a subassembly is shared. The amounts are kept in an int array
+ * indexed by the position of the node in that order, so nothing is boxed until the result is handed out.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public final class Explosion {
+
+    /** Utility class, so it cannot be instantiated. */
+    private Explosion() {
+    }
+
+    /**
+     * Method to explode an assembly.
+     * @param root The assembly to be exploded.
+     * @return The descendants of the assembly mapped to how many of them it contains in total.
+     */
+    public static Map<TreeNode, Integer> explode(TreeNode root) {
+        List<TreeNode> order = topologicalOrder(root);
+        int[] amounts = amounts(order);
+        Map<TreeNode, Integer> descendants = new HashMap<>(order.size() * 2);
+        for (int index = 1; index < order.size(); index++) {
+            descendants.put(order.get(index), amounts[index]);
+        }
+        return descendants;
+    }
+
+    /**
+     * Method to push the amounts down the edges of an assembly.
+     * @param order The assembly (first) and its descendants in topological order.
+     * @return How many of the node at the same position the assembly contains in total (1 for itself).
+     */
+    static int[] amounts(List<TreeNode> order) {
+        IntIntHashMap positions = new IntIntHashMap(order.size());
+        for (int index = 0; index < order.size(); index++) {
+            positions.put(order.get(index).getId(), index);
+        }
+        int[] amounts = new int[order.size()];
+        amounts[0] = 1;
+        for (int index = 0; index < order.size(); index++) {
+            int multiplier = amounts[index];
+            for (Edge edge : order.get(index).getChildren()) {
+                amounts[positions.get(edge.getChild().getId(), -1)] += multiplier * edge.getAmount();
+            }
+        }
+        return amounts;
+    }
+
+    /**
+     * Method to get all nodes under a node (including itself) in topological order.
+     *
+     * An iterative depth-first search is used so that deep BOMs don't overflow the stack.
+     * @param root The node to start from.
+     * @return The nodes, every parent before all of its children (so the node itself comes first).
+     */
+    static List<TreeNode> topologicalOrder(TreeNode root) {
+        List<TreeNode> postOrder = new ArrayList<>();
+        IntHashSet visited = new IntHashSet();
+        Deque<TreeNode> nodes = new ArrayDeque<>();
+        Deque<Iterator<Edge>> edges = new ArrayDeque<>();
+        visited.add(root.getId());
+        nodes.push(root);
+        edges.push(root.getChildren().iterator());
+        while (!nodes.isEmpty()) {
+            Iterator<Edge> iterator = edges.peek();
+            if (iterator.hasNext()) {
+                TreeNode child = iterator.next().getChild();
+                if (visited.add(child.getId())) {
+                    nodes.push(child);
+                    edges.push(child.getChildren().iterator());
+                }
+            } else {
+                postOrder.add(nodes.pop());
+                edges.pop();
+            }
+        }
+        Collections.reverse(postOrder);
+        return postOrder;
+    }
+}
@@ -0,0 +1,189 @@
+package edu.kit.informatik.data;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.kit.informatik.util.IntHashSet;
+
+/**
+ * A bounded cache of exploded assemblies, keyed by the name of the assembly.
+ *
+ * When the cache is full, the least recently used entry is evicted. When an item changes, only the entries of
+ * the item itself and of the assemblies that (transitively) contain it are invalidated.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public class ExplosionCache {
+
+    /** The number of exploded assemblies that are kept if nothing else is specified. */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    /** The maximum number of exploded assemblies that are kept. */
+    private final int capacity;
+
+    /** The exploded assemblies, from the least to the most recently used. */
+    private final Map<String, ExplodedAssembly> results;
+
+    /** Explodes large assemblies in parallel, or null if all assemblies are exploded sequentially. */
+    private ParallelExplosion parallelExplosion;
+
+    /** The number of lookups that found an exploded assembly. */
+    private long hits;
+
+    /** The number of lookups that didn't find an exploded assembly. */
+    private long misses;
+
+    /**
+     * Constructor for the cache.
+     * @param capacity The maximum number of exploded assemblies that are kept (0 disables the cache).
+     */
+    public ExplosionCache(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("the capacity of the cache cannot be negative.");
+        }
+        this.capacity = capacity;
+        this.results = new LinkedHashMap<String, ExplodedAssembly>(16, 0.75f, true) {
+            private static final long serialVersionUID = 2467812033140952214L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ExplodedAssembly> eldest) {
+                return size() > ExplosionCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Method to get the exploded assembly of a node, exploding it only if it isn't cached yet.
+     * @param assembly The assembly.
+     * @return The exploded assembly.
+     */
+    ExplodedAssembly get(TreeNode assembly) {
+        ExplodedAssembly result = results.get(assembly.getName());
+        if (result != null) {
+            hits++;
+            return result;
+        }
+        misses++;
+        result = (parallelExplosion == null) ? new ExplodedAssembly(assembly)
+                : new ExplodedAssembly(parallelExplosion.explode(assembly), true);
+        if (capacity > 0) {
+            results.put(assembly.getName(), result);
+        }
+        return result;
+    }
+
+    /**
+     * Method to get only the first components or assemblies of an assembly. A cached result is used if there is
+     * one; otherwise only the first items are selected, which is cheaper than sorting all of them, and nothing is
+     * cached.
+     * @param assembly The assembly.
+     * @param components Whether the components (otherwise the assemblies) are returned.
+     * @param count The number of items.
+     * @return The first items in the order of the exploded assembly (all, if there are fewer).
+     */
+    List<Item> getFirst(TreeNode assembly, boolean components, int count) {
+        ExplodedAssembly result = results.get(assembly.getName());
+        if (result != null) {
+            hits++;
+            List<Item> items = components ? result.getComponents() : result.getAssemblies();
+            return items.subList(0, Math.min(count, items.size()));
+        }
+        misses++;
+        return (parallelExplosion == null) ? ExplodedAssembly.first(assembly, components, count)
+                : ExplodedAssembly.first(parallelExplosion.explode(assembly), components, count);
+    }
+
+    /**
+     * Method to invalidate the cached results that depend on an item, which are the results of the item itself
+     * and of all assemblies that contain it directly or indirectly.
+     *
+     * It has to be called before the edges of the item are changed.
+     * @param node The item that is going to change.
+     */
+    void invalidate(TreeNode node) {
+        invalidate(Collections.singletonList(node));
+    }
+
+    /**
+     * Method to invalidate the cached results that depend on several items in a single pass, which visits every
+     * assembly that contains some of them only once.
+     *
+     * It has to be called before the edges of the items are changed.
+     * @param changing The items that are going to change.
+     */
+    void invalidate(Collection<TreeNode> changing) {
+        if (results.isEmpty()) {
+            return;
+        }
+        IntHashSet visited = new IntHashSet();
+        Deque<TreeNode> nodes = new ArrayDeque<>();
+        for (TreeNode node : changing) {
+            if (visited.add(node.getId())) {
+                nodes.push(node);
+            }
+        }
+        while (!nodes.isEmpty()) {
+            TreeNode current = nodes.pop();
+            results.remove(current.getName());
+            for (Edge edge : current.getParents()) {
+                if (visited.add(edge.getParent().getId())) {
+                    nodes.push(edge.getParent());
+                }
+            }
+        }
+    }
+
+    /**
+     * Setter method for the parallel explosion of large assemblies.
+     * @param parallelExplosion The parallel explosion, or null to explode all assemblies sequentially.
+     */
+    void setParallelExplosion(ParallelExplosion parallelExplosion) {
+        this.parallelExplosion = parallelExplosion;
+    }
+
+    /**
+     * Removes all cached results.
+     */
+    public void clear() {
+        results.clear();
+    }
+
+    /**
+     * Getter method for the number of lookups that found a cached result.
+     * @return The number of hits.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Getter method for the number of lookups that had to explode the assembly.
+     * @return The number of misses.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Getter method for the number of cached results.
+     * @return The number of cached results.
+     */
+    public int size() {
+        return results.size();
+    }
+
+    /**
+     * Getter method for the maximum number of cached results.
+     * @return The capacity.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,410 @@
+package edu.kit.informatik.data;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import edu.kit.informatik.exceptions.RuleBrokenException;
+import edu.kit.informatik.util.BoundedHeap;
+import edu.kit.informatik.util.StringList;
+import edu.kit.informatik.util.SymbolTable;
+
+/**
+ * A read-only copy of all items in compressed sparse row form, for periods in which the BOM is queried far more
+ * often than it is changed.
+ *
+ * Every item gets an index in topological order, so the descendants of an item always have larger indices than
+ * the item itself. The children of item i are the entries offsets[i] to offsets[i + 1] - 1 of the arrays children
+ * (their indices) and quantities, sorted by name, so printAssembly is a single scan. An explosion collects the
+ * indices of the descendants, sorts them (which puts them into topological order) and pushes the amounts down
+ * in one sequential pass over int arrays. The results are sorted as longs that combine the amount with the rank
+ * of the name, so no names are compared at query time.
+ *
+ * The view never changes after it was built, so any number of threads can query it at once. It doesn't see
+ * changes made afterwards; NeedsAssessment#getFrozenView builds a new one when the system has changed.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public final class FrozenBom {
+
+    /** The number of bits the rank of a name takes in a sort key. */
+    private static final int RANK_BITS = 31;
+
+    /** The length up to which keys are sorted by insertion, which is faster for the short lists of children. */
+    private static final int INSERTION_SORT_LENGTH = 32;
+
+    /** The version of the system the view was built from. */
+    private final long version;
+
+    /** The names of the items, by index. */
+    private final String[] names;
+
+    /** The symbol table of the system, which gives the ids of the names. */
+    private final SymbolTable symbols;
+
+    /** The index of every item, by the id of its name, or -1 for names that aren't items. */
+    private final int[] indexOfId;
+
+    /** The position of the name of every item in alphabetical order, by index. */
+    private final int[] rank;
+
+    /** The index of the item whose name has a rank, by rank. */
+    private final int[] indexOfRank;
+
+    /** Where the children of every item start in children and quantities (one more entry for the end). */
+    private final int[] offsets;
+
+    /** The indices of the children of all items. */
+    private final int[] children;
+
+    /** How many of each child its parent contains. */
+    private final int[] quantities;
+
+    /** The buffers of the explosions of every thread. */
+    private final ThreadLocal<Scratch> scratch;
+
+    /**
+     * Constructor for a frozen view.
+     * @param items All items of the system, every parent before all of its children.
+     * @param version The version of the system.
+     * @param symbols The symbol table of the system (only names used by this system have ids in it).
+     */
+    FrozenBom(List<TreeNode> items, long version, SymbolTable symbols) {
+        int size = items.size();
+        this.version = version;
+        this.names = new String[size];
+        this.symbols = symbols;
+        int maxId = -1;
+        int numberofEdges = 0;
+        for (int index = 0; index < size; index++) {
+            TreeNode item = items.get(index);
+            names[index] = item.getName();
+            maxId = Math.max(maxId, item.getId());
+            numberofEdges += item.getChildren().size();
+        }
+        this.indexOfId = new int[maxId + 1];
+        Arrays.fill(indexOfId, -1);
+        for (int index = 0; index < size; index++) {
+            indexOfId[items.get(index).getId()] = index;
+        }
+        String[] sortedNames = names.clone();
+        Arrays.sort(sortedNames);
+        this.rank = new int[size];
+        this.indexOfRank = new int[size];
+        for (int position = 0; position < size; position++) {
+            int index = indexOf(sortedNames[position]);
+            rank[index] = position;
+            indexOfRank[position] = index;
+        }
+        this.offsets = new int[size + 1];
+        this.children = new int[numberofEdges];
+        this.quantities = new int[numberofEdges];
+        int edge = 0;
+        for (int index = 0; index < size; index++) {
+            offsets[index] = edge;
+            Edge[] edges = items.get(index).getChildren().toArray(new Edge[0]);
+            long[] byName = new long[edges.length]; // The rank of the name of every child and its position.
+            for (int position = 0; position < edges.length; position++) {
+                byName[position] = (long) rank[indexOfId[edges[position].getChild().getId()]] << RANK_BITS | position;
+            }
+            sort(byName, byName.length);
+            for (long key : byName) {
+                Edge child = edges[(int) (key & ((1L << RANK_BITS) - 1))];
+                children[edge] = indexOfId[child.getChild().getId()];
+                quantities[edge] = child.getAmount();
+                edge++;
+            }
+        }
+        offsets[size] = edge;
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(size));
+    }
+
+    /**
+     * Creates a String of the children of an assembly, like NeedsAssessment#printAssembly.
+     * @param nameofAssembly The name of the assembly.
+     * @return A String of the children of the assembly, or "COMPONENT".
+     * @throws RuleBrokenException If no such item exists.
+     */
+    public String printAssembly(String nameofAssembly) throws RuleBrokenException {
+        return NeedsAssessment.toString(output -> printAssembly(nameofAssembly, output));
+    }
+
+    /**
+     * Writes the children of an assembly to an output, like NeedsAssessment#printAssembly.
+     * @param nameofAssembly The name of the assembly.
+     * @param output The output the children (or "COMPONENT") are written to.
+     * @throws RuleBrokenException If no such item exists (nothing is written then).
+     * @throws IOException If the output cannot be written.
+     */
+    public void printAssembly(String nameofAssembly, Appendable output) throws RuleBrokenException, IOException {
+        int index = indexOf(nameofAssembly);
+        if (index < 0) {
+            NeedsAssessment.throwDoesntExist(nameofAssembly);
+        }
+        if (isLeaf(index)) {
+            output.append("COMPONENT");
+            return;
+        }
+        for (int edge = offsets[index]; edge < offsets[index + 1]; edge++) {
+            if (edge > offsets[index]) {
+                output.append(StringList.SEMICOLON.toString());
+            }
+            NeedsAssessment.writeItem(names[children[edge]], quantities[edge], output);
+        }
+    }
+
+    /**
+     * Gets all the assemblies of an assembly, like NeedsAssessment#getAssemblies.
+     * @param nameofAssembly The name of the assembly.
+     * @return String of all the assemblies or "EMPTY" if the assembly is only made up of parts.
+     * @throws RuleBrokenException If no assembly of that name exists.
+     */
+    public String getAssemblies(String nameofAssembly) throws RuleBrokenException {
+        return NeedsAssessment.toString(output -> getAssemblies(nameofAssembly, output));
+    }
+
+    /**
+     * Writes all the assemblies of an assembly to an output, like NeedsAssessment#getAssemblies.
+     * @param nameofAssembly The name of the assembly.
+     * @param output The output the assemblies (or "EMPTY" if the assembly is only made up of parts) are written to.
+     * @throws RuleBrokenException If no assembly of that name exists (nothing is written then).
+     * @throws IOException If the output cannot be written.
+     */
+    public void getAssemblies(String nameofAssembly, Appendable output) throws RuleBrokenException, IOException {
+        int index = indexOfAssembly(nameofAssembly);
+        for (int edge = offsets[index]; edge < offsets[index + 1]; edge++) {
+            if (!isLeaf(children[edge])) {
+                explode(index, false, 0, Integer.MAX_VALUE, output);
+                return;
+            }
+        }
+        output.append("EMPTY");
+    }
+
+    /**
+     * Gets all the components of an assembly, like NeedsAssessment#getComponents.
+     * @param nameofAssembly The name of the assembly.
+     * @return String of all the components.
+     * @throws RuleBrokenException If no assembly of that name exists.
+     */
+    public String getComponents(String nameofAssembly) throws RuleBrokenException {
+        return NeedsAssessment.toString(output -> getComponents(nameofAssembly, output));
+    }
+
+    /**
+     * Writes all the components of an assembly to an output, like NeedsAssessment#getComponents.
+     * @param nameofAssembly The name of the assembly.
+     * @param output The output the components are written to.
+     * @throws RuleBrokenException If no assembly of that name exists (nothing is written then).
+     * @throws IOException If the output cannot be written.
+     */
+    public void getComponents(String nameofAssembly, Appendable output) throws RuleBrokenException, IOException {
+        explode(indexOfAssembly(nameofAssembly), true, 0, Integer.MAX_VALUE, output);
+    }
+
+    /**
+     * Writes a page of the assemblies of an assembly to an output, like NeedsAssessment#getAssemblies with a page.
+     * @param nameofAssembly The name of the assembly.
+     * @param offset The number of assemblies that are skipped.
+     * @param limit The maximum number of assemblies that are written.
+     * @param output The output the assemblies (or "EMPTY" if the assembly is only made up of parts) are written to.
+     * @throws RuleBrokenException If no assembly of that name exists (nothing is written then).
+     * @throws IOException If the output cannot be written.
+     */
+    public void getAssemblies(String nameofAssembly, int offset, int limit, Appendable output)
+            throws RuleBrokenException, IOException {
+        int end = NeedsAssessment.getEndOfPage(offset, limit);
+        int index = indexOfAssembly(nameofAssembly);
+        for (int edge = offsets[index]; edge < offsets[index + 1]; edge++) {
+            if (!isLeaf(children[edge])) {
+                explode(index, false, offset, end, output);
+                return;
+            }
+        }
+        output.append("EMPTY");
+    }
+
+    /**
+     * Writes a page of the components of an assembly to an output, like NeedsAssessment#getComponents with a page.
+     * @param nameofAssembly The name of the assembly.
+     * @param offset The number of components that are skipped.
+     * @param limit The maximum number of components that are written.
+     * @param output The output the components are written to.
+     * @throws RuleBrokenException If no assembly of that name exists (nothing is written then).
+     * @throws IOException If the output cannot be written.
+     */
+    public void getComponents(String nameofAssembly, int offset, int limit, Appendable output)
+            throws RuleBrokenException, IOException {
+        int end = NeedsAssessment.getEndOfPage(offset, limit);
+        explode(indexOfAssembly(nameofAssembly), true, offset, end, output);
+    }
+
+    /**
+     * Getter method for the version of the system the view was built from.
+     * @return The version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Getter method for the number of items.
+     * @return The number of items in the view.
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Explodes an assembly and writes the components or assemblies with their total amounts, sorted by amount and
+     * then name. Only the items before the end are selected (with a bounded heap) and sorted.
+     * @param root The index of the assembly.
+     * @param components Whether the components (otherwise the assemblies) are written.
+     * @param start The number of items that are skipped.
+     * @param end The number of items up to the last one that is written.
+     * @param output The output.
+     * @throws IOException If the output cannot be written.
+     */
+    private void explode(int root, boolean components, int start, int end, Appendable output) throws IOException {
+        Scratch buffers = scratch.get();
+        int[] amounts = buffers.amounts;
+        int[] marks = buffers.marks;
+        int mark = buffers.nextMark();
+        int[] found = buffers.found;
+        int count = 0;
+        marks[root] = mark;
+        found[count++] = root;
+        for (int next = 0; next < count; next++) { // found doubles as the queue of the search.
+            for (int edge = offsets[found[next]]; edge < offsets[found[next] + 1]; edge++) {
+                if (marks[children[edge]] != mark) {
+                    marks[children[edge]] = mark;
+                    found[count++] = children[edge];
+                }
+            }
+        }
+        Arrays.sort(found, 0, count); // Topological order, with the root first.
+        for (int next = 0; next < count; next++) {
+            amounts[found[next]] = 0;
+        }
+        amounts[root] = 1;
+        long[] keys = new long[count];
+        int numberofKeys = 0;
+        for (int next = 0; next < count; next++) {
+            int index = found[next];
+            int multiplier = amounts[index];
+            for (int edge = offsets[index]; edge < offsets[index + 1]; edge++) {
+                amounts[children[edge]] += multiplier * quantities[edge];
+            }
+            if (index != root && isLeaf(index) == components) {
+                // Larger amounts get smaller keys; equal amounts are ordered by name.
+                keys[numberofKeys++] = ((long) Integer.MAX_VALUE - multiplier) << RANK_BITS | rank[index];
+            }
+        }
+        int last = Math.min(end, numberofKeys);
+        if (last == numberofKeys) {
+            sort(keys, numberofKeys);
+        } else {
+            BoundedHeap.smallest(keys, numberofKeys, last);
+        }
+        for (int next = start; next < last; next++) {
+            if (next > start) {
+                output.append(StringList.SEMICOLON.toString());
+            }
+            int amount = (int) (Integer.MAX_VALUE - (keys[next] >>> RANK_BITS));
+            NeedsAssessment.writeItem(names[indexOfRank[(int) (keys[next] & ((1L << RANK_BITS) - 1))]], amount, output);
+        }
+    }
+
+    /**
+     * Helper method to sort keys.
+     * @param keys The keys.
+     * @param length The number of keys at the start of the array that are sorted.
+     */
+    private static void sort(long[] keys, int length) {
+        if (length > INSERTION_SORT_LENGTH) {
+            Arrays.sort(keys, 0, length);
+            return;
+        }
+        for (int next = 1; next < length; next++) {
+            long key = keys[next];
+            int position = next;
+            for (; position > 0 && keys[position - 1] > key; position--) {
+                keys[position] = keys[position - 1];
+            }
+            keys[position] = key;
+        }
+    }
+
+    /**
+     * Helper method to get the index of an item.
+     * @param name The name of the item.
+     * @return The index, or -1 if the view doesn't contain the item.
+     */
+    private int indexOf(String name) {
+        int id = symbols.lookup(name);
+        return (id < 0 || id >= indexOfId.length) ? -1 : indexOfId[id];
+    }
+
+    /**
+     * Helper method to get the index of an assembly.
+     * @param name The name of the assembly.
+     * @return The index.
+     * @throws RuleBrokenException If the view doesn't contain an assembly of that name.
+     */
+    private int indexOfAssembly(String name) throws RuleBrokenException {
+        int index = indexOf(name);
+        if (index < 0 || isLeaf(index)) {
+            NeedsAssessment.throwAssemblyDoesntExist(name);
+        }
+        return index;
+    }
+
+    /**
+     * Helper method to check whether an item is a leaf.
+     * @param index The index of the item.
+     * @return true if the item has no children, otherwise false.
+     */
+    private boolean isLeaf(int index) {
+        return offsets[index] == offsets[index + 1];
+    }
+
+    /**
+     * The buffers one thread uses for its explosions, so that they aren't allocated for every query.
+     */
+    private static final class Scratch {
+
+        /** The amount of every item during an explosion. */
+        private final int[] amounts;
+
+        /** The mark of the explosion that last found an item. */
+        private final int[] marks;
+
+        /** The items an explosion found. */
+        private final int[] found;
+
+        /** The mark of the last explosion. */
+        private int mark;
+
+        /**
+         * @param size The number of items.
+         */
+        Scratch(int size) {
+            this.amounts = new int[size];
+            this.marks = new int[size];
+            this.found = new int[size];
+        }
+
+        /**
+         * @return The mark of the next explosion.
+         */
+        int nextMark() {
+            if (++mark == 0) { // The marks wrapped around, so old marks could be mistaken for the new one.
+                Arrays.fill(marks, 0);
+                mark = 1;
+            }
+            return mark;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package edu.kit.informatik.data;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The snapshots of the system before the last changes (for undo), the snapshots that were undone (for redo) and
+ * the snapshots that were taken under a name.
+ *
+ * Since consecutive snapshots share everything that didn't change, keeping a snapshot only costs a reference, and
+ * all kept snapshots together only cost memory for the records that changed between them.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+final class History {
+
+    /** The maximum number of changes that can be undone. */
+    private final int capacity;
+
+    /** The snapshots before the last changes, the latest first. */
+    private final Deque<BomSnapshot> undo = new ArrayDeque<>();
+
+    /** The snapshots that were undone, the latest first. */
+    private final Deque<BomSnapshot> redo = new ArrayDeque<>();
+
+    /** The snapshots that were taken under a name, keyed by the name. */
+    private final Map<String, BomSnapshot> named = new HashMap<>();
+
+    /**
+     * Constructor for a history.
+     * @param capacity The maximum number of changes that can be undone.
+     */
+    History(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Records a change. The oldest snapshot is dropped if more than the capacity are kept, and the snapshots that
+     * were undone can't be redone anymore.
+     * @param previous The snapshot before the change.
+     */
+    void record(BomSnapshot previous) {
+        undo.push(previous);
+        if (undo.size() > capacity) {
+            undo.removeLast();
+        }
+        redo.clear();
+    }
+
+    /**
+     * Takes the snapshot before the last change for undo.
+     * @param current The current snapshot, which can be redone afterwards.
+     * @return The snapshot before the last change, or null if there is none.
+     */
+    BomSnapshot undo(BomSnapshot current) {
+        BomSnapshot previous = undo.poll();
+        if (previous != null) {
+            redo.push(current);
+        }
+        return previous;
+    }
+
+    /**
+     * Takes the snapshot that was undone last for redo.
+     * @param current The current snapshot, which can be undone again afterwards.
+     * @return The snapshot that was undone last, or null if there is none.
+     */
+    BomSnapshot redo(BomSnapshot current) {
+        BomSnapshot next = redo.poll();
+        if (next != null) {
+            undo.push(current);
+        }
+        return next;
+    }
+
+    /**
+     * Keeps a snapshot under a name (replacing the snapshot that was kept under it before).
+     * @param name The name.
+     * @param snapshot The snapshot.
+     */
+    void put(String name, BomSnapshot snapshot) {
+        named.put(name, snapshot);
+    }
+
+    /**
+     * Getter method for a snapshot that was taken under a name.
+     * @param name The name.
+     * @return The snapshot, or null if there is none of that name.
+     */
+    BomSnapshot get(String name) {
+        return named.get(name);
+    }
+}
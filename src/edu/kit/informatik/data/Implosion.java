@@ -0,0 +1,114 @@
+package edu.kit.informatik.data;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+import edu.kit.informatik.util.IntHashSet;
+import edu.kit.informatik.util.IntIntHashMap;
+
+/**
+ * Implodes an item into all assemblies that use it, directly or through subassemblies, together with how many of
+ * the item each of them contains in total (the where-used list, or reverse bill of materials).
+ *
+ * This is the explosion run upwards: the edges to the parents that every node already keeps are the reverse
+ * index, the ancestors are put into an order in which every node comes before its parents, and the amount of
+ * every node is pushed up its edges exactly once. Only the ancestors of the item and their edges are visited,
+ * so the cost depends on the size of the result and not on the size of the whole system.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public final class Implosion {
+
+    /** Utility class, so it cannot be instantiated. */
+    private Implosion() {
+    }
+
+    /**
+     * Method to get the assemblies that use an item directly.
+     * @param node The item.
+     * @return The parents of the item with how many of the item they contain, sorted like the components.
+     */
+    public static List<Item> whereUsed(TreeNode node) {
+        List<Item> parents = new ArrayList<>(node.getParents().size());
+        for (Edge edge : node.getParents()) {
+            parents.add(new Item(edge.getAmount(), edge.getParent().getName()));
+        }
+        Collections.sort(parents, new AmountComparator());
+        return parents;
+    }
+
+    /**
+     * Method to implode an item.
+     * @param node The item.
+     * @return All ancestors of the item with how many of the item they contain in total, sorted like the
+     *         components.
+     */
+    public static List<Item> implode(TreeNode node) {
+        List<TreeNode> order = bottomUpOrder(node);
+        int[] amounts = amounts(order);
+        List<Item> ancestors = new ArrayList<>(order.size());
+        for (int index = 1; index < order.size(); index++) {
+            ancestors.add(new Item(amounts[index], order.get(index).getName()));
+        }
+        Collections.sort(ancestors, new AmountComparator());
+        return ancestors;
+    }
+
+    /**
+     * Method to push the amounts up the edges to the ancestors of an item.
+     * @param order The item (first) and its ancestors, every child before all of its parents.
+     * @return How many of the item the node at the same position contains in total (1 for the item itself).
+     */
+    static int[] amounts(List<TreeNode> order) {
+        IntIntHashMap positions = new IntIntHashMap(order.size());
+        for (int index = 0; index < order.size(); index++) {
+            positions.put(order.get(index).getId(), index);
+        }
+        int[] amounts = new int[order.size()];
+        amounts[0] = 1;
+        for (int index = 0; index < order.size(); index++) {
+            int multiplier = amounts[index];
+            for (Edge edge : order.get(index).getParents()) {
+                amounts[positions.get(edge.getParent().getId(), -1)] += multiplier * edge.getAmount();
+            }
+        }
+        return amounts;
+    }
+
+    /**
+     * Method to get all nodes above a node (including itself) in an order in which every node comes before its
+     * parents, with an iterative depth-first search like Explosion#topologicalOrder.
+     * @param node The node to start from.
+     * @return The nodes, every child before all of its parents (so the node itself comes first).
+     */
+    static List<TreeNode> bottomUpOrder(TreeNode node) {
+        List<TreeNode> postOrder = new ArrayList<>();
+        IntHashSet visited = new IntHashSet();
+        Deque<TreeNode> nodes = new ArrayDeque<>();
+        Deque<Iterator<Edge>> edges = new ArrayDeque<>();
+        visited.add(node.getId());
+        nodes.push(node);
+        edges.push(node.getParents().iterator());
+        while (!nodes.isEmpty()) {
+            Iterator<Edge> iterator = edges.peek();
+            if (iterator.hasNext()) {
+                TreeNode parent = iterator.next().getParent();
+                if (visited.add(parent.getId())) {
+                    nodes.push(parent);
+                    edges.push(parent.getParents().iterator());
+                }
+            } else {
+                postOrder.add(nodes.pop());
+                edges.pop();
+            }
+        }
+        Collections.reverse(postOrder);
+        return postOrder;
+    }
+}
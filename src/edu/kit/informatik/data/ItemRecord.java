@@ -0,0 +1,93 @@
+package edu.kit.informatik.data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An immutable copy of an item and the edges to its children at the time a snapshot was published.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public final class ItemRecord {
+
+    /** The name of the item. */
+    private final String name;
+
+    /** The names of the children, in the order they were added. */
+    private final String[] childNames;
+
+    /** The amounts of the children. */
+    private final int[] amounts;
+
+    /**
+     * Constructor for a record of the current state of a node.
+     * @param node The node.
+     */
+    ItemRecord(TreeNode node) {
+        this.name = node.getName();
+        this.childNames = new String[node.getChildren().size()];
+        this.amounts = new int[childNames.length];
+        int index = 0;
+        for (Edge edge : node.getChildren()) {
+            childNames[index] = edge.getChild().getName();
+            amounts[index] = edge.getAmount();
+            index++;
+        }
+    }
+
+    /**
+     * Getter method for the name of the item.
+     * @return The name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Checks whether the item is a component.
+     * @return true if the item has no children, otherwise false.
+     */
+    public boolean isLeaf() {
+        return childNames.length == 0;
+    }
+
+    /**
+     * Getter method for the number of children.
+     * @return The number of children.
+     */
+    public int size() {
+        return childNames.length;
+    }
+
+    /**
+     * Getter method for the name of a child.
+     * @param index The index of the child.
+     * @return The name.
+     */
+    public String getChildName(int index) {
+        return childNames[index];
+    }
+
+    /**
+     * Getter method for the amount of a child.
+     * @param index The index of the child.
+     * @return The amount.
+     */
+    public int getAmount(int index) {
+        return amounts[index];
+    }
+
+    /**
+     * Getter method for the children as items.
+     * @return New items for all children, in the order they were added.
+     */
+    public List<Item> getChildren() {
+        List<Item> children = new ArrayList<>(childNames.length);
+        for (int index = 0; index < childNames.length; index++) {
+            children.add(new Item(amounts[index], childNames[index]));
+        }
+        return children;
+    }
+}
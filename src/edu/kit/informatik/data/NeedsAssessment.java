@@ -1,199 +1,191 @@
 package edu.kit.informatik.data;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.Iterator;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 import edu.kit.informatik.exceptions.RuleBrokenException;
 import edu.kit.informatik.util.StringList;
 
 /**
  * Class that contains all methods to run the program.
- * 
+ *
  * @author Rakan Zeid Al Masri
  * @version 1.0
  */
 public class NeedsAssessment {
 
-    /** The index of the first instance of an item.
-     * It is used when it doesn't matter which instance is called.
-     */
-    private static final int FIRST_INDEX = 0;
-    
     /** The amount of an item when it is going to vanish (a.k.a removing all the item). */
     private static final int VANISHING_AMOUNT = 0;
-    
+
+    /** The base of the amounts that are written. */
+    private static final int DECIMAL_BASE = 10;
+
     /** The system that stores all the information regarding the parts/assemblies. */
     private SystemInitializer system;
 
+    /** The cache of exploded assemblies that is used by getAssemblies and getComponents. */
+    private ExplosionCache cache;
+
+    /** The topological order of all items that is used to detect cycles. */
+    private TopologicalOrder order;
+
+    /** The latest published snapshot, or null if no snapshots are published. */
+    private final AtomicReference<BomSnapshot> snapshot;
+
+    /** The number of changes so far. */
+    private long version;
+
+    /** The last frozen view that was built, or null. */
+    private FrozenBom frozen;
+
+    /** Whether printAssembly, getAssemblies and getComponents are answered by the frozen view. */
+    private boolean frozenReads;
+
+    /** The maintained totals of the components of top-level assemblies, or null if they aren't kept. */
+    private RollupTotals rollups;
+
+    /** The open transaction, or null. */
+    private Transaction transaction;
+
+    /** The snapshots for undo, redo and named snapshots, or null if no history is kept. */
+    private History history;
+
     /** Constructor for the NeedsAssessment class. */
     public NeedsAssessment() {
-        this.system = new SystemInitializer();
+        this(ExplosionCache.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor for the NeedsAssessment class with a custom cache size.
+     * @param cacheCapacity The maximum number of exploded assemblies that are cached (0 disables the cache).
+     */
+    public NeedsAssessment(int cacheCapacity) {
+        this(cacheCapacity, false);
+    }
+
+    /**
+     * Constructor for the NeedsAssessment class that can publish an immutable snapshot after every change, so
+     * that other threads can run queries against it without locking (see {@link #getSnapshot()}).
+     * @param cacheCapacity The maximum number of exploded assemblies that are cached (0 disables the cache).
+     * @param publishSnapshots Whether snapshots are published.
+     */
+    public NeedsAssessment(int cacheCapacity, boolean publishSnapshots) {
+        this(cacheCapacity, publishSnapshots, new SystemInitializer());
+    }
+
+    /**
+     * Constructor for the NeedsAssessment class that starts with a given (empty) system.
+     * @param cacheCapacity The maximum number of exploded assemblies that are cached (0 disables the cache).
+     * @param publishSnapshots Whether snapshots are published.
+     * @param system The empty system, whose symbol table may be shared with other systems.
+     */
+    NeedsAssessment(int cacheCapacity, boolean publishSnapshots, SystemInitializer system) {
+        this.system = system;
+        this.cache = new ExplosionCache(cacheCapacity);
+        this.order = new TopologicalOrder();
+        this.snapshot = publishSnapshots ? new AtomicReference<>(BomSnapshot.EMPTY) : null;
     }
 
     /**
      * Adds an assembly.
      * @param nameOfAssembly The name of the assembly.
-     * @param children       The child nodes to be added to this new assembly.
-     * @throws RuleBrokenException If an assembly of the same name already exists or if a cycle occurs because
-     * of the addition.
+     * @param children       The children (name and amount) to be added to this new assembly.
+     * @throws RuleBrokenException If an assembly of the same name already exists, if a cycle occurs because
+     * of the addition or if a transaction is open.
      */
-    public void addAssembly(String nameOfAssembly, List<TreeNode> children) throws RuleBrokenException {
-        boolean doesExist = false; // If the part we want to turn into an assembly exists in the system.
-        List<TreeNode> assemblies = new ArrayList<>();
+    public void addAssembly(String nameOfAssembly, List<Item> children) throws RuleBrokenException {
+        checkNoTransaction();
         if (system.getAssembly(nameOfAssembly) != null) { // Add assembly cannot be used for assemblies.
             throwAssemblyExists();
         }
-        for (TreeNode part : system.getListofParts()) { // Checking if a part of the name exists.
-            if (part.getNameofData().equals(nameOfAssembly)) {
-                doesExist = true;
-                break;
-            }
-        }
-        if (doesExist) {
-            for (Tree tree : system.getMapofTrees().values()) {
-                TreeNode root = tree.getRootElement();
-                List<TreeNode> newAssemblies = tree.findNodes(root, nameOfAssembly, new ArrayList<>());
-                if (!newAssemblies.isEmpty()) {
-                    assemblies.addAll(newAssemblies);
-                    for (TreeNode assembly : newAssemblies) {
-                        String errorMsg = Tree.checkForCycles(assembly, children);
-                        if (!errorMsg.isEmpty()) {
-                            throwCycle(errorMsg);
-                        }
-                    }
+        TreeNode assembly = system.getPart(nameOfAssembly);
+        if (assembly != null) { // Only an item that is already used somewhere can close a cycle.
+            for (Item child : children) {
+                TreeNode childNode = system.getItem(child.getName());
+                if (childNode != null) {
+                    checkCycle(assembly, childNode);
                 }
             }
-            addAssemblyThatExists(assemblies, children);
+            cache.invalidate(assembly);
+            invalidateRollups(assembly);
         } else {
-            addAssemblyThatDoesntExist(nameOfAssembly, children);
+            assembly = new TreeNode(nameOfAssembly, system.getNames());
+            order.addRoot(assembly);
         }
-    }
-
-    /**
-     * Helper method to add an assembly for an item that doesn't exist in the
-     * system. If the assembly doesn't exist, it will be made into a super assembly.
-     * @param nameOfAssembly The name of said item.
-     * @param children       The children to be added.
-     */
-    private void addAssemblyThatDoesntExist(String nameOfAssembly, List<TreeNode> children) throws RuleBrokenException {
-        Tree newTree = new Tree(new Item(nameOfAssembly)); 
-        for (TreeNode kid : children) {
-            newTree.addNode(kid, newTree.getRootElement(), false);
-            if (kid.isLeaf()) {
-                system.getListofParts().add(kid);
-            } else {
-                system.getListofAssemblies().add(kid);
-            }
+        List<TreeNode> changed = new ArrayList<>(children.size() + 1);
+        for (Item child : children) {
+            TreeNode childNode = getOrCreateNode(child.getName());
+            assembly.addChild(childNode, child.getAmount());
+            system.updateItem(childNode);
+            changed.add(childNode);
         }
-        system.getMapofTrees().put(nameOfAssembly, newTree);
+        system.updateItem(assembly);
+        changed.add(assembly);
+        publish(changed);
     }
 
     /**
-     * Helper method to add an assembly for an item that exists in the system.
-     * @param assemblies The list of all instances of said item in the system.
-     * @param children   The children to be added.
+     * Helper method to get the node of an item.
+     * @param name The name of the item.
+     * @return The node of the item if it exists in the system, otherwise a new node.
      */
-    private void addAssemblyThatExists(List<TreeNode> assemblies, List<TreeNode> children) {
-        for (TreeNode assembly : assemblies) {
-            for (TreeNode child : children) {
-                Tree tree = system.getMapofTrees().get(assembly.getTreeName());
-                if (child.isLeaf()) {
-                    system.getListofParts().add(child);
-                } else {
-                    system.getListofAssemblies().add(child);
-                }
-                tree.addNode(child, assembly, false);
-                system.getListofAssemblies().add(assembly);
-                system.getListofParts().remove(assembly);
-            }
-            List<TreeNode> newChildren = createDuplicateChildren(children);
-            children.clear();
-            children.addAll(newChildren);
+    private TreeNode getOrCreateNode(String name) {
+        TreeNode node = system.getItem(name);
+        if (node == null) {
+            node = new TreeNode(name, system.getNames());
+            order.addLeaf(node);
         }
+        return node;
     }
 
     /**
-     * Creates clones of children nodes.
-     * @param children The children to be cloned.
-     * @return A list of cloned children.
+     * Helper method to check whether adding a child to an assembly would cause a cycle.
+     * @param assembly The assembly.
+     * @param child The child that already exists in the system.
+     * @throws RuleBrokenException If a cycle would occur because of the addition.
      */
-    private List<TreeNode> createDuplicateChildren(List<TreeNode> children) {
-        List<TreeNode> newChildren = new ArrayList<>();
-        for (TreeNode child : children) {
-            newChildren.add(child.getCopy());
+    private void checkCycle(TreeNode assembly, TreeNode child) throws RuleBrokenException {
+        String errorMsg = order.checkEdge(assembly, child);
+        if (!errorMsg.isEmpty()) {
+            throwCycle(errorMsg);
         }
-        return newChildren;
     }
 
     /**
      * Method to remove an assembly. If the assembly is "super", then it will be
      * deleted from the system, otherwise all its children will be deleted and it
      * will be treated as a component.
+     *
+     * Children that aren't used anywhere else afterwards become "super" assemblies if they are assemblies
+     * and vanish if they are components.
      * @param nameofAssembly The name of the assembly to be deleted.
-     * @throws RuleBrokenException If no such assembly exists in the system.
+     * @throws RuleBrokenException If no such assembly exists in the system, or if a transaction is open.
      */
     public void removeAssembly(String nameofAssembly) throws RuleBrokenException {
-        boolean isanAssembly = false;
-        List<TreeNode> listofAssembliesCopy = new ArrayList<>();
-        listofAssembliesCopy.addAll(system.getListofAssemblies());
-        Iterator<TreeNode> iterator = listofAssembliesCopy.iterator();
-        while (iterator.hasNext()) {
-            TreeNode assembly = iterator.next();
-            if (assembly.getNameofData().equals(nameofAssembly)) {
-                removeNormalAssembly(assembly);
-                isanAssembly = true;
-            }
-        }
-        if (isanAssembly) { // Normal assembly.
-            return;
-        } else if (system.getMapofTrees().containsKey(nameofAssembly)) { // Super assembly.
-            removeTree(system.getMapofTrees().get(nameofAssembly).getRootElement());
-        } else { // Not an assembly.
-            throw new RuleBrokenException("no BOM exists in the system for the specified name: " + nameofAssembly);
-        }
-    }
-
-    /**
-     * Helper remove method for a "super" assembly (an assembly that is the root of a tree).
-     * @param assembly The assembly.
-     */
-    private void removeTree(TreeNode assembly) {
-        for (TreeNode child : assembly.getChildren()) {
-            if (!child.isLeaf()) {
-                system.getListofAssemblies().remove(child);
-                Tree childTree = new Tree(child);
-                system.getMapofTrees().put(child.getNameofData(), childTree);
-            } else {
-                system.getListofParts().remove(child);
-            }
+        checkNoTransaction();
+        TreeNode assembly = system.getAssembly(nameofAssembly);
+        if (assembly == null) { // Not an assembly.
+            throwNotRemovable(nameofAssembly);
         }
-        Tree tree = system.getMapofTrees().get(assembly.getNameofData());
-        system.getMapofTrees().remove(assembly.getNameofData());
-        tree.deleteTree();
-    }
-
-    /**
-     * Helper remove method for a normal assembly (an assembly that is a part of a
-     * tree).
-     * @param assembly The assembly.
-     */
-    private void removeNormalAssembly(TreeNode assembly) {
-        for (TreeNode child : assembly.getChildren()) {
-            if (!child.isLeaf()) {
-                system.getListofAssemblies().remove(child);
-                child.getData().setAmount(1);
-                Tree childTree = new Tree(child);
-                system.getMapofTrees().put(child.getNameofData(), childTree);
-            } else {
-                system.getListofParts().remove(child);
-            }
+        cache.invalidate(assembly);
+        invalidateRollups(assembly);
+        List<TreeNode> changed = assembly.deleteChildren();
+        for (TreeNode child : changed) {
+            system.updateItem(child);
         }
-        system.getListofAssemblies().remove(assembly);
-        assembly.deleteChildren();
-        system.getListofParts().add(assembly);
+        system.updateItem(assembly);
+        changed.add(assembly);
+        publish(changed);
     }
 
     /**
@@ -203,26 +195,35 @@ public class NeedsAssessment {
      * @throws RuleBrokenException If no such assembly exists
      */
     public String printAssembly(String nameofAssembly) throws RuleBrokenException {
-        for (TreeNode part : system.getListofParts()) { // The item exists as component.
-            if (part.getNameofData().equals(nameofAssembly)) {
-                return "COMPONENT";
-            }
+        return toString(output -> printAssembly(nameofAssembly, output));
+    }
+
+    /**
+     * Method to write the children of a node to an output, without building the whole String first.
+     * @param nameofAssembly The name of the assembly we want to print.
+     * @param output The output the children are written to.
+     * @throws RuleBrokenException If no such assembly exists (nothing is written then).
+     * @throws IOException If the output cannot be written.
+     */
+    public void printAssembly(String nameofAssembly, Appendable output) throws RuleBrokenException, IOException {
+        if (frozenReads) {
+            getFrozenView().printAssembly(nameofAssembly, output);
+            return;
+        }
+        if (system.getPart(nameofAssembly) != null) { // The item exists as component.
+            output.append("COMPONENT");
+            return;
         }
         TreeNode assembly = system.getAssembly(nameofAssembly);
         if (assembly == null) {
             throwDoesntExist(nameofAssembly);
         }
-        List<TreeNode> children = assembly.getChildren();
         List<Item> childrenItems = new ArrayList<>();
-        for (TreeNode child : children) {
-            childrenItems.add(child.getData());
+        for (Edge edge : assembly.getChildren()) {
+            childrenItems.add(edge.toItem());
         }
         Collections.sort(childrenItems, new ItemComparator());
-        StringBuilder assemblyBuilder = new StringBuilder();
-        for (Item childItem : childrenItems) {
-            assemblyBuilder.append(childItem.toString()).append(StringList.SEMICOLON.toString());
-        }
-        return assemblyBuilder.toString().replaceAll(";$", "");
+        writeOutput(childrenItems, output);
     }
 
     /**
@@ -232,25 +233,30 @@ public class NeedsAssessment {
      * @throws RuleBrokenException If no assembly of that name exists.
      */
     public String getAssemblies(String nameofAssembly) throws RuleBrokenException {
+        return toString(output -> getAssemblies(nameofAssembly, output));
+    }
+
+    /**
+     * Writes all the assemblies of an assembly to an output, without building the whole String first.
+     * @param nameofAssembly The name of the assembly we want to get all others from.
+     * @param output The output the assemblies (or "EMPTY" if the assembly is only made up of parts) are written to.
+     * @throws RuleBrokenException If no assembly of that name exists (nothing is written then).
+     * @throws IOException If the output cannot be written.
+     */
+    public void getAssemblies(String nameofAssembly, Appendable output) throws RuleBrokenException, IOException {
+        if (frozenReads) {
+            getFrozenView().getAssemblies(nameofAssembly, output);
+            return;
+        }
         TreeNode node = system.getAssembly(nameofAssembly);
         if (node == null) {
             throwAssemblyDoesntExist(nameofAssembly);
         }
         if (node.areChildrenComponents()) { // All the children are components.
-            return "EMPTY";
-        }
-        List<TreeNode> listofAssemblies = new ArrayList<>();
-        for (TreeNode descendant : node.getDescendants()) {
-            if (!descendant.isLeaf()) {
-                listofAssemblies.add(descendant);
-            }
-        }
-        Collections.sort(listofAssemblies, new NodeComparator());
-        StringBuilder assemblies = new StringBuilder();
-        for (TreeNode assembly : listofAssemblies) {
-            assemblies.append(assembly.toString()).append(StringList.SEMICOLON.toString());
+            output.append("EMPTY");
+            return;
         }
-        return assemblies.toString().replaceAll(";$", "");
+        writeOutput(cache.get(node).getAssemblies(), output);
     }
 
     /**
@@ -260,22 +266,267 @@ public class NeedsAssessment {
      * @throws RuleBrokenException If no assembly of that name exists.
      */
     public String getComponents(String nameofAssembly) throws RuleBrokenException {
+        return toString(output -> getComponents(nameofAssembly, output));
+    }
+
+    /**
+     * Writes all the components of an assembly to an output, without building the whole String first.
+     * @param nameofAssembly The name of the assembly we want to get all the components from.
+     * @param output The output the components are written to.
+     * @throws RuleBrokenException If no assembly of that name exists (nothing is written then).
+     * @throws IOException If the output cannot be written.
+     */
+    public void getComponents(String nameofAssembly, Appendable output) throws RuleBrokenException, IOException {
+        if (frozenReads) {
+            getFrozenView().getComponents(nameofAssembly, output);
+            return;
+        }
+        TreeNode node = system.getAssembly(nameofAssembly);
+        if (node == null) {
+            throwAssemblyDoesntExist(nameofAssembly);
+        }
+        if (rollups != null && node.isRoot()) { // The totals of top-level assemblies are kept up to date.
+            rollups.write(node, 0, Integer.MAX_VALUE, output);
+            return;
+        }
+        writeOutput(cache.get(node).getComponents(), output);
+    }
+
+    /**
+     * Gets a page of the assemblies of an assembly, like getAssemblies.
+     * @param nameofAssembly The name of the assembly.
+     * @param offset The number of assemblies that are skipped.
+     * @param limit The maximum number of assemblies that are returned.
+     * @return String of the assemblies on the page or "EMPTY" if the assembly is only made up of parts.
+     * @throws RuleBrokenException If no assembly of that name exists.
+     */
+    public String getAssemblies(String nameofAssembly, int offset, int limit) throws RuleBrokenException {
+        return toString(output -> getAssemblies(nameofAssembly, offset, limit, output));
+    }
+
+    /**
+     * Writes a page of the assemblies of an assembly to an output, like getAssemblies. Only the assemblies up to
+     * the end of the page are selected (in O(n log k) time for k = offset + limit), unless the whole result is
+     * cached already.
+     * @param nameofAssembly The name of the assembly.
+     * @param offset The number of assemblies that are skipped.
+     * @param limit The maximum number of assemblies that are written.
+     * @param output The output the assemblies (or "EMPTY" if the assembly is only made up of parts) are written to.
+     * @throws RuleBrokenException If no assembly of that name exists (nothing is written then).
+     * @throws IOException If the output cannot be written.
+     */
+    public void getAssemblies(String nameofAssembly, int offset, int limit, Appendable output)
+            throws RuleBrokenException, IOException {
+        int end = getEndOfPage(offset, limit);
+        if (frozenReads) {
+            getFrozenView().getAssemblies(nameofAssembly, offset, limit, output);
+            return;
+        }
         TreeNode node = system.getAssembly(nameofAssembly);
         if (node == null) {
             throwAssemblyDoesntExist(nameofAssembly);
         }
-        List<TreeNode> listofComponents = new ArrayList<>();
-        for (TreeNode descendant : node.getDescendants()) {
-            if (descendant.isLeaf()) {
-                listofComponents.add(descendant);
+        if (node.areChildrenComponents()) { // All the children are components.
+            output.append("EMPTY");
+            return;
+        }
+        List<Item> first = cache.getFirst(node, false, end);
+        writeOutput(first.subList(Math.min(offset, first.size()), first.size()), output);
+    }
+
+    /**
+     * Gets a page of the components of an assembly, like getComponents.
+     * @param nameofAssembly The name of the assembly.
+     * @param offset The number of components that are skipped.
+     * @param limit The maximum number of components that are returned.
+     * @return String of the components on the page.
+     * @throws RuleBrokenException If no assembly of that name exists.
+     */
+    public String getComponents(String nameofAssembly, int offset, int limit) throws RuleBrokenException {
+        return toString(output -> getComponents(nameofAssembly, offset, limit, output));
+    }
+
+    /**
+     * Writes a page of the components of an assembly to an output, like getComponents. Only the components up to
+     * the end of the page are selected (in O(n log k) time for k = offset + limit), unless the whole result is
+     * cached already.
+     * @param nameofAssembly The name of the assembly.
+     * @param offset The number of components that are skipped.
+     * @param limit The maximum number of components that are written.
+     * @param output The output the components are written to.
+     * @throws RuleBrokenException If no assembly of that name exists (nothing is written then).
+     * @throws IOException If the output cannot be written.
+     */
+    public void getComponents(String nameofAssembly, int offset, int limit, Appendable output)
+            throws RuleBrokenException, IOException {
+        int end = getEndOfPage(offset, limit);
+        if (frozenReads) {
+            getFrozenView().getComponents(nameofAssembly, offset, limit, output);
+            return;
+        }
+        TreeNode node = system.getAssembly(nameofAssembly);
+        if (node == null) {
+            throwAssemblyDoesntExist(nameofAssembly);
+        }
+        if (rollups != null && node.isRoot()) {
+            rollups.write(node, offset, end, output);
+            return;
+        }
+        List<Item> first = cache.getFirst(node, true, end);
+        writeOutput(first.subList(Math.min(offset, first.size()), first.size()), output);
+    }
+
+    /**
+     * Gets the assemblies that use an item directly, with how many of the item each of them contains.
+     * @param name The name of the item (an assembly or a component).
+     * @return String of the parents or "EMPTY" if the item isn't used in any assembly.
+     * @throws RuleBrokenException If no item of that name exists.
+     */
+    public String getWhereUsed(String name) throws RuleBrokenException {
+        return toString(output -> getWhereUsed(name, output));
+    }
+
+    /**
+     * Writes the assemblies that use an item directly to an output, like getWhereUsed.
+     * @param name The name of the item (an assembly or a component).
+     * @param output The output the parents (or "EMPTY" if the item isn't used in any assembly) are written to.
+     * @throws RuleBrokenException If no item of that name exists (nothing is written then).
+     * @throws IOException If the output cannot be written.
+     */
+    public void getWhereUsed(String name, Appendable output) throws RuleBrokenException, IOException {
+        TreeNode node = getUsedItem(name, output);
+        if (node != null) {
+            writeOutput(Implosion.whereUsed(node), output);
+        }
+    }
+
+    /**
+     * Gets all assemblies that use an item, directly or through subassemblies, with how many of the item each of
+     * them contains in total.
+     * @param name The name of the item (an assembly or a component).
+     * @return String of the ancestors or "EMPTY" if the item isn't used in any assembly.
+     * @throws RuleBrokenException If no item of that name exists.
+     */
+    public String getImplosion(String name) throws RuleBrokenException {
+        return toString(output -> getImplosion(name, output));
+    }
+
+    /**
+     * Writes all assemblies that use an item to an output, like getImplosion. Only the ancestors of the item are
+     * visited, so the cost depends on the size of the result and not on the size of the system.
+     * @param name The name of the item (an assembly or a component).
+     * @param output The output the ancestors (or "EMPTY" if the item isn't used in any assembly) are written to.
+     * @throws RuleBrokenException If no item of that name exists (nothing is written then).
+     * @throws IOException If the output cannot be written.
+     */
+    public void getImplosion(String name, Appendable output) throws RuleBrokenException, IOException {
+        TreeNode node = getUsedItem(name, output);
+        if (node != null) {
+            writeOutput(Implosion.implode(node), output);
+        }
+    }
+
+    /**
+     * Helper method to get an item whose users are queried. The parent edges of the items are always up to date,
+     * so these queries don't use the frozen view.
+     * @param name The name of the item.
+     * @param output The output "EMPTY" is written to if the item isn't used in any assembly.
+     * @return The item, or null if it isn't used in any assembly.
+     * @throws RuleBrokenException If no item of that name exists.
+     * @throws IOException If the output cannot be written.
+     */
+    private TreeNode getUsedItem(String name, Appendable output) throws RuleBrokenException, IOException {
+        TreeNode node = system.getItem(name);
+        if (node == null) {
+            throwDoesntExist(name);
+        }
+        if (node.isRoot()) {
+            output.append("EMPTY");
+            return null;
+        }
+        return node;
+    }
+
+    /**
+     * Helper method to get the end of a page.
+     * @param offset The number of items that are skipped.
+     * @param limit The maximum number of items on the page.
+     * @return The number of items up to the end of the page.
+     * @throws IllegalArgumentException If the offset is negative or the limit isn't positive.
+     */
+    static int getEndOfPage(int offset, int limit) {
+        if (offset < 0 || limit <= 0) {
+            throw new IllegalArgumentException("a page needs an offset of at least 0 and a limit of at least 1.");
+        }
+        return (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Helper method to create the output of a list of items.
+     * @param items The items in the order they should be printed.
+     * @return The items separated by semicolons.
+     */
+    static String createOutput(List<Item> items) {
+        StringBuilder output = new StringBuilder();
+        try {
+            writeOutput(items, output);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception); // A StringBuilder is never closed.
+        }
+        return output.toString();
+    }
+
+    /**
+     * Helper method to write a list of items to an output, separated by semicolons.
+     * @param items The items in the order they should be printed.
+     * @param output The output.
+     * @throws IOException If the output cannot be written.
+     */
+    static void writeOutput(List<Item> items, Appendable output) throws IOException {
+        for (int index = 0; index < items.size(); index++) {
+            if (index > 0) {
+                output.append(StringList.SEMICOLON.toString());
             }
+            writeItem(items.get(index).getName(), items.get(index).getAmount(), output);
         }
-        Collections.sort(listofComponents, new NodeComparator());
-        StringBuilder components = new StringBuilder();
-        for (TreeNode assembly : listofComponents) {
-            components.append(assembly.toString()).append(StringList.SEMICOLON.toString());
+    }
+
+    /**
+     * Helper method to write a single item to an output, like Item#toString.
+     * @param name The name of the item.
+     * @param amount The amount of the item.
+     * @param output The output.
+     * @throws IOException If the output cannot be written.
+     */
+    static void writeItem(String name, int amount, Appendable output) throws IOException {
+        output.append(name).append(StringList.COLON.toString());
+        if (amount < 0) { // Only possible if an amount wrapped around.
+            output.append(Integer.toString(amount));
+            return;
+        }
+        int divisor = 1;
+        while (divisor <= amount / DECIMAL_BASE) {
+            divisor *= DECIMAL_BASE;
+        }
+        for (; divisor > 0; divisor /= DECIMAL_BASE) { // The digits are appended one by one, so no String is created.
+            output.append((char) ('0' + amount / divisor % DECIMAL_BASE));
+        }
+    }
+
+    /**
+     * Helper method to run a query that writes its result to an output and get the result as a String.
+     * @param query The query.
+     * @return The result.
+     * @throws RuleBrokenException If the query breaks a rule.
+     */
+    static String toString(Query query) throws RuleBrokenException {
+        StringBuilder output = new StringBuilder();
+        try {
+            query.writeTo(output);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception); // A StringBuilder is never closed.
         }
-        return components.toString().replaceAll(";$", "");
+        return output.toString();
     }
 
     /**
@@ -283,76 +534,53 @@ public class NeedsAssessment {
      * @param nameofAssembly The name of the assembly to which an item is going to be added.
      * @param amount The amount of the item to be added.
      * @param name The name of the item to be added.
+     * If a transaction is open, the addition is only staged and checked when the transaction is committed.
      * @throws RuleBrokenException If no assembly exists, if the amount to be added is larger than the max, or
      * if the addition causes a cycle.
      */
     public void addPart(String nameofAssembly, int amount, String name) throws RuleBrokenException {
-        List<TreeNode> nodes = system.getAllAssembliesOfName(nameofAssembly);
-        if (nodes.isEmpty()) {
+        if (transaction != null) {
+            transaction.stage(nameofAssembly, amount, name);
+            return;
+        }
+        TreeNode assembly = system.getAssembly(nameofAssembly);
+        if (assembly == null) {
             throwAssemblyDoesntExist(nameofAssembly);
         }
-        boolean isAChild = false; // If the part to be added is already a child of the assembly.
-        int index = 0;
-     // All the instances of assembly have the same children, so it doesn't matter which one I check.
-        for (TreeNode child : nodes.get(FIRST_INDEX).getChildren()) { 
-            if (child.getNameofData().equals(name)) { 
-                isAChild = true;
-                index = nodes.get(FIRST_INDEX).getChildren().indexOf(child);
-                break;
-            }
-        }
-        if (isAChild) {
-            for (TreeNode node : nodes) {
-                int newAmount = node.getChildren().get(index).getAmountofData() + amount;
-                if (newAmount > SystemInitializer.getMaxAmount()) {
-                    throwAmount();
-                }
-                node.getChildren().get(index).getData().setAmount(newAmount);
+        Edge edge = assembly.getChild(name);
+        if (edge != null) { // The part to be added is already a child of the assembly.
+            int newAmount = edge.getAmount() + amount;
+            if (newAmount > SystemInitializer.getMaxAmount()) {
+                throwAmount();
             }
+            cache.invalidate(assembly);
+            edge.setAmount(newAmount);
+            updateRollups(edge, amount);
+            publish(Collections.singletonList(assembly));
         } else {
-            addPartThatIsntChild(name, amount, nodes);
+            addPartThatIsntChild(assembly, amount, name);
         }
     }
 
     /**
      * Helper method for addPart that is called when adding an item that isn't already a child
      * of the assembly.
-     * @param name The name of the item.
+     * @param assembly The assembly we want to add said item to.
      * @param amount The amount of the item.
-     * @param nodes All instances of the assembly we want to add said item to.
+     * @param name The name of the item.
      * @throws RuleBrokenException If a cycle would occurs because of said addition.
      */
-    private void addPartThatIsntChild(String name, int amount, List<TreeNode> nodes) throws RuleBrokenException {
-        TreeNode nodeToBeAdded = null;
-        boolean isATree = false;
-        boolean isAssembly = false;
-        if (system.getAssembly(name) != null) {
-            if (system.getMapofTrees().containsKey(name)) {
-                isATree = true;
-            } else {
-                isAssembly = true;
-            }
-            nodeToBeAdded = system.getAssembly(name);
-        } else if (system.getPart(name) != null) {
-            nodeToBeAdded = system.getPart(name);
+    private void addPartThatIsntChild(TreeNode assembly, int amount, String name) throws RuleBrokenException {
+        TreeNode nodeToBeAdded = system.getItem(name);
+        if (nodeToBeAdded != null) {
+            checkCycle(assembly, nodeToBeAdded);
         } else {
-            nodeToBeAdded = new TreeNode(new Item(amount, name));
-        }
-        checkAddPartCycles(nodes, new ArrayList<>(Arrays.asList(nodeToBeAdded)));
-        for (TreeNode node : nodes) {
-            TreeNode actualNode = nodeToBeAdded.getCopy();
-            actualNode.getData().setAmount(amount);
-            node.addChild(actualNode);
-            if (isATree) {
-                system.getMapofTrees().get(nodeToBeAdded.getNameofData()).deleteTree();
-                system.getMapofTrees().remove(nodeToBeAdded.getNameofData());
-                system.getListofAssemblies().add(actualNode);
-            } else if (isAssembly) {
-                system.getListofAssemblies().add(actualNode);
-            } else {
-                system.getListofParts().add(actualNode);
-            }
+            nodeToBeAdded = getOrCreateNode(name);
         }
+        cache.invalidate(assembly);
+        updateRollups(assembly.addChild(nodeToBeAdded, amount), amount);
+        system.updateItem(nodeToBeAdded);
+        publish(Arrays.asList(assembly, nodeToBeAdded));
     }
 
     /**
@@ -360,125 +588,547 @@ public class NeedsAssessment {
      * @param nameofAssembly The name of the assembly.
      * @param amount The amount to be removed.
      * @param name The name of the item to be removed.
-     * @throws RuleBrokenException If no assembly of nameofAssembly exists, if no item exists of said name, 
-     * if the child doesn't exists in said amount or if the item isn't a child of the assembly.
+     * @throws RuleBrokenException If no assembly of nameofAssembly exists, if the child doesn't exist in said
+     * amount or if the item isn't a child of the assembly.
      */
     public void removePart(String nameofAssembly, int amount, String name) throws RuleBrokenException {
-        boolean isATree = system.getMapofTrees().containsKey(nameofAssembly);
-        List<TreeNode> nodes = system.getAllAssembliesOfName(nameofAssembly);
-        if (nodes.isEmpty()) {
+        if (transaction != null) { // Checked when the transaction is committed.
+            transaction.stage(nameofAssembly, -amount, name);
+            return;
+        }
+        TreeNode assembly = system.getAssembly(nameofAssembly);
+        if (assembly == null) {
             throwAssemblyDoesntExist(nameofAssembly);
         }
-        TreeNode child = null;
-        if (system.getAssembly(name) == null) {
-            for (TreeNode part : system.getListofParts()) {
-                if (part.getNameofData().equals(name) && part.getParent().getNameofData().equals(nameofAssembly)) {
-                    child = part;
-                    break;
-                }
+        Edge edge = assembly.getChild(name);
+        if (edge == null) {
+            throwDoesntContain(nameofAssembly, name);
+        }
+        if (edge.getAmount() < amount) {
+            throwDoesntContain(nameofAssembly, name, amount);
+        }
+        cache.invalidate(assembly);
+        if (edge.getAmount() - amount == VANISHING_AMOUNT) {
+            boolean lastChild = assembly.getChildren().size() == 1;
+            if (lastChild) { // The assembly becomes a component (or vanishes).
+                invalidateRollups(assembly);
+            }
+            assembly.removeChild(name);
+            if (!lastChild) {
+                updateRollups(edge, -amount);
             }
+            system.updateItem(edge.getChild());
+            // An empty assembly becomes a component, or vanishes if it was a "super" assembly.
+            system.updateItem(assembly);
+            publish(Arrays.asList(assembly, edge.getChild()));
+        } else {
+            edge.setAmount(edge.getAmount() - amount);
+            updateRollups(edge, -amount);
+            publish(Collections.singletonList(assembly));
         }
-        if (child == null) {
-            throwDoesntContain(nameofAssembly, name);
+    }
+
+    /**
+     * Opens a transaction. Until it is committed or rolled back, addPart and removePart are only staged, and
+     * addAssembly and removeAssembly cannot be used. Queries see the system without the staged edits.
+     * @throws RuleBrokenException If a transaction is already open.
+     */
+    public void begin() throws RuleBrokenException {
+        if (transaction != null) {
+            throw new RuleBrokenException("a transaction is already open.");
         }
-        removePartExecutor(nodes, isATree, amount, name, nameofAssembly);
+        transaction = new Transaction();
     }
-    
+
     /**
-     * Helper method that executes the removePart command. Split from the main method for better readability.
-     * @param nodes All instances of the assembly node.
-     * @param isATree true if the assembly is a tree, otherwise false.
-     * @param amount The amount to be deducted.
-     * @param name The name of the child to be deducted.
-     * @param nameofAssembly The name of the assembly.
-     * @throws RuleBrokenException If the parent doesn't contain the child in the specified amount or at all.
-     */
-    private void removePartExecutor(List<TreeNode> nodes, boolean isATree, int amount, String name
-            , String nameofAssembly) throws RuleBrokenException {
-        int index = getIndexOfRemoved(nodes, name, amount, nameofAssembly);
-        for (TreeNode node : nodes) { 
-            TreeNode tobeRemoved = node.getChildren().get(index);
-            if (tobeRemoved.getAmountofData() - amount == VANISHING_AMOUNT) {
-                if (tobeRemoved.isLeaf()) {
-                    system.getListofParts().remove(tobeRemoved);
-                } else {
-                    system.getListofAssemblies().remove(tobeRemoved);
+     * Commits the open transaction. The staged edits are checked together (every amount against the maximum once
+     * and all new edges for cycles in a single search) and then applied at once, with a single pass to invalidate
+     * the cached results. If any check fails, nothing is applied. The transaction is closed either way.
+     * @throws RuleBrokenException If no transaction is open or if the staged edits break a rule.
+     */
+    public void commit() throws RuleBrokenException {
+        Transaction committed = getTransaction();
+        transaction = null;
+        if (committed.isEmpty()) {
+            return;
+        }
+        Map<TreeNode, Map<String, Integer>> resolved = committed.resolve(system);
+        cache.invalidate(resolved.keySet());
+        for (TreeNode assembly : resolved.keySet()) {
+            invalidateRollups(assembly);
+        }
+        Set<TreeNode> changed = new LinkedHashSet<>(resolved.keySet());
+        for (Map.Entry<TreeNode, Map<String, Integer>> entry : resolved.entrySet()) {
+            // All edges are removed first, so that the edges that exist while others are added never form a cycle.
+            for (Map.Entry<String, Integer> edge : entry.getValue().entrySet()) {
+                if (edge.getValue() == VANISHING_AMOUNT && entry.getKey().getChild(edge.getKey()) != null) {
+                    changed.add(entry.getKey().removeChild(edge.getKey()).getChild());
                 }
-                node.getChildren().remove(index);
-                if (node.getChildren().isEmpty()) {
-                    if (isATree) {
-                        Tree tree = system.getMapofTrees().get(nameofAssembly);
-                        system.getMapofTrees().remove(nameofAssembly);
-                        tree.deleteTree();
-                        return; // There is only one instance of a tree, which is why there is not point in iterating.
-                    } else {
-                        system.getListofAssemblies().remove(node);
-                        system.getListofParts().add(node);
-                    }
+            }
+        }
+        for (Map.Entry<TreeNode, Map<String, Integer>> entry : resolved.entrySet()) {
+            TreeNode assembly = entry.getKey();
+            for (Map.Entry<String, Integer> child : entry.getValue().entrySet()) {
+                if (child.getValue() == VANISHING_AMOUNT) {
+                    continue;
+                }
+                Edge edge = assembly.getChild(child.getKey());
+                if (edge != null) {
+                    edge.setAmount(child.getValue());
+                    continue;
                 }
-            } else {
-                tobeRemoved.getData().setAmount(tobeRemoved.getAmountofData() - amount);
+                TreeNode childNode = system.getItem(child.getKey());
+                if (childNode != null) {
+                    checkCycle(assembly, childNode); // Can't fail any more, but keeps the order up to date.
+                } else {
+                    childNode = getOrCreateNode(child.getKey());
+                }
+                assembly.addChild(childNode, child.getValue());
+                system.updateItem(childNode);
+                changed.add(childNode);
             }
         }
+        for (TreeNode node : changed) {
+            system.updateItem(node);
+        }
+        publish(changed);
     }
-    
-    /**
-     * Helper method to get the index of the node to be removed in the children array list of the parent node.
-     * @param nodes List of all instances of the parent node.
-     * @param name The name of the node to be removed/deducted.
-     * @param amount The amount to be deducted.
-     * @param nameofAssembly The name of the parent node/assembly.
-     * @return The index.
-     * @throws RuleBrokenException If the parent doesn't contain the child in the specified amount or at all.
-     */
-    private int getIndexOfRemoved(List<TreeNode> nodes, String name, int amount, String nameofAssembly) 
-            throws RuleBrokenException {
-        int index = 0;
-        for (TreeNode kid : nodes.get(FIRST_INDEX).getChildren()) {
-            if (kid.getNameofData().equals(name)) {
-                if (kid.getAmountofData() >= amount) {
-                    index = nodes.get(FIRST_INDEX).getChildren().indexOf(kid);
-                    break;
-                } else {
-                    throw new RuleBrokenException(
-                            nameofAssembly + " doesn't contain " + name + " in the specified amount: " + amount + ".");
+
+    /**
+     * Discards the open transaction with all its staged edits.
+     * @throws RuleBrokenException If no transaction is open.
+     */
+    public void rollback() throws RuleBrokenException {
+        getTransaction();
+        transaction = null;
+    }
+
+    /**
+     * Method to check whether a transaction is open.
+     * @return true if a transaction is open, otherwise false.
+     */
+    public boolean isInTransaction() {
+        return transaction != null;
+    }
+
+    /**
+     * Getter method for the edits staged in the open transaction.
+     * @return The edits in the format of the commitEdits command, or an empty String if nothing is staged.
+     * @throws RuleBrokenException If no transaction is open.
+     */
+    public String getStagedEdits() throws RuleBrokenException {
+        return getTransaction().toString();
+    }
+
+    /**
+     * Helper method to get the open transaction.
+     * @return The transaction.
+     * @throws RuleBrokenException If no transaction is open.
+     */
+    private Transaction getTransaction() throws RuleBrokenException {
+        if (transaction == null) {
+            throw new RuleBrokenException("no transaction is open.");
+        }
+        return transaction;
+    }
+
+    /**
+     * Helper method to check that no transaction is open.
+     * @throws RuleBrokenException If a transaction is open.
+     */
+    private void checkNoTransaction() throws RuleBrokenException {
+        if (transaction != null) {
+            throw new RuleBrokenException("only addPart and removePart can be used in a transaction.");
+        }
+    }
+
+    /**
+     * Helper method to propagate the change of the amount of an edge to the maintained totals, if they are kept.
+     * @param edge The edge.
+     * @param delta The amount by which the amount of the edge changed.
+     */
+    private void updateRollups(Edge edge, int delta) {
+        if (rollups != null) {
+            rollups.update(edge.getParent(), edge.getChild(), delta);
+        }
+    }
+
+    /**
+     * Helper method to drop the maintained totals that depend on an item, if they are kept.
+     * @param node The item that is going to change.
+     */
+    private void invalidateRollups(TreeNode node) {
+        if (rollups != null) {
+            rollups.invalidate(node);
+        }
+    }
+
+    /**
+     * Counts a change and publishes the next snapshot if snapshots are published.
+     * @param changed The nodes that changed.
+     */
+    private void publish(Iterable<TreeNode> changed) {
+        publish(changed, false);
+    }
+
+    /**
+     * Counts a change and publishes the next snapshot if snapshots are published. The snapshot before the change
+     * is kept in the history, if there is one.
+     * @param changed The nodes that changed.
+     * @param replaced Whether all items were replaced (the changed nodes are all items then).
+     */
+    private void publish(Iterable<TreeNode> changed, boolean replaced) {
+        version++;
+        if (snapshot != null) {
+            BomSnapshot previous = snapshot.get();
+            snapshot.set((replaced ? BomSnapshot.EMPTY : previous).update(system, changed));
+            if (history != null) {
+                history.record(previous);
+            }
+        }
+    }
+
+    /**
+     * Getter method for the latest published snapshot. It can be read from any thread without locking.
+     * @return The snapshot of the system after the last completed change.
+     * @throws IllegalStateException If the system doesn't publish snapshots.
+     */
+    public BomSnapshot getSnapshot() {
+        if (snapshot == null) {
+            throw new IllegalStateException("this system doesn't publish snapshots.");
+        }
+        return snapshot.get();
+    }
+
+    /**
+     * Setter method for keeping a history of the snapshots, so that changes can be undone and redone, and
+     * snapshots can be taken under a name, queried and restored later. Every change keeps the snapshot before it,
+     * which only costs the records of the items that changed.
+     * @param capacity The maximum number of changes that can be undone (0 to keep no history).
+     * @throws IllegalStateException If the system doesn't publish snapshots.
+     */
+    public void setHistoryCapacity(int capacity) {
+        getSnapshot();
+        history = (capacity > 0) ? new History(capacity) : null;
+    }
+
+    /**
+     * Undoes the last change (or the last redo or restored snapshot).
+     * @throws RuleBrokenException If no history is kept, if there is nothing to undo or if a transaction is open.
+     */
+    public void undo() throws RuleBrokenException {
+        checkNoTransaction();
+        BomSnapshot previous = getHistory().undo(snapshot.get());
+        if (previous == null) {
+            throw new RuleBrokenException("there is nothing to undo.");
+        }
+        checkout(previous);
+    }
+
+    /**
+     * Redoes the last change that was undone, as long as nothing was changed since.
+     * @throws RuleBrokenException If no history is kept, if there is nothing to redo or if a transaction is open.
+     */
+    public void redo() throws RuleBrokenException {
+        checkNoTransaction();
+        BomSnapshot next = getHistory().redo(snapshot.get());
+        if (next == null) {
+            throw new RuleBrokenException("there is nothing to redo.");
+        }
+        checkout(next);
+    }
+
+    /**
+     * Takes a snapshot of the system under a name, which only keeps a reference to the current snapshot. A
+     * snapshot that was taken under the same name before is replaced.
+     * @param name The name of the snapshot.
+     * @throws RuleBrokenException If no history is kept.
+     */
+    public void takeSnapshot(String name) throws RuleBrokenException {
+        getHistory().put(name, snapshot.get());
+    }
+
+    /**
+     * Getter method for a snapshot that was taken under a name, which can be queried like the system at the time.
+     * @param name The name of the snapshot.
+     * @return The snapshot.
+     * @throws RuleBrokenException If no history is kept or if no snapshot of that name exists.
+     */
+    public BomSnapshot getSnapshot(String name) throws RuleBrokenException {
+        BomSnapshot named = getHistory().get(name);
+        if (named == null) {
+            throw new RuleBrokenException("no snapshot exists for the specified name: " + name + ".");
+        }
+        return named;
+    }
+
+    /**
+     * Restores the system to a snapshot that was taken under a name. Only the items that differ from the snapshot
+     * are changed, and the restore can be undone like any other change.
+     * @param name The name of the snapshot.
+     * @throws RuleBrokenException If no history is kept, if no snapshot of that name exists or if a transaction is
+     * open.
+     */
+    public void restoreSnapshot(String name) throws RuleBrokenException {
+        checkNoTransaction();
+        BomSnapshot target = getSnapshot(name);
+        BomSnapshot previous = snapshot.get();
+        checkout(target);
+        history.record(previous);
+    }
+
+    /**
+     * Helper method to get the history.
+     * @return The history.
+     * @throws RuleBrokenException If no history is kept.
+     */
+    private History getHistory() throws RuleBrokenException {
+        if (history == null) {
+            throw new RuleBrokenException("no history is kept.");
+        }
+        return history;
+    }
+
+    /**
+     * Helper method to change the system to the state of a snapshot. Only the items whose records differ from the
+     * current snapshot are touched: first all of their edges that the snapshot doesn't contain are removed, then
+     * the missing edges are added and the amounts are set, so the edges never form a cycle on the way (like in
+     * {@link #commit()}). The snapshot becomes the current one without being published again.
+     * @param target The snapshot.
+     * @throws RuleBrokenException Never, since the snapshot contains no cycle.
+     */
+    private void checkout(BomSnapshot target) throws RuleBrokenException {
+        Map<String, ItemRecord> differences = snapshot.get().diff(target);
+        List<TreeNode> touched = new ArrayList<>(differences.size());
+        for (String name : differences.keySet()) {
+            TreeNode node = system.getItem(name);
+            if (node != null) {
+                touched.add(node);
+                invalidateRollups(node);
+            }
+        }
+        cache.invalidate(touched);
+        Set<TreeNode> changed = new LinkedHashSet<>(touched);
+        for (TreeNode node : touched) {
+            ItemRecord record = differences.get(node.getName());
+            Map<String, Integer> amounts = (record == null) ? Collections.emptyMap() : toMap(record);
+            List<String> removed = new ArrayList<>();
+            for (Edge edge : node.getChildren()) {
+                if (!amounts.containsKey(edge.getChild().getName())) {
+                    removed.add(edge.getChild().getName());
                 }
-            } else {
-                throwDoesntContain(nameofAssembly, name);
             }
+            for (String child : removed) {
+                changed.add(node.removeChild(child).getChild());
+            }
+        }
+        for (ItemRecord record : differences.values()) {
+            if (record == null || record.isLeaf()) { // Components are created by the assemblies that contain them.
+                continue;
+            }
+            TreeNode assembly = getOrCreateNode(record.getName());
+            for (int index = 0; index < record.size(); index++) {
+                Edge edge = assembly.getChild(record.getChildName(index));
+                if (edge != null) {
+                    edge.setAmount(record.getAmount(index));
+                    continue;
+                }
+                TreeNode childNode = getOrCreateNode(record.getChildName(index));
+                checkCycle(assembly, childNode); // Can't fail, but keeps the order up to date.
+                assembly.addChild(childNode, record.getAmount(index));
+                system.updateItem(childNode);
+                changed.add(childNode);
+            }
+            system.updateItem(assembly);
+            changed.add(assembly);
+        }
+        for (TreeNode node : changed) {
+            system.updateItem(node);
+        }
+        version++;
+        snapshot.set(target);
+    }
+
+    /**
+     * Helper method to get the children of a record.
+     * @param record The record.
+     * @return The amounts of the children, keyed by their names.
+     */
+    private static Map<String, Integer> toMap(ItemRecord record) {
+        Map<String, Integer> amounts = new HashMap<>(record.size() * 2);
+        for (int index = 0; index < record.size(); index++) {
+            amounts.put(record.getChildName(index), record.getAmount(index));
+        }
+        return amounts;
+    }
+
+    /**
+     * Getter method for a frozen view of all items, which is only rebuilt if the system changed since the last
+     * view was built. The view can be queried by any number of threads, but doesn't see later changes.
+     * @return The frozen view of the current items.
+     */
+    public FrozenBom getFrozenView() {
+        if (frozen == null || frozen.getVersion() != version) {
+            frozen = new FrozenBom(getItemsInOrder(), version, system.getNames());
+        }
+        return frozen;
+    }
+
+    /**
+     * Setter method for answering printAssembly, getAssemblies and getComponents with the frozen view, which
+     * pays off when far more queries than changes are made.
+     * @param frozenReads Whether the queries are answered by the frozen view.
+     */
+    public void setFrozenReads(boolean frozenReads) {
+        this.frozenReads = frozenReads;
+        if (!frozenReads) {
+            frozen = null;
+        }
+    }
+
+    /**
+     * Setter method for keeping the totals of the components of top-level assemblies up to date, so that
+     * getComponents on them doesn't explode them again after every change. This pays off when changes to single
+     * edges (addPart and removePart) are mixed with many queries.
+     * @param maintained Whether the totals are kept.
+     */
+    public void setMaintainedRollups(boolean maintained) {
+        if (!maintained) {
+            rollups = null;
+        } else if (rollups == null) {
+            rollups = new RollupTotals();
         }
-        return index;
     }
 
     /**
-     * Helper method to check for cycles for the addPart method.
-     * @param nodes List of all instances of the assembly to which the children will be added.
-     * @param children The children to be added.
-     * @throws RuleBrokenException If a cycle occurs because of the addition.
+     * Getter method for the maintained totals.
+     * @return The totals of the components of top-level assemblies, or null if they aren't kept.
      */
-    private void checkAddPartCycles(List<TreeNode> nodes, List<TreeNode> children) throws RuleBrokenException {
+    public RollupTotals getRollups() {
+        return rollups;
+    }
+
+    /**
+     * Getter method for the number of changes so far.
+     * @return The version of the system, which changes with every change.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Replaces the (empty) system with restored items, for example from a snapshot.
+     * @param nodes All items with their edges already added, every parent before all of its children.
+     * @throws IllegalStateException If the system already contains items.
+     */
+    void restore(TreeNode[] nodes) {
+        if (!system.getItems().isEmpty()) {
+            throw new IllegalStateException("items can only be restored into an empty system.");
+        }
+        load(nodes);
+        publish(Arrays.asList(nodes));
+    }
+
+    /**
+     * Replaces all items of the system at once, for example with the result of an import. With a history the
+     * import can be undone.
+     * @param nodes All items with their edges already added (with ids from the symbol table of the system), every
+     *              parent before all of its children.
+     */
+    void install(TreeNode[] nodes) {
+        system = new SystemInitializer(system.getNames());
+        order = new TopologicalOrder();
+        load(nodes);
+        publish(Arrays.asList(nodes), true);
+    }
+
+    /**
+     * Helper method to file restored items in the (empty) system.
+     * @param nodes All items with their edges already added, every parent before all of its children.
+     */
+    private void load(TreeNode[] nodes) {
+        order.restore(nodes);
         for (TreeNode node : nodes) {
-            String errorMsg = Tree.checkForCycles(node, children);
-            if (!errorMsg.isEmpty()) {
-                throwCycle(errorMsg);
-            }
+            system.updateItem(node);
+        }
+        cache.clear();
+        if (rollups != null) {
+            rollups.clear();
+        }
+    }
+
+    /**
+     * Moves all items of another system into this one, for example when an edge joins two systems.
+     * @param other The other system. It must not share any items with this one and must not be used afterwards.
+     * @return The items that were moved.
+     */
+    List<TreeNode> absorb(NeedsAssessment other) {
+        List<TreeNode> nodes = other.getItemsInOrder();
+        for (TreeNode node : nodes) { // Parents come first, so the nodes keep their relative order.
+            order.addLeaf(node);
+            system.updateItem(node);
         }
+        publish(nodes);
+        return nodes;
+    }
+
+    /**
+     * Getter method for all items in topological order.
+     * @return All items, every parent before all of its children.
+     */
+    List<TreeNode> getItemsInOrder() {
+        List<TreeNode> items = new ArrayList<>(system.getItems());
+        items.sort(Comparator.comparingInt(TreeNode::getOrder));
+        return items;
+    }
+
+    /**
+     * Setter method for the parallel explosion of large assemblies, which is used by getAssemblies and
+     * getComponents.
+     * @param parallelExplosion The parallel explosion, or null to explode all assemblies sequentially.
+     */
+    public void setParallelExplosion(ParallelExplosion parallelExplosion) {
+        cache.setParallelExplosion(parallelExplosion);
     }
-    
+
     /** @return The system. */
     public SystemInitializer getSystem() {
         return system;
     }
-    
+
+    /** @return The cache of exploded assemblies (for its hit and miss counters). */
+    public ExplosionCache getCache() {
+        return cache;
+    }
+
+    /**
+     * A query that writes its result to an output.
+     */
+    @FunctionalInterface
+    interface Query {
+
+        /**
+         * Runs the query.
+         * @param output The output the result is written to.
+         * @throws RuleBrokenException If the query breaks a rule.
+         * @throws IOException If the output cannot be written.
+         */
+        void writeTo(Appendable output) throws RuleBrokenException, IOException;
+    }
+
     private void throwAssemblyExists() throws RuleBrokenException {
         throw new RuleBrokenException(StringList.ASSEMBLY_ALREADY_EXISTS.toString());
     }
 
-    private void throwAssemblyDoesntExist(String name) throws RuleBrokenException {
+    static void throwAssemblyDoesntExist(String name) throws RuleBrokenException {
         throw new RuleBrokenException("no BOM exists in the system for the specified name: " + name + ".");
     }
 
-    private void throwDoesntExist(String name) throws RuleBrokenException {
+    static void throwNotRemovable(String name) throws RuleBrokenException {
+        throw new RuleBrokenException("no BOM exists in the system for the specified name: " + name);
+    }
+
+    static void throwDoesntExist(String name) throws RuleBrokenException {
         throw new RuleBrokenException("no BOM or component exists in the system for the specified name: " + name + ".");
     }
 
@@ -486,11 +1136,16 @@ public class NeedsAssessment {
         throw new RuleBrokenException(StringList.CYCLE_ERROR_MSG.toString() + msg);
     }
 
-    private void throwAmount() throws RuleBrokenException {
+    static void throwAmount() throws RuleBrokenException {
         throw new RuleBrokenException("the amount of a part/assembly cannot exceed 1000.");
     }
-    
-    private void throwDoesntContain(String nameofAssembly, String name) throws RuleBrokenException {
+
+    static void throwDoesntContain(String nameofAssembly, String name) throws RuleBrokenException {
         throw new RuleBrokenException(nameofAssembly + " doesn't contain " + name + ".");
     }
-}
\ No newline at end of file
+
+    static void throwDoesntContain(String nameofAssembly, String name, int amount) throws RuleBrokenException {
+        throw new RuleBrokenException(
+                nameofAssembly + " doesn't contain " + name + " in the specified amount: " + amount + ".");
+    }
+}
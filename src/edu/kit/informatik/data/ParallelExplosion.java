@@ -0,0 +1,283 @@
+package edu.kit.informatik.data;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+import edu.kit.informatik.util.IntHashSet;
+
+/**
+ * Explodes large assemblies on all threads of a fork/join pool. Assemblies with at most a threshold of edges are
+ * exploded by Explosion on the calling thread.
+ *
+ * The explosion runs in two parallel passes. The first one finds all descendants and counts, for every
+ * descendant, the edges that lead to it from inside the assembly. The second one pushes the amounts down like
+ * Explosion does: a subassembly is expanded as soon as all of its parents inside the assembly have added their
+ * amounts, so every subassembly is expanded exactly once, however often it is shared. In both passes a task
+ * works through its subassemblies depth first and hands half of them to a new task whenever the pool has idle
+ * threads.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public final class ParallelExplosion {
+
+    /** The pool the explosions run on. */
+    private final ForkJoinPool pool;
+
+    /** The number of edges up to which an assembly is exploded sequentially. */
+    private final int threshold;
+
+    /**
+     * Constructor for a parallel explosion.
+     * @param pool The pool the explosions run on.
+     * @param threshold The number of edges up to which an assembly is exploded sequentially.
+     */
+    public ParallelExplosion(ForkJoinPool pool, int threshold) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("the threshold cannot be negative.");
+        }
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Method to explode an assembly, like Explosion#explode.
+     * @param root The assembly to be exploded.
+     * @return The descendants of the assembly mapped to how many of them it contains in total.
+     */
+    public Map<TreeNode, Integer> explode(TreeNode root) {
+        if (!hasMoreEdges(root, threshold)) {
+            return Explosion.explode(root);
+        }
+        ConcurrentHashMap<TreeNode, Descendant> descendants = new ConcurrentHashMap<>();
+        Descendant start = new Descendant();
+        descendants.put(root, start);
+        pool.invoke(new Discovery(root, descendants));
+        start.amount = 1;
+        pool.invoke(new Propagation(root, descendants));
+        Map<TreeNode, Integer> amounts = new HashMap<>(descendants.size() * 2);
+        for (Map.Entry<TreeNode, Descendant> descendant : descendants.entrySet()) {
+            // The amounts wrap around like the int arithmetic of Explosion.
+            amounts.put(descendant.getKey(), (int) descendant.getValue().amount);
+        }
+        amounts.remove(root);
+        return amounts;
+    }
+
+    /**
+     * Getter method for the threshold.
+     * @return The number of edges up to which an assembly is exploded sequentially.
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Checks whether an assembly has more edges (counting every shared subassembly once) than a limit. Only
+     * about limit edges are visited.
+     * @param root The assembly.
+     * @param limit The limit.
+     * @return true if the assembly has more edges than the limit, otherwise false.
+     */
+    static boolean hasMoreEdges(TreeNode root, int limit) {
+        int edges = 0;
+        IntHashSet visited = new IntHashSet();
+        Deque<TreeNode> nodes = new ArrayDeque<>();
+        visited.add(root.getId());
+        nodes.push(root);
+        while (!nodes.isEmpty()) {
+            for (Edge edge : nodes.pop().getChildren()) {
+                if (++edges > limit) {
+                    return true;
+                }
+                if (visited.add(edge.getChild().getId())) {
+                    nodes.push(edge.getChild());
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The state of a descendant during an explosion.
+     */
+    private static final class Descendant {
+
+        /** Updates the number of parents that haven't added their amount yet. */
+        private static final AtomicIntegerFieldUpdater<Descendant> PENDING
+                = AtomicIntegerFieldUpdater.newUpdater(Descendant.class, "pending");
+
+        /** Updates the amount. */
+        private static final AtomicLongFieldUpdater<Descendant> AMOUNT
+                = AtomicLongFieldUpdater.newUpdater(Descendant.class, "amount");
+
+        /** The number of edges from inside the assembly whose amount hasn't been added yet. */
+        private volatile int pending;
+
+        /** How many of the descendant the assembly contains (so far). */
+        private volatile long amount;
+    }
+
+    /**
+     * A task that works through subassemblies depth first and splits off half of them to another task whenever
+     * the pool has idle threads.
+     */
+    private abstract static class SplittingTask extends RecursiveAction {
+
+        private static final long serialVersionUID = -2839263811420245571L;
+
+        /** The number of tasks that may be queued before no more work is split off. */
+        private static final int SURPLUS = 2;
+
+        /** The descendants of the assembly that is exploded. */
+        final transient ConcurrentHashMap<TreeNode, Descendant> descendants;
+
+        /** The subassemblies this task still has to work through. */
+        private final transient Deque<TreeNode> nodes = new ArrayDeque<>();
+
+        /**
+         * @param nodes The subassemblies this task starts with.
+         * @param descendants The descendants of the assembly that is exploded.
+         */
+        SplittingTask(Iterable<TreeNode> nodes, ConcurrentHashMap<TreeNode, Descendant> descendants) {
+            this.descendants = descendants;
+            for (TreeNode node : nodes) {
+                this.nodes.push(node);
+            }
+        }
+
+        @Override
+        protected void compute() {
+            List<SplittingTask> forked = new ArrayList<>();
+            while (!nodes.isEmpty()) {
+                if (nodes.size() > 1 && getSurplusQueuedTaskCount() < SURPLUS) {
+                    List<TreeNode> half = new ArrayList<>();
+                    for (int index = nodes.size() / 2; index > 0; index--) {
+                        half.add(nodes.removeLast());
+                    }
+                    SplittingTask task = create(half);
+                    task.fork();
+                    forked.add(task);
+                }
+                visit(nodes.pop(), nodes);
+            }
+            for (SplittingTask task : forked) {
+                task.join();
+            }
+        }
+
+        /**
+         * Works on a single subassembly.
+         * @param node The subassembly.
+         * @param next The subassemblies that are worked through next, to which further ones can be added.
+         */
+        abstract void visit(TreeNode node, Deque<TreeNode> next);
+
+        /**
+         * Creates a task of the same kind.
+         * @param start The subassemblies the new task starts with.
+         * @return The task.
+         */
+        abstract SplittingTask create(List<TreeNode> start);
+    }
+
+    /**
+     * Finds all descendants and counts the edges that lead to them.
+     */
+    private static final class Discovery extends SplittingTask {
+
+        private static final long serialVersionUID = 5207797434590963532L;
+
+        /**
+         * @param root The assembly that is exploded.
+         * @param descendants The descendants, which only contain the assembly itself at the start.
+         */
+        Discovery(TreeNode root, ConcurrentHashMap<TreeNode, Descendant> descendants) {
+            this(Collections.singletonList(root), descendants);
+        }
+
+        /**
+         * @param start The subassemblies the task starts with.
+         * @param descendants The descendants.
+         */
+        private Discovery(List<TreeNode> start, ConcurrentHashMap<TreeNode, Descendant> descendants) {
+            super(start, descendants);
+        }
+
+        @Override
+        void visit(TreeNode node, Deque<TreeNode> next) {
+            for (Edge edge : node.getChildren()) {
+                TreeNode child = edge.getChild();
+                Descendant descendant = descendants.get(child);
+                if (descendant == null) {
+                    Descendant created = new Descendant();
+                    descendant = descendants.putIfAbsent(child, created);
+                    if (descendant == null) { // This task found the child first.
+                        descendant = created;
+                        if (!child.isLeaf()) {
+                            next.push(child);
+                        }
+                    }
+                }
+                Descendant.PENDING.incrementAndGet(descendant);
+            }
+        }
+
+        @Override
+        SplittingTask create(List<TreeNode> start) {
+            return new Discovery(start, descendants);
+        }
+    }
+
+    /**
+     * Pushes the amounts down the edges, expanding every subassembly once all of its parents are done.
+     */
+    private static final class Propagation extends SplittingTask {
+
+        private static final long serialVersionUID = -4713050694021361658L;
+
+        /**
+         * @param root The assembly that is exploded, with an amount of one.
+         * @param descendants The descendants that were found.
+         */
+        Propagation(TreeNode root, ConcurrentHashMap<TreeNode, Descendant> descendants) {
+            this(Collections.singletonList(root), descendants);
+        }
+
+        /**
+         * @param start The subassemblies the task starts with.
+         * @param descendants The descendants.
+         */
+        private Propagation(List<TreeNode> start, ConcurrentHashMap<TreeNode, Descendant> descendants) {
+            super(start, descendants);
+        }
+
+        @Override
+        void visit(TreeNode node, Deque<TreeNode> next) {
+            long multiplier = descendants.get(node).amount;
+            for (Edge edge : node.getChildren()) {
+                Descendant descendant = descendants.get(edge.getChild());
+                Descendant.AMOUNT.addAndGet(descendant, multiplier * edge.getAmount());
+                if (Descendant.PENDING.decrementAndGet(descendant) == 0 && !edge.getChild().isLeaf()) {
+                    next.push(edge.getChild()); // All parents are done, so its amount is final.
+                }
+            }
+        }
+
+        @Override
+        SplittingTask create(List<TreeNode> start) {
+            return new Propagation(start, descendants);
+        }
+    }
+}
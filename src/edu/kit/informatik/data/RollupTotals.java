@@ -0,0 +1,195 @@
+package edu.kit.informatik.data;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+
+import edu.kit.informatik.util.IntHashSet;
+import edu.kit.informatik.util.IntObjectHashMap;
+import edu.kit.informatik.util.StringList;
+
+/**
+ * Keeps the total amounts of the components of top-level assemblies up to date, so that getComponents on them
+ * only has to write out a result that is already sorted.
+ *
+ * The totals of an assembly are built by exploding it the first time they are needed. When addPart or
+ * removePart changes the amount of an edge by a delta, every assembly with totals that contains the parent of
+ * the edge m times in total gets delta * m times the components of the child of the edge added, so only the
+ * ancestors of the parent and the descendants of the child are visited. Changes that turn an assembly into a
+ * component or back (addAssembly, removeAssembly and removing the last child) drop the totals of the item and its
+ * ancestors instead, which are then built again on the next query.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public class RollupTotals {
+
+    /** The totals of the assemblies, keyed by the ids of the assemblies. */
+    private final IntObjectHashMap<Rollup> rollups = new IntObjectHashMap<>();
+
+    /**
+     * Writes the components of an assembly on a page to an output, building its totals first if necessary.
+     * @param assembly The assembly.
+     * @param start The index of the first component that is written.
+     * @param end The index after the last component that is written.
+     * @param output The output the components are written to.
+     * @throws IOException If the output cannot be written.
+     */
+    void write(TreeNode assembly, int start, int end, Appendable output) throws IOException {
+        Rollup rollup = rollups.get(assembly.getId());
+        if (rollup == null) {
+            rollup = new Rollup(assembly);
+            List<TreeNode> order = Explosion.topologicalOrder(assembly);
+            int[] amounts = Explosion.amounts(order);
+            for (int index = 1; index < order.size(); index++) {
+                if (order.get(index).isLeaf()) {
+                    rollup.add(order.get(index), amounts[index], null);
+                }
+            }
+            rollups.put(assembly.getId(), rollup);
+        }
+        Iterator<Item> iterator = rollup.sorted.iterator();
+        for (int index = 0; index < end && iterator.hasNext(); index++) {
+            Item item = iterator.next();
+            if (index > start) {
+                output.append(StringList.SEMICOLON.toString());
+            }
+            if (index >= start) {
+                NeedsAssessment.writeItem(item.getName(), item.getAmount(), output);
+            }
+        }
+    }
+
+    /**
+     * Propagates the change of the amount of an edge (or the addition or removal of an edge) to the totals of all
+     * assemblies that contain the parent of the edge. It has to be called after the edge was changed, and the parent
+     * has to stay an assembly, otherwise {@link #invalidate(TreeNode)} has to be called instead. Only if the edge was
+     * removed and an assembly doesn't contain the child any more can its totals lose components; the items it still
+     * contains are then collected once for the whole update.
+     * @param parent The parent of the edge.
+     * @param child The child of the edge.
+     * @param delta The amount by which the amount of the edge changed (negative if it decreased).
+     */
+    void update(TreeNode parent, TreeNode child, int delta) {
+        if (rollups.isEmpty()) {
+            return;
+        }
+        List<TreeNode> ancestors = Implosion.bottomUpOrder(parent);
+        int[] multipliers = Implosion.amounts(ancestors);
+        List<TreeNode> descendants = null;
+        int[] amounts = null;
+        IntHashSet containingChild = null;
+        for (int ancestor = 0; ancestor < ancestors.size(); ancestor++) {
+            Rollup rollup = rollups.get(ancestors.get(ancestor).getId());
+            if (rollup == null) {
+                continue;
+            }
+            if (descendants == null) { // Only exploded if there are totals to update.
+                descendants = Explosion.topologicalOrder(child);
+                amounts = Explosion.amounts(descendants);
+                if (parent.getChild(child.getName()) == null) { // Components can only vanish if the edge did.
+                    containingChild = idsOf(Implosion.bottomUpOrder(child));
+                }
+            }
+            // An assembly that still contains the child still contains all its components as well.
+            IntHashSet remaining = (containingChild == null || containingChild.contains(rollup.assembly.getId()))
+                    ? null : idsOf(Explosion.topologicalOrder(rollup.assembly));
+            for (int index = 0; index < descendants.size(); index++) {
+                if (descendants.get(index).isLeaf()) {
+                    rollup.add(descendants.get(index), delta * multipliers[ancestor] * amounts[index], remaining);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops the totals of an item and all assemblies that contain it. It has to be called before the edges of the
+     * item are changed.
+     * @param node The item that is going to change.
+     */
+    void invalidate(TreeNode node) {
+        if (rollups.isEmpty()) {
+            return;
+        }
+        for (TreeNode ancestor : Implosion.bottomUpOrder(node)) {
+            rollups.remove(ancestor.getId());
+        }
+    }
+
+    /**
+     * Drops all totals.
+     */
+    void clear() {
+        rollups.clear();
+    }
+
+    /**
+     * Getter method for the number of assemblies whose totals are kept.
+     * @return The number of assemblies.
+     */
+    public int size() {
+        return rollups.size();
+    }
+
+    /**
+     * Helper method to collect the ids of nodes.
+     * @param nodes The nodes.
+     * @return The ids.
+     */
+    private static IntHashSet idsOf(List<TreeNode> nodes) {
+        IntHashSet ids = new IntHashSet(nodes.size());
+        for (TreeNode node : nodes) {
+            ids.add(node.getId());
+        }
+        return ids;
+    }
+
+    /**
+     * The totals of the components of one assembly.
+     */
+    private static final class Rollup {
+
+        /** The assembly. */
+        private final TreeNode assembly;
+
+        /** The components with their totals, keyed by the ids of the components. */
+        private final IntObjectHashMap<Item> items = new IntObjectHashMap<>();
+
+        /** The same components, sorted like the output of getComponents. */
+        private final TreeSet<Item> sorted = new TreeSet<>(new AmountComparator());
+
+        /**
+         * Constructor for the totals of an assembly.
+         * @param assembly The assembly.
+         */
+        Rollup(TreeNode assembly) {
+            this.assembly = assembly;
+        }
+
+        /**
+         * Adds to the total of a component. A component whose total drops to 0 is removed if the assembly doesn't
+         * contain it any more (a total that only wrapped around to 0 is kept, like in a fresh explosion).
+         * @param component The component.
+         * @param delta The amount that is added.
+         * @param remaining The ids of the items the assembly still contains, or null if the change didn't remove
+         *                  any of them.
+         */
+        void add(TreeNode component, int delta, IntHashSet remaining) {
+            Item item = items.get(component.getId());
+            if (item == null) {
+                item = new Item(0, component.getName());
+                items.put(component.getId(), item);
+            } else {
+                sorted.remove(item); // The item has to be removed before its position in the set changes.
+            }
+            item.setAmount(item.getAmount() + delta);
+            if (item.getAmount() == 0 && remaining != null && !remaining.contains(component.getId())) {
+                items.remove(component.getId());
+            } else {
+                sorted.add(item);
+            }
+        }
+    }
+}
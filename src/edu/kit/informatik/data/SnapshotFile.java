@@ -0,0 +1,265 @@
+package edu.kit.informatik.data;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import edu.kit.informatik.util.SymbolTable;
+
+/**
+ * Saves the whole system into a compact binary snapshot and loads it again.
+ *
+ * The snapshot contains a table with the names of all items in topological order (every assembly before all of
+ * its children) followed by the edges of every item. Every number is stored as a variable-length integer, and
+ * children are stored relative to their parent, so most edges take two or three bytes. The snapshot is loaded
+ * through a memory-mapped file, and apart from the nodes, their names and their edges no objects are created.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public final class SnapshotFile {
+
+    /** The first bytes of every snapshot ("BOMS"). */
+    private static final int MAGIC = 0x424F4D53;
+
+    /** The version of the format. */
+    private static final byte VERSION = 1;
+
+    /** The bits of a byte of a variable-length integer that hold the value. */
+    private static final int VALUE_BITS = 0x7F;
+
+    /** The bit of a byte of a variable-length integer that marks that more bytes follow. */
+    private static final int CONTINUATION_BIT = 0x80;
+
+    /** The number of value bits in a byte of a variable-length integer. */
+    private static final int BITS_PER_BYTE = 7;
+
+    /** The largest shift of a variable-length integer (an int needs at most five bytes). */
+    private static final int MAX_SHIFT = 28;
+
+    /** The size of the output buffer. */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /** Utility class, so it cannot be instantiated. */
+    private SnapshotFile() {
+    }
+
+    /**
+     * Saves a snapshot of the system. The snapshot is written to a temporary file first and then moved over the
+     * file, so an existing snapshot is never left half-written.
+     * @param factory The system to be saved.
+     * @param file The file the snapshot is saved to.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    public static void save(NeedsAssessment factory, Path file) throws IOException {
+        save(toByteArray(factory), file);
+    }
+
+    /**
+     * Creates a snapshot of the system in memory, so that it can be saved later (for example by another thread)
+     * while the system keeps changing.
+     * @param factory The system.
+     * @return The snapshot.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    public static byte[] toByteArray(NeedsAssessment factory) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(BUFFER_SIZE);
+        write(factory.getItemsInOrder(), out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Saves a snapshot that was created in memory. It is written to a temporary file and forced to the disk
+     * first, then moved over the file, so an existing snapshot is never left half-written.
+     * @param snapshot The snapshot.
+     * @param file The file the snapshot is saved to.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    public static void save(byte[] snapshot, Path file) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(snapshot);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Writes a snapshot of items.
+     * @param items All items, every parent before all of its children.
+     * @param out The stream the snapshot is written to.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    static void write(List<TreeNode> items, OutputStream out) throws IOException {
+        Map<TreeNode, Integer> indices = new HashMap<>(items.size() * 2);
+        for (int index = 0; index < items.size(); index++) {
+            indices.put(items.get(index), index);
+        }
+        ByteBuffer header = ByteBuffer.allocate(Integer.BYTES + 1).putInt(MAGIC).put(VERSION);
+        out.write(header.array());
+        writeVarint(out, items.size());
+        for (TreeNode item : items) {
+            byte[] name = item.getName().getBytes(StandardCharsets.US_ASCII);
+            writeVarint(out, name.length);
+            out.write(name);
+        }
+        for (int index = 0; index < items.size(); index++) {
+            writeVarint(out, items.get(index).getChildren().size());
+            for (Edge edge : items.get(index).getChildren()) {
+                writeVarint(out, indices.get(edge.getChild()) - index);
+                writeVarint(out, edge.getAmount());
+            }
+        }
+    }
+
+    /**
+     * Loads a snapshot into an empty system.
+     * @param file The file of the snapshot.
+     * @param factory The empty system into which the snapshot is loaded.
+     * @throws IOException If the snapshot cannot be read or is corrupt.
+     * @throws IllegalStateException If the system isn't empty.
+     */
+    public static void load(Path file, NeedsAssessment factory) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            factory.restore(read(buffer, factory.getSystem().getNames()));
+        } catch (BufferUnderflowException exception) {
+            throw new IOException("the snapshot " + file + " is truncated.", exception);
+        }
+    }
+
+    /**
+     * Reads the items of a snapshot. The whole snapshot is checked before the first name is added to the symbol
+     * table, so a corrupt snapshot leaves no ids behind.
+     * @param buffer The snapshot.
+     * @param names The symbol table of the system the items are loaded into.
+     * @return All items with their edges, every parent before all of its children.
+     * @throws IOException If the snapshot is corrupt.
+     */
+    static TreeNode[] read(ByteBuffer buffer, SymbolTable names) throws IOException {
+        if (buffer.getInt() != MAGIC || buffer.get() != VERSION) {
+            throw new IOException("not a BOM snapshot of version " + VERSION + ".");
+        }
+        int numberofItems = readVarint(buffer);
+        if (numberofItems < 0 || numberofItems > buffer.remaining()) { // Every item takes at least one byte.
+            throw new IOException("invalid number of items in snapshot: " + numberofItems);
+        }
+        String[] itemNames = readNames(buffer, numberofItems);
+        int edges = buffer.position();
+        for (int index = 0; index < numberofItems; index++) {
+            int numberofChildren = readVarint(buffer);
+            for (int child = 0; child < numberofChildren; child++) {
+                int childIndex = index + readVarint(buffer);
+                int amount = readVarint(buffer);
+                if (childIndex <= index || childIndex >= numberofItems || amount < 1
+                        || amount > SystemInitializer.getMaxAmount()) {
+                    throw new IOException("invalid edge in snapshot: " + itemNames[index]);
+                }
+            }
+        }
+        TreeNode[] nodes = new TreeNode[numberofItems];
+        for (int index = 0; index < nodes.length; index++) {
+            nodes[index] = new TreeNode(itemNames[index], names);
+        }
+        buffer.position(edges);
+        for (int index = 0; index < nodes.length; index++) {
+            int numberofChildren = readVarint(buffer);
+            for (int child = 0; child < numberofChildren; child++) {
+                int childIndex = index + readVarint(buffer);
+                nodes[index].addChild(nodes[childIndex], readVarint(buffer));
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * Reads the table of names of a snapshot.
+     * @param buffer The snapshot, positioned at the first name.
+     * @param numberofItems The number of names.
+     * @return The names.
+     * @throws IOException If a name is empty, too long, not made of letters or occurs twice.
+     */
+    private static String[] readNames(ByteBuffer buffer, int numberofItems) throws IOException {
+        String[] itemNames = new String[numberofItems];
+        Set<String> seen = new HashSet<>(numberofItems * 2);
+        byte[] name = new byte[BUFFER_SIZE];
+        for (int index = 0; index < numberofItems; index++) {
+            int length = readVarint(buffer);
+            if (length < 1 || length > name.length) {
+                throw new IOException("invalid name length in snapshot: " + length);
+            }
+            buffer.get(name, 0, length);
+            for (int character = 0; character < length; character++) {
+                if (!isLetter(name[character])) {
+                    throw new IOException("invalid name in snapshot at index " + index + ".");
+                }
+            }
+            itemNames[index] = new String(name, 0, length, StandardCharsets.US_ASCII);
+            if (!seen.add(itemNames[index])) {
+                throw new IOException("duplicate name in snapshot: " + itemNames[index]);
+            }
+        }
+        return itemNames;
+    }
+
+    /**
+     * Checks whether a byte of a name is a letter, like the names that commands accept.
+     * @param character The byte.
+     * @return true if it is an ASCII letter, otherwise false.
+     */
+    private static boolean isLetter(byte character) {
+        return (character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z');
+    }
+
+    /**
+     * Writes an unsigned variable-length integer (seven bits per byte, least significant bits first).
+     * @param out The stream.
+     * @param value The value (not negative).
+     * @throws IOException If the value cannot be written.
+     */
+    static void writeVarint(OutputStream out, int value) throws IOException {
+        int rest = value;
+        while ((rest & ~VALUE_BITS) != 0) {
+            out.write((rest & VALUE_BITS) | CONTINUATION_BIT);
+            rest >>>= BITS_PER_BYTE;
+        }
+        out.write(rest);
+    }
+
+    /**
+     * Reads an unsigned variable-length integer.
+     * @param buffer The buffer.
+     * @return The value.
+     * @throws IOException If the integer is too long.
+     */
+    static int readVarint(ByteBuffer buffer) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift <= MAX_SHIFT; shift += BITS_PER_BYTE) {
+            int current = buffer.get();
+            value |= (current & VALUE_BITS) << shift;
+            if ((current & CONTINUATION_BIT) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("invalid number in snapshot.");
+    }
+}
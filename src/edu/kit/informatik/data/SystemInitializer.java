@@ -1,10 +1,12 @@
 package edu.kit.informatik.data;
 
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
+import edu.kit.informatik.util.SymbolTable;
+
 /**
  * Class that represents the system (storage of all parts/assemblies).
  * 
@@ -17,25 +19,42 @@ public class SystemInitializer {
     /** Maximum amount of a part or an assembly. */
     private static final int MAX_AMOUNT = 1000;
     
-    /** List of assemblies that are a part of a tree. */
-    private List<TreeNode> listofAssemblies;
+    /** Assemblies that are a part of a tree, keyed by their names. */
+    private Map<String, TreeNode> mapofAssemblies;
+
+    /** Keeps track of all parts, keyed by their names. */
+    private Map<String, TreeNode> mapofParts;
+
+    /** Index of every item that exists in the system (trees, assemblies and parts), keyed by their names. */
+    private Map<String, TreeNode> mapofItems;
 
-    /** Keeps track of all parts. */
-    private List<TreeNode> listofParts;
-    
     /**
      * A list of all trees (assemblies that are not a part of anything). Keys are
      * the roots of the trees.
      */
     private Map<String, Tree> mapofTrees;
-    
+
+    /** The ids of the names of the items. */
+    private final SymbolTable names;
+
     /**
      * Constructor for the system initializer.
      */
     public SystemInitializer() {
+        this(new SymbolTable());
+    }
+
+    /**
+     * Constructor for a system initializer whose items get their ids from a given symbol table, for example one
+     * that is shared with other systems whose items may be moved into this one.
+     * @param names The symbol table.
+     */
+    SystemInitializer(SymbolTable names) {
+        this.names = names;
         this.mapofTrees = new HashMap<>();
-        this.listofAssemblies = new ArrayList<>();
-        this.listofParts = new ArrayList<>();
+        this.mapofAssemblies = new HashMap<>();
+        this.mapofParts = new HashMap<>();
+        this.mapofItems = new HashMap<>();
     }
 
     /**
@@ -46,43 +65,31 @@ public class SystemInitializer {
     }
 
     /**
-     * @return the listofAssemblies
+     * @return the assemblies that are a part of a tree
      */
-    public List<TreeNode> getListofAssemblies() {
-        return listofAssemblies;
+    public Collection<TreeNode> getAssemblies() {
+        return Collections.unmodifiableCollection(mapofAssemblies.values());
     }
 
     /**
-     * @return the listofParts
+     * @return the parts
      */
-    public List<TreeNode> getListofParts() {
-        return listofParts;
+    public Collection<TreeNode> getParts() {
+        return Collections.unmodifiableCollection(mapofParts.values());
     }
 
     /**
-     * @return The maximum amount allowed for an item.
+     * @return The symbol table the ids of the items come from.
      */
-    public static int getMaxAmount() {
-        return MAX_AMOUNT;
+    SymbolTable getNames() {
+        return names;
     }
-    
+
     /**
-     * Method to get all assemblies of a certain name in the system.
-     * @param nameofAssembly The name of the assembly.
-     * @return A list of all instances of said assembly.
+     * @return The maximum amount allowed for an item.
      */
-    List<TreeNode> getAllAssembliesOfName(String nameofAssembly) {
-        List<TreeNode> nodes = new ArrayList<>();
-        if (mapofTrees.containsKey(nameofAssembly)) {
-            nodes.add(mapofTrees.get(nameofAssembly).getRootElement());
-        } else {
-            for (TreeNode node : listofAssemblies) {
-                if (node.getNameofData().equals(nameofAssembly)) {
-                    nodes.add(node);
-                }
-            }
-        }
-        return nodes;
+    public static int getMaxAmount() {
+        return MAX_AMOUNT;
     }
     
     /**
@@ -91,15 +98,11 @@ public class SystemInitializer {
      * @return The assembly if found, otherwise null.
      */
     public TreeNode getAssembly(String nameofNode) {
-        if (mapofTrees.containsKey(nameofNode)) {
-            return mapofTrees.get(nameofNode).getRootElement();
+        Tree tree = mapofTrees.get(nameofNode);
+        if (tree != null) {
+            return tree.getRootElement();
         }
-        for (TreeNode assembly : listofAssemblies) {
-            if (assembly.getNameofData().equals(nameofNode)) {
-                return assembly;
-            }
-        }
-        return null;
+        return mapofAssemblies.get(nameofNode);
     }
 
     /**
@@ -108,11 +111,56 @@ public class SystemInitializer {
      * @return The part if found, otherwise null.
      */
     TreeNode getPart(String nameofPart) {
-        for (TreeNode part : listofParts) {
-            if (part.getNameofData().equals(nameofPart)) {
-                return part;
+        return mapofParts.get(nameofPart);
+    }
+
+    /**
+     * Method to get an item of a certain name from the system, regardless of it being an assembly or a part.
+     * @param nameofItem The name of said item.
+     * @return The item if found, otherwise null.
+     */
+    TreeNode getItem(String nameofItem) {
+        return mapofItems.get(nameofItem);
+    }
+
+    /**
+     * Getter method for all items in the system.
+     * @return All trees, assemblies and parts.
+     */
+    Collection<TreeNode> getItems() {
+        return Collections.unmodifiableCollection(mapofItems.values());
+    }
+
+    /**
+     * Method to file a node under the right category after its edges changed.
+     *
+     * An assembly that isn't used anywhere is a tree, an assembly that is used somewhere is a normal assembly
+     * and a leaf that is used somewhere is a part. A leaf that isn't used anywhere doesn't exist anymore.
+     * @param node The node whose edges changed.
+     */
+    void updateItem(TreeNode node) {
+        String name = node.getName();
+        mapofAssemblies.remove(name);
+        mapofParts.remove(name);
+        if (!node.isLeaf() && node.isRoot()) {
+            if (!mapofTrees.containsKey(name)) {
+                mapofTrees.put(name, new Tree(node));
             }
+            mapofItems.put(name, node);
+            return;
+        }
+        Tree tree = mapofTrees.remove(name);
+        if (tree != null) {
+            tree.deleteTree();
+        }
+        if (!node.isLeaf()) {
+            mapofAssemblies.put(name, node);
+            mapofItems.put(name, node);
+        } else if (!node.isRoot()) {
+            mapofParts.put(name, node);
+            mapofItems.put(name, node);
+        } else {
+            mapofItems.remove(name);
         }
-        return null;
     }
 }
@@ -0,0 +1,164 @@
+package edu.kit.informatik.data;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+
+import edu.kit.informatik.util.IntHashSet;
+import edu.kit.informatik.util.IntObjectHashMap;
+
+/**
+ * Maintains a topological order of all items (every assembly comes before all of its children) that is used to
+ * detect cycles incrementally.
+ *
+ * An edge from a parent to a child that already comes after the parent can never close a cycle. Otherwise only
+ * the nodes whose position lies between the child and the parent have to be searched, and only those are
+ * reordered if the edge is allowed (the algorithm of Pearce and Kelly).
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public class TopologicalOrder {
+
+    /** Compares nodes by their position in the order. */
+    private static final Comparator<TreeNode> BY_ORDER = Comparator.comparingInt(TreeNode::getOrder);
+
+    /** The position that is given to the next new item that isn't used anywhere (before all others). */
+    private int nextRootPosition = -1;
+
+    /** The position that is given to the next new item that has no children (after all others). */
+    private int nextLeafPosition;
+
+    /**
+     * Places a new item that has no parents before all other items.
+     * @param node The new item.
+     */
+    void addRoot(TreeNode node) {
+        node.setOrder(nextRootPosition--);
+    }
+
+    /**
+     * Places a new item that has no children after all other items.
+     * @param node The new item.
+     */
+    void addLeaf(TreeNode node) {
+        node.setOrder(nextLeafPosition++);
+    }
+
+    /**
+     * Replaces the order with the order of restored items.
+     * @param nodes All items, every parent before all of its children.
+     */
+    void restore(TreeNode[] nodes) {
+        for (int index = 0; index < nodes.length; index++) {
+            nodes[index].setOrder(index);
+        }
+        nextRootPosition = -1;
+        nextLeafPosition = nodes.length;
+    }
+
+    /**
+     * Method to check whether an edge from a parent to a child would cause a cycle. If it doesn't, the order is
+     * updated so that the edge can be added afterwards.
+     * @param parent The assembly to which the child is going to be added.
+     * @param child The child.
+     * @return Custom error message if a cycle would occur, otherwise empty string.
+     */
+    String checkEdge(TreeNode parent, TreeNode child) {
+        if (parent.equals(child)) {
+            return child.getName() + "-" + child.getName();
+        }
+        int upperBound = parent.getOrder();
+        int lowerBound = child.getOrder();
+        if (lowerBound > upperBound) {
+            return "";
+        }
+        IntObjectHashMap<TreeNode> predecessors = new IntObjectHashMap<>();
+        List<TreeNode> forward = new ArrayList<>();
+        Deque<TreeNode> nodes = new ArrayDeque<>();
+        predecessors.put(child.getId(), null);
+        nodes.push(child);
+        while (!nodes.isEmpty()) {
+            TreeNode node = nodes.pop();
+            forward.add(node);
+            for (Edge edge : node.getChildren()) {
+                TreeNode next = edge.getChild();
+                if (next.equals(parent)) {
+                    return createErrorMessage(predecessors, node, parent, child);
+                }
+                if (next.getOrder() < upperBound && !predecessors.containsKey(next.getId())) {
+                    predecessors.put(next.getId(), node);
+                    nodes.push(next);
+                }
+            }
+        }
+        List<TreeNode> backward = new ArrayList<>();
+        IntHashSet visited = new IntHashSet();
+        visited.add(parent.getId());
+        nodes.push(parent);
+        while (!nodes.isEmpty()) {
+            TreeNode node = nodes.pop();
+            backward.add(node);
+            for (Edge edge : node.getParents()) {
+                TreeNode previous = edge.getParent();
+                if (previous.getOrder() > lowerBound && visited.add(previous.getId())) {
+                    nodes.push(previous);
+                }
+            }
+        }
+        reorder(backward, forward);
+        return "";
+    }
+
+    /**
+     * Moves the ancestors of the parent in front of the descendants of the child, reusing the positions the nodes
+     * already had.
+     * @param backward The parent and its ancestors that lie between the child and the parent.
+     * @param forward The child and its descendants that lie between the child and the parent.
+     */
+    private void reorder(List<TreeNode> backward, List<TreeNode> forward) {
+        backward.sort(BY_ORDER);
+        forward.sort(BY_ORDER);
+        int[] positions = new int[backward.size() + forward.size()];
+        int index = 0;
+        for (TreeNode node : backward) {
+            positions[index++] = node.getOrder();
+        }
+        for (TreeNode node : forward) {
+            positions[index++] = node.getOrder();
+        }
+        Arrays.sort(positions);
+        index = 0;
+        for (TreeNode node : backward) {
+            node.setOrder(positions[index++]);
+        }
+        for (TreeNode node : forward) {
+            node.setOrder(positions[index++]);
+        }
+    }
+
+    /**
+     * Method to create a custom message in case a cycle is formed.
+     * @param predecessors The node from which every searched node was reached, keyed by the id of the node.
+     * @param last The last node on the path from the child before the parent.
+     * @param parent The assembly to which the child was going to be added.
+     * @param child The child that would cause a cycle.
+     * @return The path from the child down to the assembly and back to the child.
+     */
+    private static String createErrorMessage(IntObjectHashMap<TreeNode> predecessors, TreeNode last,
+            TreeNode parent, TreeNode child) {
+        List<String> path = new ArrayList<>();
+        for (TreeNode node = last; node != null; node = predecessors.get(node.getId())) {
+            path.add(node.getName());
+        }
+        StringBuilder errorMsg = new StringBuilder();
+        for (int index = path.size() - 1; index >= 0; index--) {
+            errorMsg.append(path.get(index)).append("-");
+        }
+        return errorMsg.append(parent.getName()).append("-").append(child.getName()).toString();
+    }
+}
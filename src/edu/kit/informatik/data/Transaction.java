@@ -0,0 +1,223 @@
+package edu.kit.informatik.data;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.kit.informatik.exceptions.RuleBrokenException;
+import edu.kit.informatik.util.IntIntHashMap;
+import edu.kit.informatik.util.StringList;
+
+/**
+ * The addPart and removePart edits of a transaction, which are only staged until the transaction is committed.
+ *
+ * Staging an edit costs nothing but a list entry. At commit the edits are replayed in order on the amounts of the
+ * edges they touch, without changing any node, which checks that every assembly exists and contains what is
+ * removed from it. Then the resulting amounts are checked against the maximum once, and all edges that are new
+ * are checked for cycles together in a single depth-first search. Only if all of that passes are the changes
+ * applied, so a transaction is either applied completely or not at all.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+final class Transaction {
+
+    /** The state of an item that is on the current path of the search for cycles. */
+    private static final int ON_PATH = 1;
+
+    /** The state of an item whose descendants were all searched for cycles. */
+    private static final int FINISHED = 2;
+
+    /** The names of the assemblies of the staged edits. */
+    private final List<String> assemblies = new ArrayList<>();
+
+    /** The names of the items of the staged edits. */
+    private final List<String> items = new ArrayList<>();
+
+    /** The amounts of the staged edits, negative for removePart. */
+    private final List<Integer> deltas = new ArrayList<>();
+
+    /**
+     * Stages an edit.
+     * @param nameofAssembly The name of the assembly.
+     * @param delta The amount that is added to the item (negative if it is removed).
+     * @param name The name of the item.
+     */
+    void stage(String nameofAssembly, int delta, String name) {
+        assemblies.add(nameofAssembly);
+        deltas.add(delta);
+        items.add(name);
+    }
+
+    /**
+     * Method to check whether edits are staged.
+     * @return true if no edit is staged, otherwise false.
+     */
+    boolean isEmpty() {
+        return assemblies.isEmpty();
+    }
+
+    /**
+     * Replays the staged edits on the edges they touch and checks all rules.
+     * @param system The system the edits are applied to.
+     * @return The amounts of the touched edges after the edits (0 if the edge is removed), keyed by the names of
+     *         the children and grouped by the assemblies in the order in which they were first touched.
+     * @throws RuleBrokenException If an edit breaks a rule, an amount exceeds the maximum or an edge would cause
+     *         a cycle.
+     */
+    Map<TreeNode, Map<String, Integer>> resolve(SystemInitializer system) throws RuleBrokenException {
+        Map<TreeNode, Map<String, Integer>> resolved = new LinkedHashMap<>();
+        IntIntHashMap numberofChildren = new IntIntHashMap();
+        for (int index = 0; index < assemblies.size(); index++) {
+            String nameofAssembly = assemblies.get(index);
+            TreeNode assembly = system.getItem(nameofAssembly);
+            Map<String, Integer> edges = (assembly == null) ? null : resolved.get(assembly);
+            if (edges == null && assembly != null && !assembly.isLeaf()) {
+                edges = new LinkedHashMap<>();
+                resolved.put(assembly, edges);
+                numberofChildren.put(assembly.getId(), assembly.getChildren().size());
+            }
+            // An assembly whose last child was removed is a component now.
+            if (edges == null || numberofChildren.get(assembly.getId(), 0) == 0) {
+                NeedsAssessment.throwAssemblyDoesntExist(nameofAssembly);
+            }
+            String name = items.get(index);
+            int delta = deltas.get(index);
+            Integer amount = edges.get(name);
+            if (amount == null) {
+                Edge edge = assembly.getChild(name);
+                amount = (edge == null) ? 0 : edge.getAmount();
+            }
+            if (delta < 0 && amount == 0) {
+                NeedsAssessment.throwDoesntContain(nameofAssembly, name);
+            }
+            if (amount < -delta) {
+                NeedsAssessment.throwDoesntContain(nameofAssembly, name, -delta);
+            }
+            if (amount == 0 || amount == -delta) {
+                numberofChildren.addTo(assembly.getId(), (delta > 0) ? 1 : -1);
+            }
+            edges.put(name, amount + delta);
+        }
+        List<TreeNode> newChildren = new ArrayList<>();
+        for (Map.Entry<TreeNode, Map<String, Integer>> entry : resolved.entrySet()) {
+            for (Map.Entry<String, Integer> edge : entry.getValue().entrySet()) {
+                if (edge.getValue() > SystemInitializer.getMaxAmount()) {
+                    NeedsAssessment.throwAmount();
+                }
+                TreeNode child = system.getItem(edge.getKey());
+                if (edge.getValue() > 0 && child != null && entry.getKey().getChild(edge.getKey()) == null) {
+                    newChildren.add(child); // Only a new edge to an existing item can close a cycle.
+                }
+            }
+        }
+        checkCycles(newChildren, resolved, system);
+        return resolved;
+    }
+
+    /**
+     * Helper method to check that the edits don't cause a cycle. Every cycle after the edits contains a new edge,
+     * so it is found by a depth-first search from the children of the new edges that follows the edges after the
+     * edits.
+     * @param newChildren The existing items that get a new parent.
+     * @param resolved The children of every touched assembly after the edits.
+     * @param system The system.
+     * @throws RuleBrokenException If the edits cause a cycle.
+     */
+    private static void checkCycles(List<TreeNode> newChildren, Map<TreeNode, Map<String, Integer>> resolved,
+            SystemInitializer system) throws RuleBrokenException {
+        IntIntHashMap states = new IntIntHashMap();
+        List<TreeNode> path = new ArrayList<>();
+        List<Iterator<TreeNode>> iterators = new ArrayList<>();
+        for (TreeNode start : newChildren) {
+            if (states.get(start.getId(), 0) == FINISHED) {
+                continue;
+            }
+            states.put(start.getId(), ON_PATH);
+            path.add(start);
+            iterators.add(getChildren(start, resolved, system).iterator());
+            while (!path.isEmpty()) {
+                Iterator<TreeNode> iterator = iterators.get(iterators.size() - 1);
+                if (!iterator.hasNext()) {
+                    TreeNode node = path.remove(path.size() - 1);
+                    iterators.remove(iterators.size() - 1);
+                    states.put(node.getId(), FINISHED);
+                    continue;
+                }
+                TreeNode child = iterator.next();
+                int state = states.get(child.getId(), 0);
+                if (state == ON_PATH) {
+                    throwCycle(path, child);
+                }
+                if (state != FINISHED) {
+                    states.put(child.getId(), ON_PATH);
+                    path.add(child);
+                    iterators.add(getChildren(child, resolved, system).iterator());
+                }
+            }
+        }
+    }
+
+    /**
+     * Helper method to get the children of an item after the edits.
+     * @param node The item.
+     * @param resolved The children of every touched assembly after the edits.
+     * @param system The system.
+     * @return The children that already exist (new items have no children).
+     */
+    private static List<TreeNode> getChildren(TreeNode node, Map<TreeNode, Map<String, Integer>> resolved,
+            SystemInitializer system) {
+        Map<String, Integer> edges = resolved.get(node);
+        List<TreeNode> children = new ArrayList<>(node.getChildren().size());
+        for (Edge edge : node.getChildren()) {
+            if (edges == null || !edges.containsKey(edge.getChild().getName())) {
+                children.add(edge.getChild());
+            }
+        }
+        if (edges != null) {
+            for (Map.Entry<String, Integer> edge : edges.entrySet()) {
+                TreeNode child = system.getItem(edge.getKey());
+                if (edge.getValue() > 0 && child != null) {
+                    children.add(child);
+                }
+            }
+        }
+        return children;
+    }
+
+    /**
+     * @param path The items on the current path of the search.
+     * @param child The item on the path that is reached again.
+     * @throws RuleBrokenException Always, with the cycle from the item back to itself.
+     */
+    private static void throwCycle(List<TreeNode> path, TreeNode child) throws RuleBrokenException {
+        StringBuilder cycle = new StringBuilder();
+        for (int index = path.indexOf(child); index < path.size(); index++) {
+            cycle.append(path.get(index).getName()).append(StringList.MINUS.toString());
+        }
+        throw new RuleBrokenException(StringList.CYCLE_ERROR_MSG.toString() + cycle.append(child.getName()));
+    }
+
+    /**
+     * Getter method for the staged edits in the format of the commitEdits command
+     * ({@code name+amount:name;name-amount:name...}).
+     * @return The edits.
+     */
+    @Override
+    public String toString() {
+        StringBuilder edits = new StringBuilder();
+        for (int index = 0; index < assemblies.size(); index++) {
+            if (index > 0) {
+                edits.append(StringList.SEMICOLON.toString());
+            }
+            int delta = deltas.get(index);
+            edits.append(assemblies.get(index))
+                    .append((delta > 0) ? StringList.PLUS.toString() : StringList.MINUS.toString())
+                    .append(Math.abs(delta)).append(StringList.COLON.toString()).append(items.get(index));
+        }
+        return edits.toString();
+    }
+}
@@ -1,267 +1,210 @@
 package edu.kit.informatik.data;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+
+import edu.kit.informatik.util.IntObjectHashMap;
+import edu.kit.informatik.util.SymbolTable;
 
 /**
  * Represents a node. A node can either be an assembly or a part.
- * 
+ *
+ * Every item exists exactly once in the system. An assembly that is used in several other assemblies is not
+ * copied, instead all of them hold an edge to the same node (the bill of materials is a directed acyclic graph).
+ *
+ * Every name gets a dense int id from the symbol table of its system the first time a node of that name is
+ * created, and nodes are compared, hashed and keyed by their ids, so the hot paths never have to hash or compare
+ * the names themselves. Nodes that are connected always share a symbol table.
+ *
  * @author Rakan Zeid Al Masri
  * @version 1.0
  */
 
 public class TreeNode {
 
-    /** The name of the tree that this tree node is in. */
-    private String treeRootName;
+    /** The name of the item stored in the node. */
+    private final String name;
+
+    /** The id of the name. */
+    private final int id;
 
-    /** The data stored in the node. */
-    private Item data;
+    /** The symbol table the id comes from. */
+    private final SymbolTable names;
 
-    /** A list of children of a node. */
-    private List<TreeNode> children;
+    /** The edges to the children of a node, keyed by the id of the child. */
+    private final IntObjectHashMap<Edge> children;
 
-    /** The parent of a node. */
-    private TreeNode parent;
+    /** The edges to the parents of a node, keyed by the id of the parent. */
+    private final IntObjectHashMap<Edge> parents;
+
+    /** The position of the node in the topological order of all items. */
+    private int order;
 
     /**
      * Constructor for a tree node.
-     * 
-     * @param data The data stored in the tree node.
+     *
+     * @param name The name of the item stored in the tree node.
+     * @param names The symbol table of the system the node belongs to.
      */
-    public TreeNode(Item data) {
-        this.data = data;
-        this.children = new ArrayList<>();
+    public TreeNode(String name, SymbolTable names) {
+        this.name = name;
+        this.id = names.intern(name);
+        this.names = names;
+        this.children = new IntObjectHashMap<>();
+        this.parents = new IntObjectHashMap<>();
     }
 
     /**
-     * Getter method for the data inside a node.
-     * 
-     * @return The data inside the node.
+     * Getter method for the name of the item inside a node.
+     *
+     * @return The name of the item inside the node.
      */
-    public Item getData() {
-        return this.data;
+    public String getName() {
+        return this.name;
     }
 
     /**
-     * Getter method for the children of a node.
-     * 
-     * @return The children of the node.
+     * Getter method for the id of the name of the item inside a node.
+     *
+     * @return The id.
      */
-    public List<TreeNode> getChildren() {
-        return this.children;
+    public int getId() {
+        return this.id;
     }
 
     /**
-     * Checks whether a node is a leaf or not (a.k.a if the node is a component).
-     * 
-     * @return true if the node is a leaf, otherwise false.
+     * Getter method for the edges to the children of a node.
+     *
+     * @return The edges to the children of the node.
      */
-    public boolean isLeaf() {
-        return this.children.isEmpty();
+    public Collection<Edge> getChildren() {
+        return this.children.values();
     }
 
     /**
-     * Adds a child to a node.
-     * 
-     * @param child The child to be added.
+     * Getter method for the edge to a certain child.
+     *
+     * @param nameofChild The name of the child.
+     * @return The edge if the node contains the child, otherwise null.
      */
-    public void addChild(TreeNode child) {
-        child.setParent(this);
-        child.setTreeName(this.treeRootName);
-        children.add(child);
+    public Edge getChild(String nameofChild) {
+        int idofChild = names.lookup(nameofChild);
+        return (idofChild < 0) ? null : this.children.get(idofChild);
     }
 
     /**
-     * Getter method for the parent of a node.
-     * 
-     * @return The parent of the node.
+     * Getter method for the edges to the parents of a node.
+     *
+     * @return The edges to the parents of the node.
      */
-    public TreeNode getParent() {
-        return this.parent;
+    public Collection<Edge> getParents() {
+        return this.parents.values();
     }
 
     /**
-     * Setter method for the parent node.
-     * @param parent The parent node.
+     * Getter method for the position of the node in the topological order.
+     *
+     * @return The position.
      */
-    public void setParent(TreeNode parent) {
-        this.parent = parent;
+    int getOrder() {
+        return this.order;
     }
 
     /**
-     * Getter method for the name of the item inside a node.
-     * 
-     * @return The name of the item inside the node.
+     * Setter method for the position of the node in the topological order.
+     *
+     * @param order The new position.
      */
-    public String getNameofData() {
-        return this.data.getName();
+    void setOrder(int order) {
+        this.order = order;
     }
 
     /**
-     * Getter method for the amount of the item inside a node.
-     * 
-     * @return The amount of the item inside the node.
-     */
-    public int getAmountofData() {
-        return this.data.getAmount();
-    }
-
-    /**
-     * Deletes a node's children.
+     * Checks whether a node is a leaf or not (a.k.a if the node is a component).
+     *
+     * @return true if the node is a leaf, otherwise false.
      */
-    public void deleteChildren() {
-        this.children = new ArrayList<>();
+    public boolean isLeaf() {
+        return this.children.isEmpty();
     }
 
     /**
-     * Method to check whether a node is a root or not.
-     * 
+     * Method to check whether a node is a root or not (a.k.a if it isn't used in any assembly).
+     *
      * @return true if the node is a root, otherwise false.
      */
     public boolean isRoot() {
-        return !this.children.isEmpty() && this.parent == null;
-    }
-
-    /**
-     * Method to check whether all the children of a node are components(leaves).
-     * 
-     * @return true if all the children are leaves, false if one or more are
-     *         assemblies.
-     */
-    public boolean areChildrenComponents() {
-        for (TreeNode child : this.getChildren()) {
-            if (!child.isLeaf()) {
-                return false;
-            }
-        }
-        return true;
+        return this.parents.isEmpty();
     }
 
     /**
-     * Method to get the ancestors of a node (all nodes above a given node).
-     * @return The list of ancestors.
+     * Adds a child to a node.
+     *
+     * @param child The child to be added.
+     * @param amount How many of the child the node contains.
+     * @return The edge between the node and the child.
      */
-    public List<TreeNode> getAncestors() {
-        return getAncestorList(new ArrayList<>(), this);
+    public Edge addChild(TreeNode child, int amount) {
+        Edge edge = new Edge(this, child, amount);
+        children.put(child.id, edge);
+        child.parents.put(this.id, edge);
+        return edge;
     }
 
     /**
-     * Recursive method to get the ancestors.
-     * @param ancestors The current list of ancestors.
-     * @param node The current node.
-     * @return The list of ancestors.
+     * Removes a child from a node.
+     *
+     * @param nameofChild The name of the child to be removed.
+     * @return The removed edge, or null if the node doesn't contain the child.
      */
-    private List<TreeNode> getAncestorList(List<TreeNode> ancestors, TreeNode node) {
-        if (node.getParent() != null) {
-            ancestors.add(node.getParent());
-            getAncestorList(ancestors, node.getParent());
+    public Edge removeChild(String nameofChild) {
+        int idofChild = names.lookup(nameofChild);
+        Edge edge = (idofChild < 0) ? null : children.remove(idofChild);
+        if (edge != null) {
+            edge.getChild().parents.remove(this.id);
         }
-        return ancestors;
+        return edge;
     }
 
     /**
-     * Method to get the descendants of a node (all nodes under a given node).
-     * @return The list of descendants.
-     */
-    public List<TreeNode> getDescendants() {
-        return getListDescendants(this, new HashMap<>(), this.getNameofData());
+     * Deletes a node's children.
+     *
+     * @return The nodes that were children of the node.
+     */
+    public List<TreeNode> deleteChildren() {
+        List<TreeNode> formerChildren = new ArrayList<>();
+        for (Edge edge : children.values()) {
+            edge.getChild().parents.remove(this.id);
+            formerChildren.add(edge.getChild());
+        }
+        children.clear();
+        return formerChildren;
     }
 
     /**
-     * Recursive method to get the descendants of a node.
-     * 
-     * This method also takes into account the multiplier and returns the list of descendants
-     * with their proper amounts.
-     * 
-     * @param node The current node.
-     * @param listofChildren The list of descendants.
-     * @param originalName The name of the original node we are checking.
-     * @return The list of descendants.
+     * Method to check whether all the children of a node are components(leaves).
+     *
+     * @return true if all the children are leaves, false if one or more are
+     *         assemblies.
      */
-    private List<TreeNode> getListDescendants(TreeNode node, Map<String, TreeNode> listofChildren, 
-            String originalName) {
-        for (TreeNode child : node.getChildren()) {
-            // If the node wasn't already added.
-            if (!listofChildren.containsKey(child.getNameofData())) {
-                List<TreeNode> ancestors = child.getAncestors();
-                int multiplier = 1; // The amounts of all ancestors multiplied
-                for (TreeNode ancestor : ancestors) {
-                    if (ancestor.getNameofData().equals(originalName)) {
-                        break;
-                    }
-                    multiplier *= ancestor.getAmountofData();
-                }
-                TreeNode childCopy = child.getCopy();
-                childCopy.getData().setAmount(child.getAmountofData() * multiplier);
-                listofChildren.put(childCopy.getNameofData(), childCopy);
-            } else { // If it was added then we just add the amount to the one in the list.
-                List<TreeNode> ancestors = child.getAncestors();
-                int multiplier = 1; // The amounts of all ancestors multiplied
-                for (TreeNode ancestor : ancestors) {
-                    if (ancestor.getNameofData().equals(originalName)) {
-                        break;
-                    }
-                    multiplier *= ancestor.getAmountofData();
-                }
-                int multipliedAmount = multiplier * child.getAmountofData();
-                int oldAmount = listofChildren.get(child.getNameofData()).getAmountofData();
-                int newAmount = oldAmount + multipliedAmount;
-                listofChildren.get(child.getNameofData()).getData().setAmount(newAmount);
+    public boolean areChildrenComponents() {
+        for (Edge edge : this.getChildren()) {
+            if (!edge.getChild().isLeaf()) {
+                return false;
             }
-            getListDescendants(child, listofChildren, originalName);
         }
-        return new ArrayList<>(listofChildren.values());
-    }
-
-   
-
-    /**
-     * Setter method for tree name.
-     * 
-     * @param treeRootName The name of the tree to which said tree node will be added to.
-     */
-    public void setTreeName(String treeRootName) {
-        this.treeRootName = treeRootName;
-    }
-
-    /**
-     * Getter method for the tree name.
-     * @return The tree name.
-     */
-    public String getTreeName() {
-        return treeRootName;
-    }
-
-    /**
-     * Method to clone a node by value and not by reference.
-     * @return The cloned node.
-     */
-    public TreeNode getCopy() {
-        return copyNode(this, new HashMap<>(), treeRootName);
+        return true;
     }
 
     /**
-     * Recursive method to completely clone a node and its children
-     * @param node The current node.
-     * @param map Map of copied nodes and their copies.
-     * @param treeName The name of the tree of the original node.
-     * @return The cloned node.
+     * Method to get the descendants of a node (all nodes under a given node).
+     *
+     * @return The descendants mapped to how many of them the node contains in total.
      */
-    private TreeNode copyNode(TreeNode node, Map<TreeNode, TreeNode> map, String treeName) {
-        TreeNode copy = map.get(node);
-        if (copy == null) {
-            copy = new TreeNode(new Item(node.getAmountofData(), node.getNameofData()));
-            copy.setTreeName(treeName);
-            map.put(node, copy);
-            for (TreeNode child : node.getChildren()) {
-                copy.addChild(copyNode(child, map, treeName));
-            }
-        }
-        return copy;
+    public Map<TreeNode, Integer> getDescendants() {
+        return Explosion.explode(this);
     }
 
     @Override
@@ -271,18 +214,18 @@ public class TreeNode {
         }
         if (obj != null && getClass().equals(obj.getClass())) {
             TreeNode otherTreeNode = (TreeNode) obj;
-            return this.data.equals(otherTreeNode.data) && this.treeRootName.equals(otherTreeNode.treeRootName);
+            return this.id == otherTreeNode.id;
         }
         return false;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(data, treeRootName);
+        return id;
     }
 
     @Override
     public String toString() {
-        return this.data.toString();
+        return this.name;
     }
-}
\ No newline at end of file
+}
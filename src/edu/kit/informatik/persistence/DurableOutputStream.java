@@ -0,0 +1,48 @@
+package edu.kit.informatik.persistence;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * An output stream that commits a journal before any output is passed on. Output that confirms a change (such as
+ * "OK") therefore never becomes visible before the change is on the disk, and a buffered writer on top of the
+ * stream decides how many changes share a single commit.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public class DurableOutputStream extends FilterOutputStream {
+
+    /** The journal that is committed before output is passed on. */
+    private final Journal journal;
+
+    /**
+     * Constructor for a durable output stream.
+     * @param out The stream the output is passed on to.
+     * @param journal The journal that is committed before output is passed on.
+     */
+    public DurableOutputStream(OutputStream out, Journal journal) {
+        super(out);
+        this.journal = journal;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        journal.commit();
+        out.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        journal.commit();
+        out.write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        journal.commit();
+        out.flush();
+    }
+}
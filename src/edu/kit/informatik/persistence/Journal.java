@@ -0,0 +1,348 @@
+package edu.kit.informatik.persistence;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import edu.kit.informatik.data.NeedsAssessment;
+import edu.kit.informatik.data.SnapshotFile;
+
+/**
+ * A write-ahead journal of all successful changes of the system, stored in a directory.
+ *
+ * The directory contains at most one snapshot per generation and the journal segments that were written after it.
+ * Every record is a command line framed by its length and a checksum. Records are only buffered when they are
+ * appended and written to the disk with a single fsync when they are committed, so a commit covers every record
+ * appended before it (group commit). Output that depends on a record must not be shown before it is committed.
+ *
+ * Once the current segment exceeds a size limit, the state of the system is captured in memory, a new segment is
+ * started and the snapshot is written by a background thread. Older generations are deleted afterwards. When the
+ * journal is opened, the newest snapshot is loaded and every segment after it is replayed, up to the first
+ * incomplete record left by a crash. Only the generations before the loaded snapshot are deleted then, so the
+ * segments of a compaction whose snapshot was never written are kept until a later snapshot covers them.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public final class Journal implements Closeable {
+
+    /** The default size of a segment (in bytes) after which the journal is compacted. */
+    public static final long DEFAULT_COMPACTION_THRESHOLD = 64L << 20;
+
+    /** The prefix of the names of the snapshots. */
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+
+    /** The suffix of the names of the snapshots. */
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+
+    /** The prefix of the names of the journal segments. */
+    private static final String SEGMENT_PREFIX = "journal-";
+
+    /** The suffix of the names of the journal segments. */
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    /** The size of the header of a record (length and checksum). */
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+    /** The maximum length of a record (longer lengths can only come from a corrupt segment). */
+    private static final int MAX_RECORD_LENGTH = 1 << 26;
+
+    /** The initial size of the buffer of records that aren't committed yet. */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /** The directory of the journal. */
+    private final Path directory;
+
+    /** The size of a segment after which the journal is compacted. */
+    private final long compactionThreshold;
+
+    /** The system whose changes are journaled. */
+    private final NeedsAssessment factory;
+
+    /** The records that were appended but aren't committed yet. */
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream(BUFFER_SIZE);
+
+    /** Computes the checksums of the records. */
+    private final CRC32 checksum = new CRC32();
+
+    /** The lock that is held while records are written to the disk, so only one thread syncs at a time. */
+    private final Object syncLock = new Object();
+
+    /** Writes the snapshots in the background. */
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "journal-compaction");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** The current segment. */
+    private FileChannel segment;
+
+    /** The generation of the current segment. */
+    private long generation;
+
+    /** The size of the current segment including the records that aren't committed yet. */
+    private long size;
+
+    /** The number of records that were appended. */
+    private long appended;
+
+    /** The number of records that are on the disk. */
+    private long committed;
+
+    /** The compaction that is running, or null. */
+    private Future<?> compaction;
+
+    /**
+     * Constructor for a journal, only used by {@link #open}.
+     * @param directory The directory of the journal.
+     * @param compactionThreshold The size of a segment after which the journal is compacted.
+     * @param factory The system whose changes are journaled.
+     */
+    private Journal(Path directory, long compactionThreshold, NeedsAssessment factory) {
+        this.directory = directory;
+        this.compactionThreshold = compactionThreshold;
+        this.factory = factory;
+    }
+
+    /**
+     * Opens a journal and recovers the state of the system from it.
+     * @param directory The directory of the journal (created if it doesn't exist).
+     * @param compactionThreshold The size of a segment (in bytes) after which the journal is compacted.
+     * @param factory The empty system into which the state is recovered.
+     * @param replay Executes a command line of the journal on the system.
+     * @return The journal, ready to append to the newest segment.
+     * @throws IOException If the journal cannot be read or the newest snapshot is corrupt.
+     */
+    public static Journal open(Path directory, long compactionThreshold, NeedsAssessment factory,
+            Consumer<String> replay) throws IOException {
+        Files.createDirectories(directory);
+        Journal journal = new Journal(directory, compactionThreshold, factory);
+        long snapshot = -1;
+        List<Long> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX)) {
+                    snapshot = Math.max(snapshot, parseGeneration(name, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX));
+                } else if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    segments.add(parseGeneration(name, SEGMENT_PREFIX, SEGMENT_SUFFIX));
+                }
+            }
+        }
+        Collections.sort(segments);
+        if (snapshot >= 0) {
+            SnapshotFile.load(journal.snapshotFile(snapshot), factory);
+        }
+        journal.generation = Math.max(snapshot, 0);
+        for (long segment : segments) {
+            if (segment >= journal.generation) {
+                journal.generation = segment;
+                journal.size = replay(journal.segmentFile(segment), replay);
+            }
+        }
+        journal.segment = FileChannel.open(journal.segmentFile(journal.generation), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+        // Cut off an incomplete record, so that new records follow the last complete one.
+        journal.segment.truncate(journal.size);
+        journal.segment.position(journal.size);
+        // Only the generations before the loaded snapshot are covered by it. The segments after it are still needed
+        // when a compaction was interrupted before its snapshot was written.
+        journal.deleteGenerationsBefore(Math.max(snapshot, 0));
+        return journal;
+    }
+
+    /**
+     * Appends a record to the journal. It is only buffered until the next {@link #commit}, and may start a
+     * compaction, so it has to be called after the change was made and before the next one.
+     * @param record The command line that changed the system.
+     * @throws IOException If a compaction cannot be started.
+     */
+    public void append(String record) throws IOException {
+        byte[] bytes = record.getBytes(StandardCharsets.UTF_8);
+        synchronized (this) {
+            checksum.reset();
+            checksum.update(bytes, 0, bytes.length);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(bytes.length).putInt((int) checksum.getValue());
+            pending.write(header.array(), 0, HEADER_SIZE);
+            pending.write(bytes, 0, bytes.length);
+            size += HEADER_SIZE + bytes.length;
+            appended++;
+        }
+        if (size > compactionThreshold && (compaction == null || compaction.isDone())) {
+            compact();
+        }
+    }
+
+    /**
+     * Writes all appended records to the disk. Threads that commit while another thread is syncing wait for it
+     * and are usually covered by its sync or share the next one.
+     * @throws IOException If the records cannot be written.
+     */
+    public void commit() throws IOException {
+        long target;
+        synchronized (this) {
+            target = appended;
+        }
+        synchronized (syncLock) {
+            if (committed >= target) { // Another thread already synced these records.
+                return;
+            }
+            byte[] records;
+            long last;
+            synchronized (this) {
+                records = pending.toByteArray();
+                pending.reset();
+                last = appended;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(records);
+            while (buffer.hasRemaining()) {
+                segment.write(buffer);
+            }
+            segment.force(false);
+            committed = last;
+        }
+    }
+
+    /**
+     * Captures the state of the system, starts a new segment and writes the snapshot in the background.
+     * @throws IOException If the current segment cannot be committed or the new one cannot be created.
+     */
+    private void compact() throws IOException {
+        commit();
+        final byte[] snapshot = SnapshotFile.toByteArray(factory);
+        final long next;
+        synchronized (syncLock) {
+            next = generation + 1;
+            FileChannel nextSegment = FileChannel.open(segmentFile(next), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            segment.close();
+            segment = nextSegment;
+            generation = next;
+            size = 0;
+        }
+        compaction = compactor.submit(() -> {
+            SnapshotFile.save(snapshot, snapshotFile(next));
+            deleteGenerationsBefore(next);
+            return null;
+        });
+    }
+
+    /**
+     * Deletes the snapshots and segments of all generations before a generation. Should only be called once
+     * the snapshot of that generation (if it isn't the first) is on the disk.
+     * @param first The first generation that is kept.
+     * @throws IOException If a file cannot be deleted.
+     */
+    private void deleteGenerationsBefore(long first) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX)
+                        && parseGeneration(name, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX) < first
+                        || name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)
+                        && parseGeneration(name, SEGMENT_PREFIX, SEGMENT_SUFFIX) < first) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Replays all complete records of a segment.
+     * @param file The segment.
+     * @param replay Executes a command line.
+     * @return The size of the complete records (the rest of the segment was left by a crash).
+     * @throws IOException If the segment cannot be read.
+     */
+    private static long replay(Path file, Consumer<String> replay) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        CRC32 checksum = new CRC32();
+        while (buffer.remaining() >= HEADER_SIZE) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            int expected = buffer.getInt();
+            if (length < 0 || length > MAX_RECORD_LENGTH || length > buffer.remaining()) {
+                return start;
+            }
+            checksum.reset();
+            checksum.update(buffer.array(), buffer.position(), length);
+            if ((int) checksum.getValue() != expected) {
+                return start;
+            }
+            replay.accept(new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8));
+            buffer.position(buffer.position() + length);
+        }
+        return buffer.position();
+    }
+
+    /**
+     * Parses the generation of a snapshot or segment.
+     * @param name The name of the file.
+     * @param prefix The prefix of the name.
+     * @param suffix The suffix of the name.
+     * @return The generation, or -1 if the name contains no generation.
+     */
+    private static long parseGeneration(String name, String prefix, String suffix) {
+        try {
+            return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+        } catch (NumberFormatException exception) {
+            return -1;
+        }
+    }
+
+    /**
+     * @param generation The generation.
+     * @return The snapshot of a generation.
+     */
+    private Path snapshotFile(long generation) {
+        return directory.resolve(String.format("%s%012d%s", SNAPSHOT_PREFIX, generation, SNAPSHOT_SUFFIX));
+    }
+
+    /**
+     * @param generation The generation.
+     * @return The segment of a generation.
+     */
+    private Path segmentFile(long generation) {
+        return directory.resolve(String.format("%s%012d%s", SEGMENT_PREFIX, generation, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Commits all records, waits for a running compaction and closes the current segment.
+     * @throws IOException If the records cannot be written or the compaction failed.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            commit();
+            if (compaction != null) {
+                compaction.get();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while waiting for the compaction.", exception);
+        } catch (ExecutionException exception) {
+            throw new IOException("the compaction failed.", exception.getCause());
+        } finally {
+            compactor.shutdown();
+            segment.close();
+        }
+    }
+}
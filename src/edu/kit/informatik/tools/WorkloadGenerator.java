@@ -0,0 +1,407 @@
+package edu.kit.informatik.tools;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+import edu.kit.informatik.ui.Main;
+import edu.kit.informatik.util.StringList;
+
+/**
+ * Generates command scripts with synthetic BOMs that can be run with {@code Main --script} for benchmarks and
+ * load tests.
+ *
+ * The script first builds the BOM bottom up: the assemblies are split into levels, and every assembly contains
+ * a fixed number of children that are either reused from the level below (or from the parts that already exist)
+ * or new parts. After that a mix of queries and mutations follows. Every command is written as soon as it is
+ * generated and the state is described by counters only, so scripts with millions of commands can be generated
+ * without holding them in memory. The same seed always produces the same script.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public final class WorkloadGenerator {
+
+    /** The prefix of the names of the assemblies of the BOM. */
+    private static final char ASSEMBLY_PREFIX = 'A';
+
+    /** The prefix of the names of the parts. */
+    private static final char PART_PREFIX = 'P';
+
+    /** The prefix of the names of the products that are added and removed by the mutations. */
+    private static final char PRODUCT_PREFIX = 'T';
+
+    /** The number of letters that are used to encode a number in a name. */
+    private static final int LETTERS = 26;
+
+    /** The largest amount that is generated. */
+    private static final int MAX_GENERATED_AMOUNT = 10;
+
+    /** The maximum number of added parts and products that are remembered to be removed later. */
+    private static final int MAX_PENDING = 4096;
+
+    /** The size of the output buffer (in characters). */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /** The number of different query commands. */
+    private static final int QUERY_KINDS = 3;
+
+    /** The number of different mutation commands. */
+    private static final int MUTATION_KINDS = 4;
+
+    /** The number of assemblies in the BOM. */
+    private int items = 1000;
+
+    /** The number of levels of assemblies. */
+    private int depth = 5;
+
+    /** The number of children of every assembly. */
+    private int fanOut = 4;
+
+    /** The probability that a child is an existing item instead of a new part. */
+    private double reuse = 0.5;
+
+    /** The number of queries and mutations after the BOM is built. */
+    private long operations = 10000;
+
+    /** The probability that an operation is a query instead of a mutation. */
+    private double queries = 0.9;
+
+    /** The seed of the random number generator. */
+    private long seed = 1;
+
+    /** The random number generator. */
+    private Random random;
+
+    /** The output. */
+    private Writer out;
+
+    /** The number of parts that were created so far. */
+    private long numberofParts;
+
+    /** The number of products that were created so far. */
+    private long numberofProducts;
+
+    /** The parts that were added by mutations, as "assembly" and "part" names, to be removed later. */
+    private final Deque<String[]> pendingParts = new ArrayDeque<>();
+
+    /** The products that were added by mutations, to be removed later. */
+    private final Deque<String> pendingProducts = new ArrayDeque<>();
+
+    /** Utility class that is only configured through the command line. */
+    private WorkloadGenerator() {
+    }
+
+    /**
+     * Main method to generate a script.
+     *
+     * Options: {@code --items}, {@code --depth}, {@code --fanout}, {@code --reuse}, {@code --operations},
+     * {@code --queries}, {@code --seed} and {@code --out} (the standard output is used without it).
+     * @param args The options, each followed by its value.
+     * @throws IOException If the script cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        WorkloadGenerator generator = new WorkloadGenerator();
+        String file = null;
+        try {
+            if (args.length % 2 != 0) {
+                throw new IllegalArgumentException("every option needs a value.");
+            }
+            for (int index = 0; index < args.length; index += 2) {
+                file = generator.configure(args[index], args[index + 1], file);
+            }
+            generator.validate();
+        } catch (IllegalArgumentException exception) {
+            System.err.println("Error, " + exception.getMessage());
+            System.err.println("usage: WorkloadGenerator [--items n] [--depth n] [--fanout n] [--reuse ratio] "
+                    + "[--operations n] [--queries ratio] [--seed n] [--out file]");
+            return;
+        }
+        if (file == null) {
+            generator.generate(System.out);
+        } else {
+            try (OutputStream stream = new FileOutputStream(file)) {
+                generator.generate(stream);
+            }
+        }
+    }
+
+    /**
+     * Sets one option.
+     * @param option The name of the option.
+     * @param value The value of the option.
+     * @param file The output file that was configured so far.
+     * @return The output file.
+     */
+    private String configure(String option, String value, String file) {
+        try {
+            switch (option) {
+                case "--items":
+                    items = Integer.parseInt(value);
+                    break;
+                case "--depth":
+                    depth = Integer.parseInt(value);
+                    break;
+                case "--fanout":
+                    fanOut = Integer.parseInt(value);
+                    break;
+                case "--reuse":
+                    reuse = Double.parseDouble(value);
+                    break;
+                case "--operations":
+                    operations = Long.parseLong(value);
+                    break;
+                case "--queries":
+                    queries = Double.parseDouble(value);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(value);
+                    break;
+                case "--out":
+                    return value;
+                default:
+                    throw new IllegalArgumentException("unknown option " + option + ".");
+            }
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException("invalid value for " + option + ": " + value);
+        }
+        return file;
+    }
+
+    /**
+     * Checks that the options describe a valid BOM.
+     */
+    private void validate() {
+        if (depth < 1 || items < depth || fanOut < 1 || operations < 0) {
+            throw new IllegalArgumentException("depth and fan-out have to be positive and there have to be at "
+                    + "least as many items as levels.");
+        }
+        if (reuse < 0 || reuse > 1 || queries < 0 || queries > 1) {
+            throw new IllegalArgumentException("ratios have to be between 0 and 1.");
+        }
+    }
+
+    /**
+     * Generates the whole script.
+     * @param stream The stream the script is written to.
+     * @throws IOException If the script cannot be written.
+     */
+    private void generate(OutputStream stream) throws IOException {
+        random = new Random(seed);
+        out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        for (int level = depth - 1; level >= 0; level--) {
+            for (int index = 0; index < levelSize(level); index++) {
+                writeAssembly(level, index);
+            }
+        }
+        for (long operation = 0; operation < operations; operation++) {
+            if (random.nextDouble() < queries) {
+                writeQuery();
+            } else {
+                writeMutation();
+            }
+        }
+        out.write(Main.QUIT_COMMAND);
+        out.write(System.lineSeparator());
+        out.flush();
+    }
+
+    /**
+     * Writes the addAssembly command of an assembly of the BOM.
+     * @param level The level of the assembly.
+     * @param index The index of the assembly in its level.
+     * @throws IOException If the command cannot be written.
+     */
+    private void writeAssembly(int level, int index) throws IOException {
+        startCommand("addAssembly");
+        out.write(assemblyName(level, index));
+        out.write(StringList.EQUALS.toString());
+        boolean hasLowerLevel = level + 1 < depth;
+        long poolSize = hasLowerLevel ? levelSize(level + 1) : numberofParts;
+        // Consecutive indices (modulo the pool size) keep the reused children of an assembly distinct.
+        long start = (poolSize > 0) ? Math.floorMod(random.nextLong(), poolSize) : 0;
+        for (int child = 0; child < fanOut; child++) {
+            if (child > 0) {
+                out.write(StringList.SEMICOLON.toString());
+            }
+            writeAmount();
+            boolean reused = child < poolSize && random.nextDouble() < reuse;
+            if (reused && hasLowerLevel) {
+                out.write(assemblyName(level + 1, (int) ((start + child) % poolSize)));
+            } else if (reused) {
+                out.write(name(PART_PREFIX, (start + child) % poolSize));
+            } else {
+                out.write(name(PART_PREFIX, numberofParts++));
+            }
+        }
+        endCommand();
+    }
+
+    /**
+     * Writes a random query on a random assembly of the BOM.
+     * @throws IOException If the command cannot be written.
+     */
+    private void writeQuery() throws IOException {
+        int level = random.nextInt(depth);
+        String assembly = assemblyName(level, random.nextInt(levelSize(level)));
+        switch (random.nextInt(QUERY_KINDS)) {
+            case 0:
+                startCommand("printAssembly");
+                break;
+            case 1:
+                startCommand("getAssemblies");
+                break;
+            default:
+                startCommand("getComponents");
+                break;
+        }
+        out.write(assembly);
+        endCommand();
+    }
+
+    /**
+     * Writes a random mutation. Parts and products are only removed after they were added, so every mutation
+     * succeeds when the script is executed.
+     * @throws IOException If the command cannot be written.
+     */
+    private void writeMutation() throws IOException {
+        switch (random.nextInt(MUTATION_KINDS)) {
+            case 0:
+                if (!pendingParts.isEmpty()) {
+                    String[] part = pendingParts.poll();
+                    startCommand("removePart");
+                    out.write(part[0]);
+                    out.write(StringList.MINUS.toString());
+                    out.write(part[2]);
+                    out.write(StringList.COLON.toString());
+                    out.write(part[1]);
+                    endCommand();
+                    return;
+                }
+                writeAddPart();
+                return;
+            case 1:
+                if (!pendingProducts.isEmpty()) {
+                    startCommand("removeAssembly");
+                    out.write(pendingProducts.poll());
+                    endCommand();
+                    return;
+                }
+                writeAddProduct();
+                return;
+            case 2:
+                writeAddPart();
+                return;
+            default:
+                writeAddProduct();
+                return;
+        }
+    }
+
+    /**
+     * Writes an addPart command that adds a new part to a random assembly of the BOM.
+     * @throws IOException If the command cannot be written.
+     */
+    private void writeAddPart() throws IOException {
+        int level = random.nextInt(depth);
+        String assembly = assemblyName(level, random.nextInt(levelSize(level)));
+        String part = name(PART_PREFIX, numberofParts++);
+        String amount = String.valueOf(1 + random.nextInt(MAX_GENERATED_AMOUNT));
+        startCommand("addPart");
+        out.write(assembly);
+        out.write(StringList.PLUS.toString());
+        out.write(amount);
+        out.write(StringList.COLON.toString());
+        out.write(part);
+        endCommand();
+        if (pendingParts.size() < MAX_PENDING) {
+            pendingParts.add(new String[] {assembly, part, amount});
+        }
+    }
+
+    /**
+     * Writes an addAssembly command for a new product that contains assemblies of the top level.
+     * @throws IOException If the command cannot be written.
+     */
+    private void writeAddProduct() throws IOException {
+        String product = name(PRODUCT_PREFIX, numberofProducts++);
+        int size = levelSize(0);
+        int start = random.nextInt(size);
+        startCommand("addAssembly");
+        out.write(product);
+        out.write(StringList.EQUALS.toString());
+        for (int child = 0; child < Math.min(fanOut, size); child++) {
+            if (child > 0) {
+                out.write(StringList.SEMICOLON.toString());
+            }
+            writeAmount();
+            out.write(assemblyName(0, (start + child) % size));
+        }
+        endCommand();
+        if (pendingProducts.size() < MAX_PENDING) {
+            pendingProducts.add(product);
+        }
+    }
+
+    /**
+     * Writes a random amount followed by a colon.
+     * @throws IOException If the amount cannot be written.
+     */
+    private void writeAmount() throws IOException {
+        out.write(String.valueOf(1 + random.nextInt(MAX_GENERATED_AMOUNT)));
+        out.write(StringList.COLON.toString());
+    }
+
+    private void startCommand(String command) throws IOException {
+        out.write(command);
+        out.write(StringList.COMMAND_SEPARATOR.toString());
+    }
+
+    private void endCommand() throws IOException {
+        out.write(System.lineSeparator());
+    }
+
+    /**
+     * Method to get the number of assemblies in a level (the first levels get the remainder).
+     * @param level The level.
+     * @return The number of assemblies.
+     */
+    private int levelSize(int level) {
+        return items / depth + ((level < items % depth) ? 1 : 0);
+    }
+
+    /**
+     * Method to get the name of an assembly of the BOM.
+     * @param level The level of the assembly.
+     * @param index The index of the assembly in its level.
+     * @return The name.
+     */
+    private String assemblyName(int level, int index) {
+        long offset = (long) level * (items / depth) + Math.min(level, items % depth);
+        return name(ASSEMBLY_PREFIX, offset + index);
+    }
+
+    /**
+     * Method to create a valid name (letters only) from a number. Different numbers always give different names.
+     * @param prefix The first letter of the name.
+     * @param number The number.
+     * @return The name.
+     */
+    private static String name(char prefix, long number) {
+        StringBuilder name = new StringBuilder().append(prefix);
+        long rest = number;
+        do {
+            name.append((char) ('a' + rest % LETTERS));
+            rest /= LETTERS;
+        } while (rest > 0);
+        return name.toString();
+    }
+}
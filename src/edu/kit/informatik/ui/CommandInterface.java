@@ -1,7 +1,10 @@
 package edu.kit.informatik.ui;
 
+import java.io.IOException;
+
 import edu.kit.informatik.exceptions.InvalidInputException;
 import edu.kit.informatik.exceptions.RuleBrokenException;
+import edu.kit.informatik.util.StringList;
 
 /**
  * Interface for commands. Includes the execution method and a Getter for the name of the command.
@@ -28,4 +31,47 @@ public interface CommandInterface {
      * @throws RuleBrokenException If the input breaks any of the rules of the exercise.
      */
     String run(String parameters) throws InvalidInputException, RuleBrokenException;
+
+    /**
+     * Runs the command and writes the output to a sink. Commands with large outputs write them piece by piece,
+     * so that the whole output never has to be held in memory.
+     *
+     * @param parameters The parameters of the command.
+     * @param output The sink the output is written to. Nothing is written if the command fails.
+     * @throws InvalidInputException If the input is not in the correct format.
+     * @throws RuleBrokenException If the input breaks any of the rules of the exercise.
+     * @throws IOException If the output cannot be written.
+     */
+    default void run(String parameters, Appendable output)
+            throws InvalidInputException, RuleBrokenException, IOException {
+        output.append(run(parameters));
+    }
+
+    /**
+     * Whether the command takes parameters. A command without parameters is entered by its name alone.
+     *
+     * @return true if the command takes parameters, otherwise false.
+     */
+    default boolean hasParameters() {
+        return true;
+    }
+
+    /**
+     * The command line that is appended to the journal after the command ran successfully.
+     *
+     * @param parameters The parameters of the command.
+     * @return The command line that repeats the change, or null if there is nothing to journal.
+     */
+    default String getJournalRecord(String parameters) {
+        return getNameofCommand() + StringList.COMMAND_SEPARATOR + parameters;
+    }
+
+    /**
+     * Whether the command changes the system when it runs successfully (such commands are journaled).
+     *
+     * @return true if the command changes the system, otherwise false.
+     */
+    default boolean isMutating() {
+        return false;
+    }
 }
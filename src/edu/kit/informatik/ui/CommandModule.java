@@ -0,0 +1,19 @@
+package edu.kit.informatik.ui;
+
+/**
+ * Interface for a group of commands that belong to one feature. A module registers its own commands, so a new
+ * command only has to be added to its module.
+ * 
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public interface CommandModule {
+
+    /**
+     * Registers all commands of the module.
+     * 
+     * @param commands The registry the commands are added to.
+     */
+    void registerCommands(CommandRegistry commands);
+}
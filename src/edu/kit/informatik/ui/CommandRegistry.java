@@ -0,0 +1,133 @@
+package edu.kit.informatik.ui;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Registry of all commands, keyed by the name of the command.
+ *
+ * The commands are stored in an open addressing hash table, so a command can be looked up directly in the line
+ * entered by the user without creating a substring or any other object.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public class CommandRegistry {
+
+    /** The initial size of the hash table (always a power of two). */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The factor by which a hash is multiplied for every character (the same as in String.hashCode). */
+    private static final int HASH_MULTIPLIER = 31;
+
+    /** The hash table of the commands. */
+    private CommandInterface[] table = new CommandInterface[INITIAL_CAPACITY];
+
+    /** The registered commands in the order of registration. */
+    private final List<CommandInterface> commands = new ArrayList<>();
+
+    /**
+     * Registers a command, so that it can be executed by its name.
+     * @param command The command.
+     * @throws IllegalArgumentException If a command of the same name is already registered.
+     */
+    public void register(final CommandInterface command) {
+        String name = command.getNameofCommand();
+        if (get(name, 0, name.length()) != null) {
+            throw new IllegalArgumentException("a command named " + name + " is already registered.");
+        }
+        commands.add(command);
+        if (commands.size() * 2 > table.length) {
+            table = new CommandInterface[table.length * 2];
+            for (CommandInterface registered : commands) {
+                insert(registered);
+            }
+        } else {
+            insert(command);
+        }
+    }
+
+    /**
+     * Registers all commands of a module.
+     * @param module The module.
+     * @throws IllegalArgumentException If a command of the same name is already registered.
+     */
+    public void register(final CommandModule module) {
+        module.registerCommands(this);
+    }
+
+    /**
+     * Method to get the command whose name is a region of the input.
+     * @param input The input that contains the name.
+     * @param start The index at which the name starts.
+     * @param end The index after the name.
+     * @return The command, or null if no command of that name is registered.
+     */
+    public CommandInterface get(final CharSequence input, final int start, final int end) {
+        int mask = table.length - 1;
+        int length = end - start;
+        for (int index = hash(input, start, end) & mask; table[index] != null; index = (index + 1) & mask) {
+            String name = table[index].getNameofCommand();
+            if (name.length() == length && regionEquals(input, start, name)) {
+                return table[index];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Getter method for all registered commands.
+     * @return The commands in the order of registration.
+     */
+    public Collection<CommandInterface> getCommands() {
+        return Collections.unmodifiableList(commands);
+    }
+
+    /**
+     * Inserts a command into the hash table.
+     * @param command The command.
+     */
+    private void insert(final CommandInterface command) {
+        String name = command.getNameofCommand();
+        int mask = table.length - 1;
+        int index = hash(name, 0, name.length()) & mask;
+        while (table[index] != null) {
+            index = (index + 1) & mask;
+        }
+        table[index] = command;
+    }
+
+    /**
+     * Method to calculate the hash of a region of characters.
+     * @param input The characters.
+     * @param start The index at which the region starts.
+     * @param end The index after the region.
+     * @return The hash.
+     */
+    private static int hash(final CharSequence input, final int start, final int end) {
+        int hash = 0;
+        for (int index = start; index < end; index++) {
+            hash = HASH_MULTIPLIER * hash + input.charAt(index);
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Method to check whether a region of the input equals a name.
+     * @param input The input.
+     * @param start The index at which the region starts.
+     * @param name The name (its length has to be checked beforehand).
+     * @return true if the region equals the name, otherwise false.
+     */
+    private static boolean regionEquals(final CharSequence input, final int start, final String name) {
+        for (int index = 0; index < name.length(); index++) {
+            if (input.charAt(start + index) != name.charAt(index)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,203 @@
+package edu.kit.informatik.ui;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import edu.kit.informatik.data.ExplosionCache;
+import edu.kit.informatik.util.LatencyHistogram;
+
+/**
+ * Counts the calls of every command, the calls that failed (split by the type of the error) and the distribution
+ * of their latencies.
+ *
+ * Every command has its own counters and {@link LatencyHistogram}, so recording a call only increments a few
+ * fields and never allocates, and the memory is fixed no matter how many calls are recorded. The statistics can
+ * also be written to a file every few seconds; the file is replaced atomically, so it can be read at any time.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public class CommandStatistics {
+
+    /** The number of nanoseconds in a microsecond. */
+    private static final double NANOS_PER_MICROSECOND = 1e3;
+
+    /** The statistics of the commands in the order of registration. */
+    private final List<Entry> entries = new ArrayList<>();
+
+    /** The cache whose hits and misses are reported as well, or null. */
+    private final ExplosionCache cache;
+
+    /** The file the statistics are written to, or null. */
+    private Path file;
+
+    /** The time between two writes of the file (in nanoseconds). */
+    private long interval;
+
+    /** The time at which the file is written next (in nanoseconds, like System.nanoTime). */
+    private long nextDump;
+
+    /**
+     * Constructor for the statistics.
+     * @param cache The cache whose hits and misses are reported as well, or null.
+     */
+    public CommandStatistics(final ExplosionCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Writes the statistics to a file regularly. The time is checked after every call, so the file is written by
+     * the first call after the interval has passed.
+     * @param file The file the statistics are written to.
+     * @param interval The time between two writes of the file (in nanoseconds).
+     */
+    public void setDumpFile(final Path file, final long interval) {
+        this.file = file;
+        this.interval = interval;
+        this.nextDump = System.nanoTime() + interval;
+    }
+
+    /**
+     * Wraps a command, so that its calls are recorded.
+     * @param command The command.
+     * @return The wrapped command.
+     */
+    public CommandInterface instrument(final CommandInterface command) {
+        Entry entry = new Entry(command.getNameofCommand());
+        entries.add(entry);
+        return new InstrumentedCommand(command, entry, this);
+    }
+
+    /**
+     * Writes the statistics, one line for every command that was called and one for the cache.
+     * @param output The output the statistics are written to.
+     * @throws IOException If the output cannot be written.
+     */
+    public void write(final Appendable output) throws IOException {
+        String separator = "";
+        for (Entry entry : entries) {
+            if (entry.latencies.getCount() > 0) {
+                output.append(separator);
+                entry.write(output);
+                separator = System.lineSeparator();
+            }
+        }
+        if (cache != null) {
+            output.append(separator).append(String.format(Locale.ROOT, "explosionCache: hits=%d misses=%d size=%d",
+                    cache.getHits(), cache.getMisses(), cache.size()));
+        }
+    }
+
+    /**
+     * Writes the statistics to the file if the interval has passed. An error is reported on the standard error
+     * stream, so that it doesn't interrupt the commands.
+     * @param now The current time (in nanoseconds, like System.nanoTime).
+     */
+    void dumpIfDue(final long now) {
+        if (file == null || now - nextDump < 0) {
+            return;
+        }
+        nextDump = now + interval;
+        try {
+            dump();
+        } catch (IOException exception) {
+            System.err.println("Error, the statistics cannot be written: " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Writes the statistics to the file, if there is one. They are written to a temporary file first, which is then
+     * moved over the file.
+     * @throws IOException If the file cannot be written.
+     */
+    public void dump() throws IOException {
+        if (file == null) {
+            return;
+        }
+        StringBuilder output = new StringBuilder();
+        write(output);
+        output.append(System.lineSeparator());
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temporary, output.toString().getBytes(StandardCharsets.UTF_8));
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Method to format a latency.
+     * @param nanos The latency in nanoseconds.
+     * @return The latency in microseconds.
+     */
+    private static String toMicroseconds(final long nanos) {
+        return String.format(Locale.ROOT, "%.1fus", nanos / NANOS_PER_MICROSECOND);
+    }
+
+    /**
+     * The statistics of one command.
+     */
+    static final class Entry {
+
+        /** The name of the command. */
+        private final String name;
+
+        /** The latencies of all calls (in nanoseconds), which also count the calls. */
+        private final LatencyHistogram latencies = new LatencyHistogram();
+
+        /** The number of calls that failed because of invalid input. */
+        private long invalidInput;
+
+        /** The number of calls that failed because they broke a rule. */
+        private long ruleBroken;
+
+        /**
+         * Constructor for the statistics of a command.
+         * @param name The name of the command.
+         */
+        Entry(final String name) {
+            this.name = name;
+        }
+
+        /**
+         * Records a call.
+         * @param latency The latency of the call (in nanoseconds).
+         */
+        void record(final long latency) {
+            latencies.record(latency);
+        }
+
+        /**
+         * Records a call that failed because of invalid input.
+         */
+        void recordInvalidInput() {
+            invalidInput++;
+        }
+
+        /**
+         * Records a call that failed because it broke a rule.
+         */
+        void recordRuleBroken() {
+            ruleBroken++;
+        }
+
+        /**
+         * Writes the statistics of the command in a single line.
+         * @param output The output the line is written to.
+         * @throws IOException If the output cannot be written.
+         */
+        void write(final Appendable output) throws IOException {
+            output.append(name).append(": count=").append(Long.toString(latencies.getCount()))
+                    .append(" invalidInput=").append(Long.toString(invalidInput))
+                    .append(" ruleBroken=").append(Long.toString(ruleBroken))
+                    .append(" p50=").append(toMicroseconds(latencies.getValueAtPercentile(50)))
+                    .append(" p99=").append(toMicroseconds(latencies.getValueAtPercentile(99)))
+                    .append(" p999=").append(toMicroseconds(latencies.getValueAtPercentile(99.9)))
+                    .append(" max=").append(toMicroseconds(latencies.getMax()));
+        }
+    }
+}
@@ -0,0 +1,383 @@
+package edu.kit.informatik.ui;
+
+import java.util.Arrays;
+
+import edu.kit.informatik.data.SystemInitializer;
+import edu.kit.informatik.exceptions.InvalidInputException;
+import edu.kit.informatik.util.StringList;
+
+/**
+ * Hand-written parser that checks the parameters of a command for the correct format and splits them into
+ * tokens in a single pass.
+ *
+ * The parameters have the form of a name, optionally followed by a separator and a list of items
+ * ({@code amount:name} separated by semicolons), or by the limit and offset of a page, or they are a list of
+ * edits ({@code name+amount:name} or {@code name-amount:name} separated by semicolons). Names consist of letters
+ * only, amounts are between 1 and 1000 without leading zeros. The tokens are stored in buffers that are reused
+ * for every command, so only the names themselves are created as new strings.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public class CommandTokenizer {
+
+    /** The maximum number of digits of an amount (those of the largest amount of the system). */
+    private static final int MAX_DIGITS = Integer.toString(SystemInitializer.getMaxAmount()).length();
+
+    /** The maximum number of digits of the limit or offset of a page (so that it fits into an int). */
+    private static final int MAX_PAGE_DIGITS = 9;
+
+    /** The radix of the amounts. */
+    private static final int RADIX = 10;
+
+    /** The initial capacity of the token buffers. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The parameters that are currently tokenized. */
+    private String input;
+
+    /** The index after the first name of the parameters. */
+    private int headEnd;
+
+    /** The start indices of the names of the items. */
+    private int[] nameStarts = new int[INITIAL_CAPACITY];
+
+    /** The end indices of the names of the items. */
+    private int[] nameEnds = new int[INITIAL_CAPACITY];
+
+    /** The amounts of the items. */
+    private int[] amounts = new int[INITIAL_CAPACITY];
+
+    /** The start indices of the names of the assemblies of the edits. */
+    private int[] assemblyStarts = new int[INITIAL_CAPACITY];
+
+    /** The end indices of the names of the assemblies of the edits. */
+    private int[] assemblyEnds = new int[INITIAL_CAPACITY];
+
+    /** The number of items. */
+    private int size;
+
+    /** The last amount that was scanned. */
+    private int scannedAmount;
+
+    /** The limit of the page, or -1 if the parameters don't contain a page. */
+    private int limit;
+
+    /** The offset of the page. */
+    private int offset;
+
+    /**
+     * Tokenizes parameters that consist of a name only.
+     * @param parameters The parameters entered by the user.
+     * @throws InvalidInputException If the parameters are not in the correct format.
+     */
+    public void tokenizeName(final String parameters) throws InvalidInputException {
+        reset(parameters);
+        headEnd = scanName(0);
+        expectEnd(headEnd);
+    }
+
+    /**
+     * Tokenizes parameters that consist of a name, optionally followed by the limit and the offset of a page
+     * ({@code name}, {@code name/limit} or {@code name/limit/offset}). The limit has to be positive, the offset
+     * can be 0.
+     * @param parameters The parameters entered by the user.
+     * @throws InvalidInputException If the parameters are not in the correct format.
+     */
+    public void tokenizePage(final String parameters) throws InvalidInputException {
+        reset(parameters);
+        headEnd = scanName(0);
+        limit = -1;
+        offset = 0;
+        if (headEnd == input.length()) {
+            return;
+        }
+        final char slash = StringList.SLASH.toString().charAt(0);
+        int position = scanNumber(expect(headEnd, slash));
+        if (scannedAmount == 0) {
+            throwWrongFormat();
+        }
+        limit = scannedAmount;
+        if (position < input.length()) {
+            expectEnd(scanNumber(expect(position, slash)));
+            offset = scannedAmount;
+        }
+    }
+
+    /**
+     * Tokenizes the parameters of the addAssembly command ({@code name=amount:name;amount:name...}).
+     * @param parameters The parameters entered by the user.
+     * @throws InvalidInputException If the parameters are not in the correct format.
+     */
+    public void tokenizeAssembly(final String parameters) throws InvalidInputException {
+        reset(parameters);
+        headEnd = scanName(0);
+        int position = expect(headEnd, StringList.EQUALS.toString().charAt(0));
+        position = scanItem(position);
+        while (position < input.length()) {
+            position = scanItem(expect(position, StringList.SEMICOLON.toString().charAt(0)));
+        }
+    }
+
+    /**
+     * Tokenizes parameters that consist of a name, a separator and a single item ({@code name+amount:name} or
+     * {@code name-amount:name}).
+     * @param parameters The parameters entered by the user.
+     * @param separator The character between the name and the item.
+     * @throws InvalidInputException If the parameters are not in the correct format.
+     */
+    public void tokenizeItem(final String parameters, final char separator) throws InvalidInputException {
+        reset(parameters);
+        headEnd = scanName(0);
+        expectEnd(scanItem(expect(headEnd, separator)));
+    }
+
+    /**
+     * Tokenizes a list of edits of the commitEdits command ({@code name+amount:name;name-amount:name...}). Every
+     * edit is stored as an item with the name of its assembly, and the amounts of removals are negative.
+     * @param parameters The parameters entered by the user.
+     * @throws InvalidInputException If the parameters are not in the correct format.
+     */
+    public void tokenizeEdits(final String parameters) throws InvalidInputException {
+        reset(parameters);
+        int position = scanEdit(0);
+        while (position < input.length()) {
+            position = scanEdit(expect(position, StringList.SEMICOLON.toString().charAt(0)));
+        }
+        headEnd = assemblyEnds[0];
+    }
+
+    /**
+     * Tokenizes parameters that consist of two names and a separator between them ({@code name:name}). The
+     * second name is the name of the only item.
+     * @param parameters The parameters entered by the user.
+     * @param separator The character between the names.
+     * @throws InvalidInputException If the parameters are not in the correct format.
+     */
+    public void tokenizePair(final String parameters, final char separator) throws InvalidInputException {
+        reset(parameters);
+        headEnd = scanName(0);
+        int nameStart = expect(headEnd, separator);
+        int nameEnd = scanName(nameStart);
+        expectEnd(nameEnd);
+        nameStarts[0] = nameStart;
+        nameEnds[0] = nameEnd;
+        amounts[0] = 0;
+        size = 1;
+    }
+
+    /**
+     * Getter method for the first name of the parameters.
+     * @return The name.
+     */
+    public String getHead() {
+        return input.substring(0, headEnd);
+    }
+
+    /**
+     * Getter method for the limit of the page.
+     * @return The limit, or -1 if the parameters don't contain a page.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Getter method for the offset of the page.
+     * @return The offset (0 if the parameters contain no offset).
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Getter method for the number of items.
+     * @return The number of items.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Getter method for the amount of an item.
+     * @param index The index of the item.
+     * @return The amount (negative for the removals of {@link #tokenizeEdits(String)}).
+     */
+    public int getAmount(final int index) {
+        return amounts[index];
+    }
+
+    /**
+     * Getter method for the name of an item.
+     * @param index The index of the item.
+     * @return The name.
+     */
+    public String getName(final int index) {
+        return input.substring(nameStarts[index], nameEnds[index]);
+    }
+
+    /**
+     * Getter method for the name of the assembly of an edit.
+     * @param index The index of the edit.
+     * @return The name.
+     */
+    public String getAssembly(final int index) {
+        return input.substring(assemblyStarts[index], assemblyEnds[index]);
+    }
+
+    /**
+     * Prepares the tokenizer for new parameters.
+     * @param parameters The new parameters.
+     */
+    private void reset(final String parameters) {
+        this.input = parameters;
+        this.size = 0;
+    }
+
+    /**
+     * Scans an item ({@code amount:name}) and stores its tokens.
+     * @param position The index at which the item starts.
+     * @return The index after the item.
+     * @throws InvalidInputException If there is no item at the position.
+     */
+    private int scanItem(final int position) throws InvalidInputException {
+        int nameStart = expect(scanAmount(position), StringList.COLON.toString().charAt(0));
+        int nameEnd = scanName(nameStart);
+        if (size == amounts.length) {
+            nameStarts = Arrays.copyOf(nameStarts, size * 2);
+            nameEnds = Arrays.copyOf(nameEnds, size * 2);
+            amounts = Arrays.copyOf(amounts, size * 2);
+        }
+        nameStarts[size] = nameStart;
+        nameEnds[size] = nameEnd;
+        amounts[size] = scannedAmount;
+        size++;
+        return nameEnd;
+    }
+
+    /**
+     * Scans an edit ({@code name+amount:name} or {@code name-amount:name}) and stores its tokens.
+     * @param position The index at which the edit starts.
+     * @return The index after the edit.
+     * @throws InvalidInputException If there is no edit at the position.
+     */
+    private int scanEdit(final int position) throws InvalidInputException {
+        final char minus = StringList.MINUS.toString().charAt(0);
+        int assemblyEnd = scanName(position);
+        boolean removal = assemblyEnd < input.length() && input.charAt(assemblyEnd) == minus;
+        int end = scanItem(removal ? assemblyEnd + 1 : expect(assemblyEnd, StringList.PLUS.toString().charAt(0)));
+        if (size > assemblyStarts.length) {
+            assemblyStarts = Arrays.copyOf(assemblyStarts, amounts.length);
+            assemblyEnds = Arrays.copyOf(assemblyEnds, amounts.length);
+        }
+        assemblyStarts[size - 1] = position;
+        assemblyEnds[size - 1] = assemblyEnd;
+        if (removal) {
+            amounts[size - 1] = -amounts[size - 1];
+        }
+        return end;
+    }
+
+    /**
+     * Scans a name (one or more letters).
+     * @param position The index at which the name starts.
+     * @return The index after the name.
+     * @throws InvalidInputException If there is no name at the position.
+     */
+    private int scanName(final int position) throws InvalidInputException {
+        int end = position;
+        while (end < input.length() && isLetter(input.charAt(end))) {
+            end++;
+        }
+        if (end == position) {
+            throwWrongFormat();
+        }
+        return end;
+    }
+
+    /**
+     * Scans an amount (1 to the largest amount of the system without leading zeros) and stores it in
+     * {@link #scannedAmount}.
+     * @param position The index at which the amount starts.
+     * @return The index after the amount.
+     * @throws InvalidInputException If there is no valid amount at the position.
+     */
+    private int scanAmount(final int position) throws InvalidInputException {
+        int end = position;
+        int amount = 0;
+        while (end < input.length() && isDigit(input.charAt(end)) && end - position < MAX_DIGITS + 1) {
+            amount = amount * RADIX + (input.charAt(end) - '0');
+            end++;
+        }
+        int digits = end - position;
+        if (digits == 0 || digits > MAX_DIGITS || input.charAt(position) == '0'
+                || amount > SystemInitializer.getMaxAmount()) {
+            throwWrongFormat();
+        }
+        scannedAmount = amount;
+        return end;
+    }
+
+    /**
+     * Scans the limit or offset of a page (0 or a number without leading zeros) and stores it in
+     * {@link #scannedAmount}.
+     * @param position The index at which the number starts.
+     * @return The index after the number.
+     * @throws InvalidInputException If there is no valid number at the position.
+     */
+    private int scanNumber(final int position) throws InvalidInputException {
+        int end = position;
+        int number = 0;
+        while (end < input.length() && isDigit(input.charAt(end)) && end - position < MAX_PAGE_DIGITS + 1) {
+            number = number * RADIX + (input.charAt(end) - '0');
+            end++;
+        }
+        int digits = end - position;
+        if (digits == 0 || digits > MAX_PAGE_DIGITS || (digits > 1 && input.charAt(position) == '0')) {
+            throwWrongFormat();
+        }
+        scannedAmount = number;
+        return end;
+    }
+
+    /**
+     * Checks for a separator.
+     * @param position The index of the separator.
+     * @param separator The expected separator.
+     * @return The index after the separator.
+     * @throws InvalidInputException If the separator isn't at the position.
+     */
+    private int expect(final int position, final char separator) throws InvalidInputException {
+        if (position >= input.length() || input.charAt(position) != separator) {
+            throwWrongFormat();
+        }
+        return position + 1;
+    }
+
+    /**
+     * Checks that the parameters end at a position.
+     * @param position The index at which the parameters should end.
+     * @throws InvalidInputException If there are more characters after the position.
+     */
+    private void expectEnd(final int position) throws InvalidInputException {
+        if (position != input.length()) {
+            throwWrongFormat();
+        }
+    }
+
+    private static boolean isLetter(final char character) {
+        return (character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z');
+    }
+
+    private static boolean isDigit(final char character) {
+        return character >= '0' && character <= '9';
+    }
+
+    /**
+     * @throws InvalidInputException If the input is in the wrong format.
+     */
+    private static void throwWrongFormat() throws InvalidInputException {
+        throw new InvalidInputException(StringList.WRONG_FORMAT.toString());
+    }
+}
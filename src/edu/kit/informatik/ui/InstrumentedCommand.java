@@ -0,0 +1,100 @@
+package edu.kit.informatik.ui;
+
+import java.io.IOException;
+
+import edu.kit.informatik.exceptions.InvalidInputException;
+import edu.kit.informatik.exceptions.RuleBrokenException;
+
+/**
+ * Wraps a command and records the latency of every call and the calls that failed in its statistics.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public class InstrumentedCommand implements CommandInterface {
+
+    /** The wrapped command. */
+    private final CommandInterface command;
+
+    /** The statistics of the command. */
+    private final CommandStatistics.Entry entry;
+
+    /** The statistics of all commands, which are written to their file when it is due. */
+    private final CommandStatistics statistics;
+
+    /**
+     * Constructor for an instrumented command.
+     * @param command The wrapped command.
+     * @param entry The statistics of the command.
+     * @param statistics The statistics of all commands.
+     */
+    InstrumentedCommand(CommandInterface command, CommandStatistics.Entry entry, CommandStatistics statistics) {
+        this.command = command;
+        this.entry = entry;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public String getNameofCommand() {
+        return command.getNameofCommand();
+    }
+
+    @Override
+    public boolean isMutating() {
+        return command.isMutating();
+    }
+
+    @Override
+    public boolean hasParameters() {
+        return command.hasParameters();
+    }
+
+    @Override
+    public String getJournalRecord(String parameters) {
+        return command.getJournalRecord(parameters);
+    }
+
+    @Override
+    public String run(String parameters) throws InvalidInputException, RuleBrokenException {
+        long start = System.nanoTime();
+        try {
+            return command.run(parameters);
+        } catch (InvalidInputException exception) {
+            entry.recordInvalidInput();
+            throw exception;
+        } catch (RuleBrokenException exception) {
+            entry.recordRuleBroken();
+            throw exception;
+        } finally {
+            record(start);
+        }
+    }
+
+    @Override
+    public void run(String parameters, Appendable output)
+            throws InvalidInputException, RuleBrokenException, IOException {
+        long start = System.nanoTime();
+        try {
+            command.run(parameters, output);
+        } catch (InvalidInputException exception) {
+            entry.recordInvalidInput();
+            throw exception;
+        } catch (RuleBrokenException exception) {
+            entry.recordRuleBroken();
+            throw exception;
+        } finally {
+            record(start);
+        }
+    }
+
+    /**
+     * Records the latency of a call that has just ended.
+     * @param start The time at which the call started (in nanoseconds, like System.nanoTime).
+     */
+    private void record(long start) {
+        long end = System.nanoTime();
+        entry.record(end - start);
+        statistics.dumpIfDue(end);
+    }
+}
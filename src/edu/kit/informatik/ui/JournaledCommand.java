@@ -0,0 +1,72 @@
+package edu.kit.informatik.ui;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import edu.kit.informatik.exceptions.InvalidInputException;
+import edu.kit.informatik.exceptions.RuleBrokenException;
+import edu.kit.informatik.persistence.Journal;
+
+/**
+ * Wraps a command that changes the system and appends every successful call to a journal (as the record the
+ * command gives for it).
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public class JournaledCommand implements CommandInterface {
+
+    /** The wrapped command. */
+    private final CommandInterface command;
+
+    /** The journal the calls are appended to. */
+    private final Journal journal;
+
+    /**
+     * Constructor for a journaled command.
+     * @param command The wrapped command.
+     * @param journal The journal the calls are appended to.
+     */
+    public JournaledCommand(CommandInterface command, Journal journal) {
+        this.command = command;
+        this.journal = journal;
+    }
+
+    @Override
+    public String getNameofCommand() {
+        return command.getNameofCommand();
+    }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+
+    @Override
+    public boolean hasParameters() {
+        return command.hasParameters();
+    }
+
+    /**
+     * Runs the command and appends the call to the journal if it succeeded.
+     * @param parameters The parameters of the command.
+     * @return The output.
+     * @throws InvalidInputException If the input is not in the correct format.
+     * @throws RuleBrokenException If the input breaks any of the rules of the exercise.
+     * @throws UncheckedIOException If the call cannot be appended to the journal.
+     */
+    @Override
+    public String run(String parameters) throws InvalidInputException, RuleBrokenException {
+        String output = command.run(parameters);
+        String record = command.getJournalRecord(parameters);
+        try {
+            if (record != null) {
+                journal.append(record);
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        return output;
+    }
+}
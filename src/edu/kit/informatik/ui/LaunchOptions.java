@@ -0,0 +1,330 @@
+package edu.kit.informatik.ui;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import edu.kit.informatik.exceptions.InvalidInputException;
+import edu.kit.informatik.persistence.Journal;
+
+/**
+ * The command line options of the program.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public class LaunchOptions {
+
+    /** The option that runs the commands of a script file in batch mode. */
+    public static final String SCRIPT_OPTION = "--script";
+
+    /** The option that runs the commands read from the standard input in batch mode. */
+    public static final String BATCH_OPTION = "--batch";
+
+    /** The option that loads a snapshot before the first command. */
+    public static final String LOAD_OPTION = "--load";
+
+    /** The option that saves a snapshot after the last command. */
+    public static final String SAVE_OPTION = "--save";
+
+    /** The option that journals every change in a directory and recovers the system from it at the start. */
+    public static final String JOURNAL_OPTION = "--journal";
+
+    /** The option that sets the size of a journal segment (in bytes) after which the journal is compacted. */
+    public static final String COMPACT_AFTER_OPTION = "--compact-after";
+
+    /** The option that explodes assemblies with more edges than its value on all processors. */
+    public static final String PARALLEL_OPTION = "--parallel-explosion";
+
+    /** The option that imports an edge list (parent,child,quantity) before the first command. */
+    public static final String IMPORT_OPTION = "--import";
+
+    /** The option that answers queries with a frozen view of the items that is rebuilt after changes. */
+    public static final String FROZEN_READS_OPTION = "--frozen-reads";
+
+    /** The option that keeps the totals of the components of top-level assemblies up to date after changes. */
+    public static final String ROLLUPS_OPTION = "--rollups";
+
+    /** The option that keeps snapshots for undo, redo and named snapshots (its value is the number of undos). */
+    public static final String HISTORY_OPTION = "--history";
+
+    /** The option that records the calls, errors and latencies of every command for the stats command. */
+    public static final String STATS_OPTION = "--stats";
+
+    /** The option that writes the statistics of the commands to a file regularly (implies {@value #STATS_OPTION}). */
+    public static final String STATS_FILE_OPTION = "--stats-file";
+
+    /** The option that sets the time between two writes of the statistics file (in seconds). */
+    public static final String STATS_INTERVAL_OPTION = "--stats-interval";
+
+    /** The default time between two writes of the statistics file (in seconds). */
+    public static final long DEFAULT_STATS_INTERVAL = 60;
+
+    /** How the program is used. */
+    public static final String USAGE = "usage: Main [" + LOAD_OPTION + " <snapshot> | " + JOURNAL_OPTION
+            + " <directory> [" + COMPACT_AFTER_OPTION + " <bytes>]] [" + SAVE_OPTION + " <snapshot>] ["
+            + IMPORT_OPTION + " <csv>] [" + PARALLEL_OPTION + " <edges>] [" + FROZEN_READS_OPTION + "] ["
+            + ROLLUPS_OPTION + "] [" + HISTORY_OPTION + " <changes>] [" + STATS_OPTION + "] [" + STATS_FILE_OPTION
+            + " <file> [" + STATS_INTERVAL_OPTION + " <seconds>]] [" + SCRIPT_OPTION + " <file> | " + BATCH_OPTION
+            + "]";
+
+    /** The script file that is executed in batch mode, or null. */
+    private Path script;
+
+    /** Whether the standard input is executed in batch mode. */
+    private boolean batch;
+
+    /** The snapshot that is loaded at the start, or null. */
+    private Path snapshotToLoad;
+
+    /** The snapshot that is saved at the end, or null. */
+    private Path snapshotToSave;
+
+    /** The directory of the journal, or null. */
+    private Path journal;
+
+    /** The size of a journal segment after which the journal is compacted. */
+    private long compactionThreshold = Journal.DEFAULT_COMPACTION_THRESHOLD;
+
+    /** The edge list that is imported at the start, or null. */
+    private Path edgeList;
+
+    /** The number of edges above which assemblies are exploded in parallel, or -1 for no parallel explosion. */
+    private int parallelThreshold = -1;
+
+    /** Whether queries are answered by a frozen view of the items. */
+    private boolean frozenReads;
+
+    /** Whether the totals of the components of top-level assemblies are kept up to date. */
+    private boolean rollups;
+
+    /** The number of changes that can be undone, or 0 if no history is kept. */
+    private int history;
+
+    /** Whether the calls of the commands are recorded. */
+    private boolean stats;
+
+    /** The file the statistics are written to, or null. */
+    private Path statsFile;
+
+    /** The time between two writes of the statistics file (in seconds). */
+    private long statsInterval = DEFAULT_STATS_INTERVAL;
+
+    /**
+     * Parses the command line options.
+     * @param args The arguments of the program.
+     * @return The options.
+     * @throws InvalidInputException If the arguments are not valid options.
+     */
+    public static LaunchOptions parse(final String[] args) throws InvalidInputException {
+        LaunchOptions options = new LaunchOptions();
+        for (int index = 0; index < args.length; index++) {
+            switch (args[index]) {
+                case BATCH_OPTION:
+                    options.batch = true;
+                    break;
+                case SCRIPT_OPTION:
+                    options.script = Paths.get(getValue(args, ++index));
+                    break;
+                case LOAD_OPTION:
+                    options.snapshotToLoad = Paths.get(getValue(args, ++index));
+                    break;
+                case SAVE_OPTION:
+                    options.snapshotToSave = Paths.get(getValue(args, ++index));
+                    break;
+                case JOURNAL_OPTION:
+                    options.journal = Paths.get(getValue(args, ++index));
+                    break;
+                case COMPACT_AFTER_OPTION:
+                    options.compactionThreshold = parseSize(getValue(args, ++index));
+                    break;
+                case IMPORT_OPTION:
+                    options.edgeList = Paths.get(getValue(args, ++index));
+                    break;
+                case FROZEN_READS_OPTION:
+                    options.frozenReads = true;
+                    break;
+                case ROLLUPS_OPTION:
+                    options.rollups = true;
+                    break;
+                case HISTORY_OPTION:
+                    options.history = (int) Math.min(parseSize(getValue(args, ++index)), Integer.MAX_VALUE);
+                    break;
+                case STATS_OPTION:
+                    options.stats = true;
+                    break;
+                case STATS_FILE_OPTION:
+                    options.statsFile = Paths.get(getValue(args, ++index));
+                    break;
+                case STATS_INTERVAL_OPTION:
+                    options.statsInterval = parseSize(getValue(args, ++index));
+                    break;
+                case PARALLEL_OPTION:
+                    // 0 explodes every assembly in parallel.
+                    options.parallelThreshold = (int) Math.min(parseSize(getValue(args, ++index), 0),
+                            Integer.MAX_VALUE);
+                    break;
+                default:
+                    throw new InvalidInputException("unknown option " + args[index] + ".");
+            }
+        }
+        if (options.batch && options.script != null) {
+            throw new InvalidInputException(SCRIPT_OPTION + " and " + BATCH_OPTION + " cannot be combined.");
+        }
+        if (options.journal != null && options.snapshotToLoad != null) {
+            throw new InvalidInputException(LOAD_OPTION + " and " + JOURNAL_OPTION + " cannot be combined.");
+        }
+        if (options.journal != null && options.edgeList != null) { // The import itself isn't journaled.
+            throw new InvalidInputException(IMPORT_OPTION + " and " + JOURNAL_OPTION + " cannot be combined.");
+        }
+        if (options.journal != null && options.history > 0) { // Undo, redo and restoreSnapshot aren't journaled.
+            throw new InvalidInputException(HISTORY_OPTION + " and " + JOURNAL_OPTION + " cannot be combined.");
+        }
+        if (options.statsFile == null && options.statsInterval != DEFAULT_STATS_INTERVAL) {
+            throw new InvalidInputException(STATS_INTERVAL_OPTION + " needs " + STATS_FILE_OPTION + ".");
+        }
+        return options;
+    }
+
+    /**
+     * Method to parse a size (in bytes or edges).
+     * @param value The value of the option.
+     * @return The size.
+     * @throws InvalidInputException If the value isn't a positive number.
+     */
+    private static long parseSize(final String value) throws InvalidInputException {
+        return parseSize(value, 1);
+    }
+
+    /**
+     * Method to parse a size that has a lower bound.
+     * @param value The value of the option.
+     * @param minimum The smallest allowed size (0 or 1).
+     * @return The size.
+     * @throws InvalidInputException If the value isn't a number or smaller than the minimum.
+     */
+    private static long parseSize(final String value, final long minimum) throws InvalidInputException {
+        try {
+            long size = Long.parseLong(value);
+            if (size >= minimum) {
+                return size;
+            }
+        } catch (NumberFormatException exception) {
+            // Handled below, like a size that is too small.
+        }
+        throw new InvalidInputException("the size " + value
+                + ((minimum > 0) ? " must be a positive number." : " must be 0 or a positive number."));
+    }
+
+    /**
+     * Method to get the value of an option.
+     * @param args The arguments of the program.
+     * @param index The index of the value.
+     * @return The value.
+     * @throws InvalidInputException If the option has no value.
+     */
+    private static String getValue(final String[] args, final int index) throws InvalidInputException {
+        if (index >= args.length) {
+            throw new InvalidInputException("the option " + args[index - 1] + " needs a value.");
+        }
+        return args[index];
+    }
+
+    /**
+     * @return The script file that is executed in batch mode, or null.
+     */
+    public Path getScript() {
+        return script;
+    }
+
+    /**
+     * @return true if the commands are executed in batch mode, otherwise false.
+     */
+    public boolean isBatch() {
+        return batch || script != null;
+    }
+
+    /**
+     * @return The snapshot that is loaded at the start, or null.
+     */
+    public Path getSnapshotToLoad() {
+        return snapshotToLoad;
+    }
+
+    /**
+     * @return The snapshot that is saved at the end, or null.
+     */
+    public Path getSnapshotToSave() {
+        return snapshotToSave;
+    }
+
+    /**
+     * @return The directory of the journal, or null.
+     */
+    public Path getJournal() {
+        return journal;
+    }
+
+    /**
+     * @return The size of a journal segment (in bytes) after which the journal is compacted.
+     */
+    public long getCompactionThreshold() {
+        return compactionThreshold;
+    }
+
+    /**
+     * @return The number of edges above which assemblies are exploded in parallel, or -1 for no parallel explosion.
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * @return The edge list that is imported at the start, or null.
+     */
+    public Path getEdgeList() {
+        return edgeList;
+    }
+
+    /**
+     * @return true if queries are answered by a frozen view of the items, otherwise false.
+     */
+    public boolean isFrozenReads() {
+        return frozenReads;
+    }
+
+    /**
+     * @return true if the totals of the components of top-level assemblies are kept up to date, otherwise false.
+     */
+    public boolean isRollups() {
+        return rollups;
+    }
+
+    /**
+     * @return The number of changes that can be undone, or 0 if no history is kept.
+     */
+    public int getHistory() {
+        return history;
+    }
+
+    /**
+     * @return true if the calls, errors and latencies of every command are recorded, otherwise false.
+     */
+    public boolean isStats() {
+        return stats || statsFile != null;
+    }
+
+    /**
+     * @return The file the statistics are written to, or null.
+     */
+    public Path getStatsFile() {
+        return statsFile;
+    }
+
+    /**
+     * @return The time between two writes of the statistics file (in seconds).
+     */
+    public long getStatsInterval() {
+        return statsInterval;
+    }
+}
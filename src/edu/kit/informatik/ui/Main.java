@@ -1,21 +1,34 @@
 package edu.kit.informatik.ui;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
-import java.util.Collection;
-
-import edu.kit.informatik.commands.AddAssemblyCommand;
-import edu.kit.informatik.commands.AddPartCommand;
-import edu.kit.informatik.commands.GetAssembliesCommand;
-import edu.kit.informatik.commands.GetComponentsCommand;
-import edu.kit.informatik.commands.PrintAssemblyCommand;
-import edu.kit.informatik.commands.RemoveAssemblyCommand;
-import edu.kit.informatik.commands.RemovePartCommand;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import edu.kit.informatik.commands.BomCommands;
+import edu.kit.informatik.commands.HistoryCommands;
+import edu.kit.informatik.commands.StatisticsCommands;
+import edu.kit.informatik.commands.TransactionCommands;
+import edu.kit.informatik.data.EdgeListImporter;
+import edu.kit.informatik.data.ExplosionCache;
 import edu.kit.informatik.data.NeedsAssessment;
+import edu.kit.informatik.data.ParallelExplosion;
+import edu.kit.informatik.data.SnapshotFile;
 import edu.kit.informatik.exceptions.InvalidInputException;
 import edu.kit.informatik.exceptions.RuleBrokenException;
+import edu.kit.informatik.persistence.DurableOutputStream;
+import edu.kit.informatik.persistence.Journal;
 import edu.kit.informatik.util.StringList;
 
 /**
@@ -29,71 +42,297 @@ public class Main {
 
     /** The command that terminates the program. */
     public static final String QUIT_COMMAND = "quit";
-    
+
+    /** The size of the input and output buffers in batch mode (in characters). */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /** The number of output lines after which the output is flushed in batch mode. */
+    private static final int FLUSH_INTERVAL = 8192;
+
+    /** The number of nanoseconds in a second. */
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    /** The exit status of the program when the edge list cannot be imported. */
+    private static final int IMPORT_FAILED_STATUS = 1;
+
     /**
      * Main method to execute the program.
+     *
+     * Without arguments the commands are read interactively. With {@value LaunchOptions#SCRIPT_OPTION} followed
+     * by a file or with {@value LaunchOptions#BATCH_OPTION} they are executed in batch mode: the output is buffered
+     * and the throughput is reported on the standard error stream at the end. The output itself is the same in
+     * both modes. A snapshot can be loaded before the first command and saved after the last one.
+     *
+     * With {@value LaunchOptions#JOURNAL_OPTION} the system is recovered from a journal at the start and every
+     * change is appended to it. The journal is committed whenever output is written, so no "OK" is shown before
+     * its change is on the disk, and in batch mode all changes between two flushes share a single commit. With
+     * {@value LaunchOptions#PARALLEL_OPTION} large assemblies are exploded on all processors, with
+     * {@value LaunchOptions#IMPORT_OPTION} an edge list is imported before the first command (the program exits
+     * with status 1 if it is invalid), with
+     * {@value LaunchOptions#FROZEN_READS_OPTION} queries are answered by a frozen view of the items, and with
+     * {@value LaunchOptions#ROLLUPS_OPTION} the components of top-level assemblies are kept up to date. With
+     * {@value LaunchOptions#HISTORY_OPTION} changes can be undone and redone, and snapshots can be taken under a
+     * name, queried and restored. With
+     * {@value LaunchOptions#STATS_OPTION} the calls, errors and latencies of every command are recorded for the stats
+     * command, and with {@value LaunchOptions#STATS_FILE_OPTION} they are also written to a file regularly and at
+     * the end.
      * @param args Arguments.
+     * @throws IOException If the input cannot be read, the output cannot be written or the journal fails.
      */
     public static void main(String[] args) throws IOException {
-        final NeedsAssessment factory = new NeedsAssessment();
-        final Collection<CommandInterface> commands = initializeAllCommands(factory);
-        BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
-        String input = br.readLine();
-        while (!input.equals(QUIT_COMMAND)) {
-            int numberofSpaces = input.length() - input.replaceAll(" ", "").length();
-            try {
-                if (input.isEmpty() || input.trim().isEmpty()) { // If no input or input with only spaces was entered.
-                    throw new InvalidInputException("you must enter a command.");
-                }
-                final String[] inputArray = input.split(StringList.COMMAND_SEPARATOR.toString());
-              // Too many spaces entered or spaces entered for commands without parameters.
-                if (numberofSpaces > 1) {
-                    throw new InvalidInputException(StringList.TOO_MANY_SPACES.toString());
+        final LaunchOptions options;
+        try {
+            options = LaunchOptions.parse(args);
+        } catch (InvalidInputException exception) {
+            System.err.println("Error, " + exception.getMessage());
+            System.err.println(LaunchOptions.USAGE);
+            return;
+        }
+        final NeedsAssessment factory = new NeedsAssessment(ExplosionCache.DEFAULT_CAPACITY, options.getHistory() > 0);
+        if (options.getHistory() > 0) {
+            factory.setHistoryCapacity(options.getHistory());
+        }
+        if (options.getParallelThreshold() >= 0) {
+            factory.setParallelExplosion(new ParallelExplosion(ForkJoinPool.commonPool(),
+                    options.getParallelThreshold()));
+        }
+        factory.setFrozenReads(options.isFrozenReads());
+        factory.setMaintainedRollups(options.isRollups());
+        if (options.getSnapshotToLoad() != null) {
+            SnapshotFile.load(options.getSnapshotToLoad(), factory);
+        }
+        if (options.getEdgeList() != null && !importEdgeList(options.getEdgeList(), factory)) {
+            System.exit(IMPORT_FAILED_STATUS); // Scripts must not go on as if the edges were there.
+        }
+        final CommandStatistics statistics = options.isStats() ? new CommandStatistics(factory.getCache()) : null;
+        if (options.getStatsFile() != null) {
+            statistics.setDumpFile(options.getStatsFile(), TimeUnit.SECONDS.toNanos(options.getStatsInterval()));
+        }
+        final CommandRegistry commands = initializeAllCommands(factory, statistics);
+        try (Journal journal = (options.getJournal() == null) ? null : Journal.open(options.getJournal(),
+                options.getCompactionThreshold(), factory, line -> execute(commands, line))) {
+            CommandRegistry journaledCommands = commands;
+            OutputStream output = System.out;
+            if (journal != null) {
+                journaledCommands = journal(commands, journal);
+                output = new DurableOutputStream(System.out, journal);
+            }
+            if (statistics != null) { // The latencies include appending to the journal.
+                journaledCommands = instrument(journaledCommands, statistics);
+            }
+            if (options.getScript() != null) {
+                try (Reader reader = Files.newBufferedReader(options.getScript(), StandardCharsets.UTF_8)) {
+                    runBatch(journaledCommands, reader, output);
                 }
-                final CommandInterface command = commands
-                        .stream()
-                        .filter(order -> order.getNameofCommand().equals(inputArray[0]))
-                        .findAny()
-                        .orElseThrow(() -> new InvalidInputException(StringList.COMMAND_DOESNT_EXIST.toString()));
-                final String parameters = getParameters(inputArray, command);
-                System.out.println(command.run(parameters));
-            } catch (RuleBrokenException | InvalidInputException exception) {
-                System.out.println("Error, " + exception.getMessage());
+            } else if (options.isBatch()) {
+                runBatch(journaledCommands, new InputStreamReader(System.in), output);
+            } else {
+                runInteractive(journaledCommands, output);
             }
+        }
+        if (options.getSnapshotToSave() != null) {
+            SnapshotFile.save(factory, options.getSnapshotToSave());
+        }
+        if (statistics != null) {
+            statistics.dump();
+        }
+    }
+
+    /**
+     * Imports an edge list and reports the time it took on the standard error stream.
+     * @param file The edge list.
+     * @param factory The system the edges are added to.
+     * @return true if the edges were imported, false if the edge list is invalid (the system is unchanged then).
+     * @throws IOException If the edge list cannot be read.
+     */
+    private static boolean importEdgeList(final Path file, final NeedsAssessment factory) throws IOException {
+        long start = System.nanoTime();
+        try {
+            int numberofEdges = EdgeListImporter.importFile(file, factory);
+            System.err.printf("%d edges imported in %.3f s%n", numberofEdges,
+                    (System.nanoTime() - start) / NANOS_PER_SECOND);
+            return true;
+        } catch (InvalidInputException | RuleBrokenException exception) {
+            System.err.println("Error, " + exception.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Reads the commands line by line and prints the output of every command immediately.
+     * @param commands The commands.
+     * @param output The stream the output is written to.
+     * @throws IOException If the input cannot be read or the output cannot be written.
+     */
+    private static void runInteractive(final CommandRegistry commands, final OutputStream output)
+            throws IOException {
+        BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
+        Writer out = new BufferedWriter(new OutputStreamWriter(output));
+        String lineSeparator = System.lineSeparator();
+        String input = br.readLine();
+        while (input != null && !input.equals(QUIT_COMMAND)) {
+            execute(commands, input, out);
+            out.write(lineSeparator);
+            out.flush();
             input = br.readLine();
         }
     }
-    
+
+    /**
+     * Executes all commands of an input with large buffers. The output is only flushed every
+     * {@value #FLUSH_INTERVAL} lines and at the end.
+     * @param commands The commands.
+     * @param input The input the commands are read from.
+     * @param output The stream the output is written to.
+     * @throws IOException If the input cannot be read or the output cannot be written.
+     */
+    private static void runBatch(final CommandRegistry commands, final Reader input, final OutputStream output)
+            throws IOException {
+        BufferedReader br = new BufferedReader(input, BUFFER_SIZE);
+        Writer out = new BufferedWriter(new OutputStreamWriter(output), BUFFER_SIZE);
+        String lineSeparator = System.lineSeparator();
+        long numberofCommands = 0;
+        long start = System.nanoTime();
+        String line = br.readLine();
+        while (line != null && !line.equals(QUIT_COMMAND)) {
+            execute(commands, line, out);
+            out.write(lineSeparator);
+            numberofCommands++;
+            if (numberofCommands % FLUSH_INTERVAL == 0) {
+                out.flush();
+            }
+            line = br.readLine();
+        }
+        out.flush();
+        double seconds = Math.max(System.nanoTime() - start, 1) / NANOS_PER_SECOND;
+        System.err.printf("%d commands in %.3f s (%.0f commands/s)%n", numberofCommands, seconds,
+                numberofCommands / seconds);
+    }
+
+    /**
+     * Executes a single line of input.
+     * @param commands The commands.
+     * @param input The line entered by the user.
+     * @return The output of the command or the error message.
+     */
+    private static String execute(final CommandRegistry commands, final String input) {
+        StringBuilder output = new StringBuilder();
+        try {
+            execute(commands, input, output);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception); // A StringBuilder is never closed.
+        }
+        return output.toString();
+    }
+
+    /**
+     * Executes a single line of input and writes the output of the command or the error message to a sink as it
+     * is produced, so that large outputs never have to be held in memory as a whole.
+     * @param commands The commands.
+     * @param input The line entered by the user.
+     * @param output The sink.
+     * @throws IOException If the output cannot be written.
+     */
+    private static void execute(final CommandRegistry commands, final String input, final Appendable output)
+            throws IOException {
+        try {
+            if (input.trim().isEmpty()) { // If no input or input with only spaces was entered.
+                throw new InvalidInputException("you must enter a command.");
+            }
+            // Too many spaces entered or spaces entered for commands without parameters.
+            if (countSpaces(input) > 1) {
+                throw new InvalidInputException(StringList.TOO_MANY_SPACES.toString());
+            }
+            final int separator = input.indexOf(StringList.COMMAND_SEPARATOR.toString().charAt(0));
+            final CommandInterface command = commands.get(input, 0, (separator < 0) ? input.length() : separator);
+            if (command == null) {
+                throw new InvalidInputException(StringList.COMMAND_DOESNT_EXIST.toString());
+            }
+            final String parameters = command.hasParameters() ? getParameters(input, separator) : "";
+            if (!command.hasParameters() && separator >= 0) {
+                throw new InvalidInputException("this command doesn't take parameters.");
+            }
+            command.run(parameters, output);
+        } catch (RuleBrokenException | InvalidInputException exception) {
+            output.append("Error, ").append(exception.getMessage());
+        }
+    }
+
     /**
-     * Initializes the commands.
+     * Counts the spaces in a line of input.
+     * @param input The line.
+     * @return The number of spaces.
+     */
+    private static int countSpaces(final String input) {
+        int numberofSpaces = 0;
+        for (int index = 0; index < input.length(); index++) {
+            if (input.charAt(index) == ' ') {
+                numberofSpaces++;
+            }
+        }
+        return numberofSpaces;
+    }
+
+    /**
+     * Initializes the commands of all modules.
      * 
      * @param factory All the methods are called from.
-     * @return The list of commands.
+     * @param statistics The statistics that are printed by the stats command, or null if they are not collected.
+     * @return The registry of commands.
      */
-    private static Collection<CommandInterface> initializeAllCommands(final NeedsAssessment factory) {
-        return Arrays.asList(new AddAssemblyCommand(factory), new AddPartCommand(factory),
-                new GetAssembliesCommand(factory), new GetComponentsCommand(factory), 
-                new PrintAssemblyCommand(factory), new RemoveAssemblyCommand(factory), 
-                new RemovePartCommand(factory));
+    private static CommandRegistry initializeAllCommands(final NeedsAssessment factory,
+            final CommandStatistics statistics) {
+        CommandRegistry commands = new CommandRegistry();
+        for (CommandModule module : Arrays.asList(new BomCommands(factory), new TransactionCommands(factory),
+                new HistoryCommands(factory), new StatisticsCommands(statistics))) {
+            commands.register(module);
+        }
+        return commands;
     }
     
+    /**
+     * Creates a registry in which every command that changes the system is journaled.
+     *
+     * @param commands The commands.
+     * @param journal The journal.
+     * @return The registry of journaled commands.
+     */
+    private static CommandRegistry journal(final CommandRegistry commands, final Journal journal) {
+        CommandRegistry journaledCommands = new CommandRegistry();
+        for (CommandInterface command : commands.getCommands()) {
+            journaledCommands.register(command.isMutating() ? new JournaledCommand(command, journal) : command);
+        }
+        return journaledCommands;
+    }
+
+    /**
+     * Creates a registry in which the calls of every command are recorded in statistics.
+     *
+     * @param commands The commands.
+     * @param statistics The statistics.
+     * @return The registry of instrumented commands.
+     */
+    private static CommandRegistry instrument(final CommandRegistry commands, final CommandStatistics statistics) {
+        CommandRegistry instrumentedCommands = new CommandRegistry();
+        for (CommandInterface command : commands.getCommands()) {
+            instrumentedCommands.register(statistics.instrument(command));
+        }
+        return instrumentedCommands;
+    }
+
     /**
      * Getter method for parameters.
      * 
-     * @param inputArray The array of inputs after being split by the space in the middle.
-     * @param command    The command that the user input.
+     * @param input     The line entered by the user.
+     * @param separator The index of the space between the command and its parameters, or -1 if there is none.
      * @return The parameters. 
-     * @throws InvalidInputException If the user input wrong number of parameters.
+     * @throws InvalidInputException If the user input no parameters.
      */
-    private static String getParameters(final String[] inputArray, final CommandInterface command)
-            throws InvalidInputException {
+    private static String getParameters(final String input, final int separator) throws InvalidInputException {
         // The input can be a command and its parameter.
-        if (inputArray.length > 2) {
-            throw new InvalidInputException("wrong input format.");
-        }
-        if (inputArray.length == 1) { 
-                throw new InvalidInputException("you have to give parameters.");
+        if (separator < 0 || separator == input.length() - 1) {
+            throw new InvalidInputException("you have to give parameters.");
         }
-        return inputArray[1];
+        return input.substring(separator + 1);
     }
 }
@@ -0,0 +1,157 @@
+package edu.kit.informatik.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Keeps the k smallest of the elements offered to it, in O(n log k) time and O(k) memory for n elements instead
+ * of sorting all of them.
+ *
+ * The elements are kept in a binary heap whose root is the largest of them, so a new element only has to be
+ * compared with the root to know whether it belongs to the k smallest so far.
+ *
+ * @param <T> The type of the elements.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public final class BoundedHeap<T> {
+
+    /** The maximum number of elements that are kept. */
+    private final int capacity;
+
+    /** The order of the elements. */
+    private final Comparator<? super T> comparator;
+
+    /** The elements, as a heap with the largest one at index 0. */
+    private final List<T> heap;
+
+    /**
+     * Constructor for a bounded heap.
+     * @param capacity The maximum number of elements that are kept (k).
+     * @param comparator The order of the elements.
+     */
+    public BoundedHeap(int capacity, Comparator<? super T> comparator) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("the capacity of the heap cannot be negative.");
+        }
+        this.capacity = capacity;
+        this.comparator = comparator;
+        this.heap = new ArrayList<>(Math.min(capacity, 1 << 10));
+    }
+
+    /**
+     * Offers an element, which is kept if it is among the k smallest so far.
+     * @param element The element.
+     */
+    public void offer(T element) {
+        if (heap.size() < capacity) {
+            heap.add(element);
+            siftUp(heap.size() - 1);
+        } else if (capacity > 0 && comparator.compare(element, heap.get(0)) < 0) {
+            heap.set(0, element);
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Getter method for the elements that were kept, sorted from the smallest to the largest.
+     * @return The k smallest elements (or all, if fewer were offered).
+     */
+    public List<T> toSortedList() {
+        List<T> sorted = new ArrayList<>(heap);
+        Collections.sort(sorted, comparator);
+        return sorted;
+    }
+
+    /**
+     * Moves an element up until its parent isn't smaller.
+     * @param index The index of the element.
+     */
+    private void siftUp(int index) {
+        T element = heap.get(index);
+        int current = index;
+        while (current > 0) {
+            int parent = (current - 1) / 2;
+            if (comparator.compare(element, heap.get(parent)) <= 0) {
+                break;
+            }
+            heap.set(current, heap.get(parent));
+            current = parent;
+        }
+        heap.set(current, element);
+    }
+
+    /**
+     * Moves an element down until none of its children is larger.
+     * @param index The index of the element.
+     */
+    private void siftDown(int index) {
+        T element = heap.get(index);
+        int current = index;
+        while (2 * current + 1 < heap.size()) {
+            int child = 2 * current + 1;
+            if (child + 1 < heap.size() && comparator.compare(heap.get(child + 1), heap.get(child)) > 0) {
+                child++;
+            }
+            if (comparator.compare(element, heap.get(child)) >= 0) {
+                break;
+            }
+            heap.set(current, heap.get(child));
+            current = child;
+        }
+        heap.set(current, element);
+    }
+
+    /**
+     * Moves the k smallest of some longs to the start of their array, sorted, in O(n log k) time.
+     * @param keys The longs.
+     * @param length The number of longs at the start of the array that are considered (n).
+     * @param count The number of smallest longs that are wanted (k).
+     * @return The number of longs at the start of the array that are now the smallest, sorted (at most k).
+     */
+    public static int smallest(long[] keys, int length, int count) {
+        int size = Math.min(length, count);
+        if (size <= 0) {
+            return 0;
+        }
+        for (int index = size / 2 - 1; index >= 0; index--) { // The first k longs become a heap.
+            siftDown(keys, index, size);
+        }
+        for (int index = size; index < length; index++) {
+            if (keys[index] < keys[0]) {
+                keys[0] = keys[index];
+                siftDown(keys, 0, size);
+            }
+        }
+        Arrays.sort(keys, 0, size);
+        return size;
+    }
+
+    /**
+     * Moves a long down a heap with the largest long at index 0 until none of its children is larger.
+     * @param keys The heap.
+     * @param index The index of the long.
+     * @param size The size of the heap.
+     */
+    private static void siftDown(long[] keys, int index, int size) {
+        long key = keys[index];
+        int current = index;
+        while (2 * current + 1 < size) {
+            int child = 2 * current + 1;
+            if (child + 1 < size && keys[child + 1] > keys[child]) {
+                child++;
+            }
+            if (key >= keys[child]) {
+                break;
+            }
+            keys[current] = keys[child];
+            current = child;
+        }
+        keys[current] = key;
+    }
+}
@@ -0,0 +1,99 @@
+package edu.kit.informatik.util;
+
+import java.util.Arrays;
+
+/**
+ * A set of non-negative ints, stored in a single int array with open addressing, so that no value is boxed.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public final class IntHashSet {
+
+    /** The value of a slot that is free. */
+    private static final int FREE = -1;
+
+    /** The slots, FREE or a value. Its length is a power of two. */
+    private int[] slots;
+
+    /** The number of values. */
+    private int size;
+
+    /** Constructor for an empty set. */
+    public IntHashSet() {
+        this(8);
+    }
+
+    /**
+     * Constructor for an empty set with room for a number of values.
+     * @param expectedSize The number of values the set is expected to hold.
+     */
+    public IntHashSet(int expectedSize) {
+        slots = new int[IntIntHashMap.tableSize(expectedSize)];
+        Arrays.fill(slots, FREE);
+    }
+
+    /**
+     * Adds a value.
+     * @param value The value, which must not be negative.
+     * @return true if the set didn't contain the value yet, otherwise false.
+     */
+    public boolean add(int value) {
+        int mask = slots.length - 1;
+        int slot = IntIntHashMap.mix(value) & mask;
+        while (slots[slot] != FREE) {
+            if (slots[slot] == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = value;
+        if (++size * 2 > slots.length) {
+            grow();
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether the set contains a value.
+     * @param value The value.
+     * @return true if the set contains it, otherwise false.
+     */
+    public boolean contains(int value) {
+        int mask = slots.length - 1;
+        for (int slot = IntIntHashMap.mix(value) & mask; slots[slot] != FREE; slot = (slot + 1) & mask) {
+            if (slots[slot] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Getter method for the number of values.
+     * @return The number of values in the set.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Doubles the number of slots.
+     */
+    private void grow() {
+        int[] old = slots;
+        slots = new int[old.length * 2];
+        Arrays.fill(slots, FREE);
+        int mask = slots.length - 1;
+        for (int value : old) {
+            if (value != FREE) {
+                int slot = IntIntHashMap.mix(value) & mask;
+                while (slots[slot] != FREE) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = value;
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package edu.kit.informatik.util;
+
+import java.util.Arrays;
+
+/**
+ * A map from non-negative ints to ints, stored in two int arrays with open addressing, so that neither keys nor
+ * values are boxed.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public final class IntIntHashMap {
+
+    /** The key of a slot that is free. */
+    private static final int FREE = -1;
+
+    /** The keys of the slots, FREE or a key. Its length is a power of two. */
+    private int[] keys;
+
+    /** The values of the slots. */
+    private int[] values;
+
+    /** The number of keys. */
+    private int size;
+
+    /** Constructor for an empty map. */
+    public IntIntHashMap() {
+        this(8);
+    }
+
+    /**
+     * Constructor for an empty map with room for a number of keys.
+     * @param expectedSize The number of keys the map is expected to hold.
+     */
+    public IntIntHashMap(int expectedSize) {
+        int length = tableSize(expectedSize);
+        keys = new int[length];
+        values = new int[length];
+        Arrays.fill(keys, FREE);
+    }
+
+    /**
+     * Getter method for the value of a key.
+     * @param key The key.
+     * @param missing The value that is returned if the map doesn't contain the key.
+     * @return The value of the key, or missing.
+     */
+    public int get(int key, int missing) {
+        int mask = keys.length - 1;
+        for (int slot = mix(key) & mask; keys[slot] != FREE; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Maps a key to a value.
+     * @param key The key, which must not be negative.
+     * @param value The value.
+     */
+    public void put(int key, int value) {
+        int slot = findOrInsert(key); // Has to come first, as it may replace the arrays.
+        values[slot] = value;
+    }
+
+    /**
+     * Adds to the value of a key, where a key that isn't in the map yet counts as 0.
+     * @param key The key, which must not be negative.
+     * @param delta The value that is added.
+     * @return The new value of the key.
+     */
+    public int addTo(int key, int delta) {
+        int slot = findOrInsert(key);
+        values[slot] += delta;
+        return values[slot];
+    }
+
+    /**
+     * Checks whether the map contains a key.
+     * @param key The key.
+     * @return true if the map contains the key, otherwise false.
+     */
+    public boolean containsKey(int key) {
+        int mask = keys.length - 1;
+        for (int slot = mix(key) & mask; keys[slot] != FREE; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Getter method for the number of keys.
+     * @return The number of keys in the map.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Helper method to find the slot of a key, which is taken (with a value of 0) if the key isn't in the map yet.
+     * @param key The key.
+     * @return The slot of the key.
+     */
+    private int findOrInsert(int key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != FREE) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if ((size + 1) * 2 > keys.length) {
+            grow();
+            return findOrInsert(key);
+        }
+        keys[slot] = key;
+        size++;
+        return slot;
+    }
+
+    /**
+     * Doubles the number of slots.
+     */
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        Arrays.fill(keys, FREE);
+        int mask = keys.length - 1;
+        for (int index = 0; index < oldKeys.length; index++) {
+            if (oldKeys[index] != FREE) {
+                int slot = mix(oldKeys[index]) & mask;
+                while (keys[slot] != FREE) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[index];
+                values[slot] = oldValues[index];
+            }
+        }
+    }
+
+    /**
+     * Helper method to get the number of slots for a number of keys, so that at most half of the slots are taken.
+     * @param expectedSize The number of keys.
+     * @return The number of slots (a power of two).
+     */
+    static int tableSize(int expectedSize) {
+        int length = 4;
+        while (length < expectedSize * 2 && length < (1 << 30)) {
+            length <<= 1;
+        }
+        return length;
+    }
+
+    /**
+     * Mixes the bits of a key, so that consecutive ids don't end up in consecutive slots and form long runs.
+     * @param key The key.
+     * @return The mixed key.
+     */
+    static int mix(int key) {
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,287 @@
+package edu.kit.informatik.util;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A map from non-negative ints to objects that keeps the order in which the keys were added, like a
+ * LinkedHashMap, but without boxing the keys or allocating an entry per key.
+ *
+ * The keys and values are stored in two arrays in the order they were added, and an int array with open
+ * addressing points from the keys to their positions. A removed key leaves a gap that is skipped until the
+ * arrays are compacted the next time they are full.
+ *
+ * @param <V> The type of the values.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public final class IntObjectHashMap<V> {
+
+    /** The value of a slot that was never used. */
+    private static final int FREE = 0;
+
+    /** The value of a slot whose key was removed. */
+    private static final int REMOVED = -1;
+
+    /** The key of a position whose key was removed. */
+    private static final int GAP = -1;
+
+    /** The number of keys the arrays have room for when the first key is added. */
+    private static final int INITIAL_CAPACITY = 4;
+
+    /** The arrays of an empty map that never had a key. */
+    private static final int[] NO_INTS = new int[0];
+
+    /** The slots, FREE, REMOVED or the position of a key plus one. Its length is twice the capacity. */
+    private int[] slots = NO_INTS;
+
+    /** The keys in the order they were added, or GAP for removed keys. */
+    private int[] keys = NO_INTS;
+
+    /** The values in the order their keys were added, or null for removed keys. */
+    private Object[] values = newValues(0);
+
+    /** The number of positions that are in use, including gaps. */
+    private int positions;
+
+    /** The number of keys. */
+    private int size;
+
+    /** The number of changes that added or removed keys, to detect changes during an iteration. */
+    private int modifications;
+
+    /** The view of the values. */
+    private final Collection<V> valuesView = new Values();
+
+    /**
+     * Getter method for the value of a key.
+     * @param key The key.
+     * @return The value, or null if the map doesn't contain the key.
+     */
+    public V get(int key) {
+        int slot = find(key);
+        return (slot < 0) ? null : valueAt(slots[slot] - 1);
+    }
+
+    /**
+     * Maps a key to a value. A key that is already in the map keeps its position.
+     * @param key The key, which must not be negative.
+     * @param value The value.
+     * @return The previous value of the key, or null if the map didn't contain it.
+     */
+    public V put(int key, V value) {
+        int slot = find(key);
+        if (slot >= 0) {
+            V previous = valueAt(slots[slot] - 1);
+            values[slots[slot] - 1] = value;
+            return previous;
+        }
+        if (positions == keys.length) {
+            rehash();
+        }
+        keys[positions] = key;
+        values[positions] = value;
+        positions++;
+        int mask = slots.length - 1;
+        slot = IntIntHashMap.mix(key) & mask;
+        while (slots[slot] > FREE) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = positions;
+        size++;
+        modifications++;
+        return null;
+    }
+
+    /**
+     * Removes a key.
+     * @param key The key.
+     * @return The value of the key, or null if the map didn't contain it.
+     */
+    public V remove(int key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return null;
+        }
+        int position = slots[slot] - 1;
+        V previous = valueAt(position);
+        slots[slot] = REMOVED;
+        keys[position] = GAP;
+        values[position] = null;
+        size--;
+        modifications++;
+        if (size == 0) {
+            clear();
+        }
+        return previous;
+    }
+
+    /**
+     * Removes all keys.
+     */
+    public void clear() {
+        Arrays.fill(slots, FREE);
+        Arrays.fill(values, 0, positions, null);
+        positions = 0;
+        size = 0;
+        modifications++;
+    }
+
+    /**
+     * Checks whether the map contains a key.
+     * @param key The key.
+     * @return true if the map contains the key, otherwise false.
+     */
+    public boolean containsKey(int key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * Getter method for the number of keys.
+     * @return The number of keys in the map.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Method to check whether the map is empty.
+     * @return true if the map contains no keys, otherwise false.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Getter method for the values, in the order in which their keys were added. The collection is a view of the
+     * map and cannot be modified.
+     * @return The values.
+     */
+    public Collection<V> values() {
+        return valuesView;
+    }
+
+    /**
+     * Helper method to find the slot of a key.
+     * @param key The key.
+     * @return The slot, or -1 if the map doesn't contain the key.
+     */
+    private int find(int key) {
+        if (slots.length == 0) {
+            return -1;
+        }
+        int mask = slots.length - 1;
+        for (int slot = IntIntHashMap.mix(key) & mask; slots[slot] != FREE; slot = (slot + 1) & mask) {
+            if (slots[slot] != REMOVED && keys[slots[slot] - 1] == key) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Moves the keys together, closing the gaps, and doubles the capacity if more than half of it is used by keys.
+     * Afterwards there is room for at least one more key.
+     */
+    private void rehash() {
+        int capacity = (keys.length == 0) ? INITIAL_CAPACITY
+                : (size * 2 >= keys.length) ? keys.length * 2 : keys.length;
+        int[] newKeys = new int[capacity];
+        Object[] newValues = newValues(capacity);
+        int[] newSlots = new int[capacity * 2];
+        int mask = newSlots.length - 1;
+        int count = 0;
+        for (int position = 0; position < positions; position++) {
+            if (keys[position] != GAP) {
+                newKeys[count] = keys[position];
+                newValues[count] = values[position];
+                int slot = IntIntHashMap.mix(keys[position]) & mask;
+                while (newSlots[slot] != FREE) {
+                    slot = (slot + 1) & mask;
+                }
+                newSlots[slot] = ++count;
+            }
+        }
+        keys = newKeys;
+        values = newValues;
+        slots = newSlots;
+        positions = count;
+    }
+
+    /**
+     * Helper method to get the value at a position.
+     * @param position The position.
+     * @return The value.
+     */
+    @SuppressWarnings("unchecked")
+    private V valueAt(int position) {
+        return (V) values[position];
+    }
+
+    /**
+     * Helper method to create an array of values.
+     * @param length The length of the array.
+     * @return The array.
+     */
+    private static Object[] newValues(int length) {
+        return new Object[length];
+    }
+
+    /**
+     * The values of the map, in the order in which their keys were added.
+     */
+    private final class Values extends AbstractCollection<V> {
+
+        @Override
+        public Iterator<V> iterator() {
+            return new Iterator<V>() {
+
+                /** The number of changes the iteration started with. */
+                private final int expectedModifications = modifications;
+
+                /** The next position that is looked at. */
+                private int position;
+
+                @Override
+                public boolean hasNext() {
+                    checkModifications();
+                    while (position < positions && keys[position] == GAP) {
+                        position++;
+                    }
+                    return position < positions;
+                }
+
+                @Override
+                public V next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return valueAt(position++);
+                }
+
+                /** Checks that the map wasn't changed since the iteration started. */
+                private void checkModifications() {
+                    if (modifications != expectedModifications) {
+                        throw new ConcurrentModificationException();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size == 0;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package edu.kit.informatik.util;
+
+/**
+ * A histogram of non-negative values (such as latencies in nanoseconds) with a fixed size, in the style of
+ * HdrHistogram.
+ *
+ * Values below 64 get a bucket each. Above that every power of two is split into 32 buckets of equal width, so a
+ * value is known up to about 3 % of itself, from nanoseconds up to centuries, in less than 2000 counters. Recording
+ * a value is a shift and an array increment and never allocates. The histogram is not thread-safe.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public final class LatencyHistogram {
+
+    /** The number of bits of a value that are kept exactly. */
+    private static final int PRECISION_BITS = 6;
+
+    /** The number of buckets per power of two. */
+    private static final int SUB_BUCKETS = 1 << (PRECISION_BITS - 1);
+
+    /** The number of buckets, enough for every non-negative long. */
+    private static final int BUCKETS = (Long.SIZE - PRECISION_BITS + 2) * SUB_BUCKETS;
+
+    /** The number of values in each bucket. */
+    private final long[] counts = new long[BUCKETS];
+
+    /** The number of values. */
+    private long count;
+
+    /** The sum of all values. */
+    private long sum;
+
+    /** The largest value. */
+    private long max;
+
+    /**
+     * Records a value.
+     * @param value The value (negative values are recorded as 0).
+     */
+    public void record(long value) {
+        long recorded = Math.max(value, 0);
+        counts[bucketOf(recorded)]++;
+        count++;
+        sum += recorded;
+        max = Math.max(max, recorded);
+    }
+
+    /**
+     * Getter method for the number of recorded values.
+     * @return The number of values.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Getter method for the largest recorded value.
+     * @return The largest value, or 0 if no value was recorded.
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Getter method for the mean of the recorded values.
+     * @return The mean, or 0 if no value was recorded.
+     */
+    public double getMean() {
+        return (count == 0) ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Getter method for a percentile of the recorded values.
+     * @param percentile The percentile (between 0 and 100).
+     * @return The largest value of the bucket that contains the percentile (at most the largest value), or 0 if no
+     *         value was recorded.
+     * @throws IllegalArgumentException If the percentile isn't between 0 and 100.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("the percentile must be between 0 and 100.");
+        }
+        long rank = Math.max((long) Math.ceil(percentile / 100 * count), 1);
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS && count > 0; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return Math.min(highestValueOf(bucket), max);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Removes all recorded values.
+     */
+    public void reset() {
+        java.util.Arrays.fill(counts, 0);
+        count = 0;
+        sum = 0;
+        max = 0;
+    }
+
+    /**
+     * Helper method to get the bucket of a value.
+     * @param value The non-negative value.
+     * @return The index of the bucket.
+     */
+    private static int bucketOf(long value) {
+        int shift = Math.max(Long.SIZE - Long.numberOfLeadingZeros(value) - PRECISION_BITS, 0);
+        return (shift << (PRECISION_BITS - 1)) + (int) (value >>> shift);
+    }
+
+    /**
+     * Helper method to get the largest value of a bucket.
+     * @param bucket The index of the bucket.
+     * @return The largest value that is recorded in the bucket.
+     */
+    private static long highestValueOf(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket >> (PRECISION_BITS - 1)) - 1;
+        long subBucket = bucket - ((long) shift << (PRECISION_BITS - 1));
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
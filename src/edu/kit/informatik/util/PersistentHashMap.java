@@ -0,0 +1,510 @@
+package edu.kit.informatik.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable hash map (a hash array mapped trie). Adding or removing a key returns a new map that shares
+ * everything except the path to the key with the old one, so it costs O(log32 n) time and memory and every
+ * version of the map can be read by any number of threads without locking.
+ *
+ * Keys must not be null and must be immutable, like the names of the items.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the values.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public final class PersistentHashMap<K, V> {
+
+    /** The number of bits of the hash that are used on each level of the trie. */
+    private static final int BITS = 5;
+
+    /** The mask for the bits of the hash that are used on a level. */
+    private static final int MASK = (1 << BITS) - 1;
+
+    /** The empty map. */
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(
+            new BitmapNode<Object, Object>(0, newNodes(0)), 0);
+
+    /** The root of the trie. */
+    private final Node<K, V> root;
+
+    /** The number of keys in the map. */
+    private final int size;
+
+    /**
+     * Constructor for a map, only used by the map itself.
+     * @param root The root of the trie.
+     * @param size The number of keys.
+     */
+    private PersistentHashMap(Node<K, V> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Getter method for the empty map.
+     * @param <K> The type of the keys.
+     * @param <V> The type of the values.
+     * @return The empty map.
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Getter method for the value of a key.
+     * @param key The key.
+     * @return The value, or null if the map doesn't contain the key.
+     */
+    public V get(Object key) {
+        return root.get(key, spread(key.hashCode()), 0);
+    }
+
+    /**
+     * Maps a key to a value.
+     * @param key The key.
+     * @param value The value.
+     * @return The new map (or this map if the key was already mapped to the same value).
+     */
+    public PersistentHashMap<K, V> plus(K key, V value) {
+        int[] change = new int[1];
+        Node<K, V> newRoot = root.put(key, spread(key.hashCode()), value, 0, change);
+        return (newRoot == root) ? this : new PersistentHashMap<>(newRoot, size + change[0]);
+    }
+
+    /**
+     * Removes a key.
+     * @param key The key.
+     * @return The new map (or this map if it doesn't contain the key).
+     */
+    public PersistentHashMap<K, V> minus(Object key) {
+        Node<K, V> newRoot = root.remove(key, spread(key.hashCode()), 0);
+        if (newRoot == root) {
+            return this;
+        }
+        return (newRoot == null) ? empty() : new PersistentHashMap<>(newRoot, size - 1);
+    }
+
+    /**
+     * Getter method for the number of keys.
+     * @return The number of keys in the map.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Method to check whether the map is empty.
+     * @return true if the map contains no keys, otherwise false.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Calls an action for every key and its value (in no particular order).
+     * @param action The action.
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        root.forEach(action);
+    }
+
+    /**
+     * Calls an action for every key whose value differs in another map, with its value in the other map (null if
+     * the other map doesn't contain the key). Values are compared by identity. Subtries that both maps share are
+     * skipped, so comparing two versions of a map costs time proportional to the changes between them rather than
+     * to the size of the maps.
+     * @param other The other map.
+     * @param action The action.
+     */
+    public void diff(PersistentHashMap<K, V> other, BiConsumer<? super K, ? super V> action) {
+        diff(root, other.root, action);
+    }
+
+    /**
+     * Compares two subtries on the same level.
+     * @param <K> The type of the keys.
+     * @param <V> The type of the values.
+     * @param node The subtrie of this map, or null.
+     * @param other The subtrie of the other map, or null.
+     * @param action Called for every key whose value differs, with its value in the other subtrie.
+     */
+    private static <K, V> void diff(Node<K, V> node, Node<K, V> other, BiConsumer<? super K, ? super V> action) {
+        if (node == other) {
+            return;
+        }
+        if (node instanceof BitmapNode && other instanceof BitmapNode) {
+            BitmapNode<K, V> level = (BitmapNode<K, V>) node;
+            BitmapNode<K, V> otherLevel = (BitmapNode<K, V>) other;
+            for (int used = level.bitmap | otherLevel.bitmap; used != 0; used &= used - 1) {
+                int bit = used & -used;
+                diff(level.get(bit), otherLevel.get(bit), action);
+            }
+            return;
+        }
+        // One side is an entry, a collision or missing, so its keys are either few or all changed.
+        Map<K, V> values = new HashMap<>();
+        if (node != null) {
+            node.forEach(values::put);
+        }
+        if (other != null) {
+            other.forEach((key, value) -> {
+                if (values.remove(key) != value) {
+                    action.accept(key, value);
+                }
+            });
+        }
+        values.forEach((key, value) -> action.accept(key, null));
+    }
+
+    /**
+     * Spreads the higher bits of a hash code, so that the lower levels of the trie are used evenly.
+     * @param hashCode The hash code.
+     * @return The hash.
+     */
+    private static int spread(int hashCode) {
+        return hashCode ^ (hashCode >>> 16);
+    }
+
+    /**
+     * Getter method for the index of a hash on a level of the trie.
+     * @param hash The hash.
+     * @param shift The number of bits used by the levels above.
+     * @return The bit of the index in the bitmap of the level.
+     */
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    /**
+     * Creates an array of nodes.
+     * @param <K> The type of the keys.
+     * @param <V> The type of the values.
+     * @param length The length of the array.
+     * @return The array.
+     */
+    @SuppressWarnings("unchecked")
+    private static <K, V> Node<K, V>[] newNodes(int length) {
+        return (Node<K, V>[]) new Node<?, ?>[length];
+    }
+
+    /**
+     * Creates an array of entries.
+     * @param <K> The type of the keys.
+     * @param <V> The type of the values.
+     * @param length The length of the array.
+     * @return The array.
+     */
+    @SuppressWarnings("unchecked")
+    private static <K, V> Entry<K, V>[] newEntries(int length) {
+        return (Entry<K, V>[]) new Entry<?, ?>[length];
+    }
+
+    /**
+     * A node of the trie. Nodes are never changed after they were created.
+     * @param <K> The type of the keys.
+     * @param <V> The type of the values.
+     */
+    private abstract static class Node<K, V> {
+
+        /**
+         * @param key The key.
+         * @param hash The hash of the key.
+         * @param shift The number of bits used by the levels above.
+         * @return The value of the key, or null.
+         */
+        abstract V get(Object key, int hash, int shift);
+
+        /**
+         * @param key The key.
+         * @param hash The hash of the key.
+         * @param value The value.
+         * @param shift The number of bits used by the levels above.
+         * @param change Set to 1 if the key was added.
+         * @return The new node, or this node if nothing changed.
+         */
+        abstract Node<K, V> put(K key, int hash, V value, int shift, int[] change);
+
+        /**
+         * @param key The key.
+         * @param hash The hash of the key.
+         * @param shift The number of bits used by the levels above.
+         * @return The new node, this node if it doesn't contain the key, or null if it is empty now.
+         */
+        abstract Node<K, V> remove(Object key, int hash, int shift);
+
+        /**
+         * @param action Called for every key and its value under this node.
+         */
+        abstract void forEach(BiConsumer<? super K, ? super V> action);
+    }
+
+    /**
+     * A single key and its value.
+     * @param <K> The type of the keys.
+     * @param <V> The type of the values.
+     */
+    private static final class Entry<K, V> extends Node<K, V> {
+
+        /** The key. */
+        private final K key;
+
+        /** The hash of the key. */
+        private final int hash;
+
+        /** The value. */
+        private final V value;
+
+        /**
+         * @param key The key.
+         * @param hash The hash of the key.
+         * @param value The value.
+         */
+        Entry(K key, int hash, V value) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+        }
+
+        @Override
+        V get(Object otherKey, int otherHash, int shift) {
+            return (otherHash == hash && key.equals(otherKey)) ? value : null;
+        }
+
+        @Override
+        Node<K, V> put(K otherKey, int otherHash, V otherValue, int shift, int[] change) {
+            if (otherHash == hash && key.equals(otherKey)) {
+                return (otherValue == value) ? this : new Entry<>(key, hash, otherValue);
+            }
+            change[0] = 1;
+            Entry<K, V> entry = new Entry<>(otherKey, otherHash, otherValue);
+            if (otherHash == hash) {
+                Entry<K, V>[] entries = newEntries(2);
+                entries[0] = this;
+                entries[1] = entry;
+                return new CollisionNode<>(hash, entries);
+            }
+            return BitmapNode.<K, V>of(this, hash, shift).put(otherKey, otherHash, otherValue, shift, change);
+        }
+
+        @Override
+        Node<K, V> remove(Object otherKey, int otherHash, int shift) {
+            return (otherHash == hash && key.equals(otherKey)) ? null : this;
+        }
+
+        @Override
+        void forEach(BiConsumer<? super K, ? super V> action) {
+            action.accept(key, value);
+        }
+    }
+
+    /**
+     * The entries of keys whose hashes are equal.
+     * @param <K> The type of the keys.
+     * @param <V> The type of the values.
+     */
+    private static final class CollisionNode<K, V> extends Node<K, V> {
+
+        /** The hash of all keys. */
+        private final int hash;
+
+        /** The entries (at least two). */
+        private final Entry<K, V>[] entries;
+
+        /**
+         * @param hash The hash of all keys.
+         * @param entries The entries.
+         */
+        CollisionNode(int hash, Entry<K, V>[] entries) {
+            this.hash = hash;
+            this.entries = entries;
+        }
+
+        /**
+         * @param key The key.
+         * @return The index of the entry of the key, or -1.
+         */
+        private int indexOf(Object key) {
+            for (int index = 0; index < entries.length; index++) {
+                if (entries[index].key.equals(key)) {
+                    return index;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        V get(Object key, int otherHash, int shift) {
+            int index = (otherHash == hash) ? indexOf(key) : -1;
+            return (index < 0) ? null : entries[index].value;
+        }
+
+        @Override
+        Node<K, V> put(K key, int otherHash, V value, int shift, int[] change) {
+            if (otherHash != hash) {
+                return BitmapNode.<K, V>of(this, hash, shift).put(key, otherHash, value, shift, change);
+            }
+            int index = indexOf(key);
+            if (index >= 0) {
+                if (entries[index].value == value) {
+                    return this;
+                }
+                Entry<K, V>[] newEntries = entries.clone();
+                newEntries[index] = new Entry<>(key, hash, value);
+                return new CollisionNode<>(hash, newEntries);
+            }
+            change[0] = 1;
+            Entry<K, V>[] newEntries = newEntries(entries.length + 1);
+            System.arraycopy(entries, 0, newEntries, 0, entries.length);
+            newEntries[entries.length] = new Entry<>(key, hash, value);
+            return new CollisionNode<>(hash, newEntries);
+        }
+
+        @Override
+        Node<K, V> remove(Object key, int otherHash, int shift) {
+            int index = (otherHash == hash) ? indexOf(key) : -1;
+            if (index < 0) {
+                return this;
+            }
+            if (entries.length == 2) {
+                return entries[1 - index];
+            }
+            Entry<K, V>[] newEntries = newEntries(entries.length - 1);
+            System.arraycopy(entries, 0, newEntries, 0, index);
+            System.arraycopy(entries, index + 1, newEntries, index, newEntries.length - index);
+            return new CollisionNode<>(hash, newEntries);
+        }
+
+        @Override
+        void forEach(BiConsumer<? super K, ? super V> action) {
+            for (Entry<K, V> entry : entries) {
+                action.accept(entry.key, entry.value);
+            }
+        }
+    }
+
+    /**
+     * A level of the trie: a bitmap of the used indices and the nodes at these indices.
+     * @param <K> The type of the keys.
+     * @param <V> The type of the values.
+     */
+    private static final class BitmapNode<K, V> extends Node<K, V> {
+
+        /** The indices that are used. */
+        private final int bitmap;
+
+        /** The nodes at the used indices, in the order of the indices. */
+        private final Node<K, V>[] children;
+
+        /**
+         * @param bitmap The indices that are used.
+         * @param children The nodes at the used indices.
+         */
+        BitmapNode(int bitmap, Node<K, V>[] children) {
+            this.bitmap = bitmap;
+            this.children = children;
+        }
+
+        /**
+         * Creates a level that only contains a single node.
+         * @param <K> The type of the keys.
+         * @param <V> The type of the values.
+         * @param node The node.
+         * @param hash The hash of the keys of the node.
+         * @param shift The number of bits used by the levels above.
+         * @return The level.
+         */
+        static <K, V> BitmapNode<K, V> of(Node<K, V> node, int hash, int shift) {
+            Node<K, V>[] children = newNodes(1);
+            children[0] = node;
+            return new BitmapNode<>(bit(hash, shift), children);
+        }
+
+        /**
+         * @param bit The bit of an index.
+         * @return The node at the index, or null if the index isn't used.
+         */
+        Node<K, V> get(int bit) {
+            return ((bitmap & bit) == 0) ? null : children[position(bit)];
+        }
+
+        /**
+         * @param bit The bit of an index.
+         * @return The position of the node of the index in the array.
+         */
+        private int position(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        V get(Object key, int hash, int shift) {
+            int bit = bit(hash, shift);
+            return ((bitmap & bit) == 0) ? null : children[position(bit)].get(key, hash, shift + BITS);
+        }
+
+        @Override
+        Node<K, V> put(K key, int hash, V value, int shift, int[] change) {
+            int bit = bit(hash, shift);
+            int position = position(bit);
+            if ((bitmap & bit) == 0) {
+                change[0] = 1;
+                Node<K, V>[] newChildren = newNodes(children.length + 1);
+                System.arraycopy(children, 0, newChildren, 0, position);
+                newChildren[position] = new Entry<>(key, hash, value);
+                System.arraycopy(children, position, newChildren, position + 1, children.length - position);
+                return new BitmapNode<>(bitmap | bit, newChildren);
+            }
+            Node<K, V> child = children[position].put(key, hash, value, shift + BITS, change);
+            if (child == children[position]) {
+                return this;
+            }
+            Node<K, V>[] newChildren = children.clone();
+            newChildren[position] = child;
+            return new BitmapNode<>(bitmap, newChildren);
+        }
+
+        @Override
+        Node<K, V> remove(Object key, int hash, int shift) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int position = position(bit);
+            Node<K, V> child = children[position].remove(key, hash, shift + BITS);
+            if (child == children[position]) {
+                return this;
+            }
+            if (child != null) {
+                if (children.length == 1 && !(child instanceof BitmapNode)) {
+                    return child; // A single entry doesn't need its own level.
+                }
+                Node<K, V>[] newChildren = children.clone();
+                newChildren[position] = child;
+                return new BitmapNode<>(bitmap, newChildren);
+            }
+            if (children.length == 1) {
+                return null;
+            }
+            if (children.length == 2 && !(children[1 - position] instanceof BitmapNode)) {
+                return children[1 - position];
+            }
+            Node<K, V>[] newChildren = newNodes(children.length - 1);
+            System.arraycopy(children, 0, newChildren, 0, position);
+            System.arraycopy(children, position + 1, newChildren, position, newChildren.length - position);
+            return new BitmapNode<>(bitmap & ~bit, newChildren);
+        }
+
+        @Override
+        void forEach(BiConsumer<? super K, ? super V> action) {
+            for (Node<K, V> child : children) {
+                child.forEach(action);
+            }
+        }
+    }
+}
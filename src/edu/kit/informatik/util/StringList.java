@@ -53,30 +53,35 @@ public enum StringList {
     /**
      * Separates the assembly name and the soon to be added item.
      */
-    PLUS("\\+"),
+    PLUS("+"),
     
     /**
      * Separates the assembly name and the soon toe be removed/decreased item.
      */
-    MINUS("\\-"),
+    MINUS("-"),
     
     /**
      * Used to separate a an assembly and its children.
      */
     EQUALS("="),
     
+    /**
+     * Separates an assembly and the limit and offset of a page of its components or assemblies.
+     */
+    SLASH("/"),
+    
     /**
      * Invalid input format by user.
      */
     WRONG_FORMAT("the paramters you have entered are in the wrong format."),
     
     /**
-     * Regex for allowed names.
+     * Regex for allowed names (checked by hand in the command tokenizer).
      */
     ALLOWED_NAMES("([a-zA-Z]+)"),
     
     /**
-     * Regex for allowed amounts.
+     * Regex for allowed amounts (checked by hand in the command tokenizer).
      */
     ALLOWED_AMOUNTS("([1-9][0-9]{0,2}|1000)");
     
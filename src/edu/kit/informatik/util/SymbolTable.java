@@ -0,0 +1,83 @@
+package edu.kit.informatik.util;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns every name a dense int id (0, 1, 2, ...) the first time it is used, so that names can be compared and
+ * hashed as ints and used as indices of arrays.
+ *
+ * Ids are never given back, so a name keeps its id for as long as the table exists. Every system has its own
+ * table (systems whose items may be moved into each other share one), so a table only grows with the distinct
+ * names its own system has used, and its ids stay small enough to index arrays of the items of that system. The
+ * table can be used by any number of threads at once.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+public final class SymbolTable {
+
+    /** The number of names the table has room for at the start. */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** The id of every name. */
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+
+    /** The names, indexed by their ids (replaced by a larger copy when it is full). */
+    private volatile String[] names = new String[INITIAL_CAPACITY];
+
+    /** The number of names (only changed while holding the lock of the table). */
+    private int size;
+
+    /**
+     * Getter method for the id of a name, which is assigned if the name doesn't have one yet.
+     * @param name The name.
+     * @return The id of the name.
+     */
+    public int intern(String name) {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = ids.get(name);
+            if (id == null) {
+                if (size == names.length) {
+                    names = Arrays.copyOf(names, size * 2);
+                }
+                names[size] = name;
+                id = size++;
+                ids.put(name, id); // Publishes the name together with the id.
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Getter method for the id of a name without assigning one.
+     * @param name The name.
+     * @return The id of the name, or -1 if the name never got one.
+     */
+    public int lookup(String name) {
+        Integer id = ids.get(name);
+        return (id == null) ? -1 : id;
+    }
+
+    /**
+     * Getter method for the name of an id.
+     * @param id The id, which has to be assigned already.
+     * @return The name.
+     */
+    public String nameOf(int id) {
+        return names[id];
+    }
+
+    /**
+     * Getter method for the number of names.
+     * @return The number of names that got an id (all ids are below it).
+     */
+    public int size() {
+        return ids.size();
+    }
+}
@@ -0,0 +1,86 @@
+package edu.kit.informatik.data;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import edu.kit.informatik.exceptions.RuleBrokenException;
+
+/**
+ * Helpers that the randomized tests share to name items, copy systems and compare them.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+final class BomFixtures {
+
+    /** Utility class, so it cannot be instantiated. */
+    private BomFixtures() {
+    }
+
+    /**
+     * Creates names of letters only (Na, Nb, ...), since names cannot contain digits.
+     * @param count The number of names (at most 26).
+     * @return The names.
+     */
+    static String[] names(int count) {
+        String[] names = new String[count];
+        for (int index = 0; index < count; index++) {
+            names[index] = "N" + (char) ('a' + index);
+        }
+        return names;
+    }
+
+    /**
+     * Describes the children and components of every item.
+     * @param factory The system.
+     * @param names All names.
+     * @return The description.
+     */
+    static String state(NeedsAssessment factory, String[] names) {
+        StringBuilder state = new StringBuilder();
+        for (String name : names) {
+            state.append(name).append('=').append(describe(() -> factory.printAssembly(name))).append('|')
+                    .append(describe(() -> factory.getComponents(name))).append('\n');
+        }
+        return state.toString();
+    }
+
+    /**
+     * Describes the result of a query.
+     * @param query The query.
+     * @return The output, or the message of the error.
+     */
+    static String describe(Query query) {
+        try {
+            return query.run();
+        } catch (RuleBrokenException exception) {
+            return "Error, " + exception.getMessage();
+        }
+    }
+
+    /**
+     * Copies a system through a snapshot.
+     * @param factory The system.
+     * @return The copy.
+     * @throws IOException If the snapshot cannot be written or read.
+     */
+    static NeedsAssessment copy(NeedsAssessment factory) throws IOException {
+        NeedsAssessment copy = new NeedsAssessment();
+        copy.restore(SnapshotFile.read(ByteBuffer.wrap(SnapshotFile.toByteArray(factory)),
+                copy.getSystem().getNames()));
+        return copy;
+    }
+
+    /**
+     * A query that may break a rule.
+     */
+    interface Query {
+
+        /**
+         * @return The output.
+         * @throws RuleBrokenException If a rule is broken.
+         */
+        String run() throws RuleBrokenException;
+    }
+}
@@ -0,0 +1,132 @@
+package edu.kit.informatik.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import edu.kit.informatik.exceptions.RuleBrokenException;
+
+/**
+ * Tests the immutable snapshots that a system publishes after every change.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+class BomSnapshotTest {
+
+    /** The number of subassemblies of the root. */
+    private static final int SUBASSEMBLIES = 8;
+
+    /** The number of parts the subassemblies choose from. */
+    private static final int PARTS = 12;
+
+    /** The number of changes of the writer. */
+    private static final int CHANGES = 20_000;
+
+    @Test
+    void snapshotAnswersLikeTheSystem() throws RuleBrokenException {
+        NeedsAssessment factory = new NeedsAssessment(ExplosionCache.DEFAULT_CAPACITY, true);
+        factory.addAssembly("Car", Arrays.asList(new Item(4, "Wheel"), new Item(1, "Body")));
+        factory.addAssembly("Wheel", Arrays.asList(new Item(5, "Bolt")));
+        BomSnapshot snapshot = factory.getSnapshot();
+        assertEquals(factory.printAssembly("Car"), snapshot.printAssembly("Car"));
+        assertEquals(factory.getAssemblies("Car"), snapshot.getAssemblies("Car"));
+        assertEquals(factory.getComponents("Car"), snapshot.getComponents("Car"));
+        assertEquals("COMPONENT", snapshot.printAssembly("Bolt"));
+        assertThrows(RuleBrokenException.class, () -> snapshot.getComponents("Bike"));
+    }
+
+    @Test
+    void oldSnapshotsDontChange() throws RuleBrokenException {
+        NeedsAssessment factory = new NeedsAssessment(ExplosionCache.DEFAULT_CAPACITY, true);
+        factory.addAssembly("Car", Arrays.asList(new Item(4, "Wheel")));
+        BomSnapshot before = factory.getSnapshot();
+        factory.addPart("Car", 1, "Body");
+        factory.removeAssembly("Car");
+        assertEquals("Wheel:4", before.printAssembly("Car"));
+        assertEquals(before.getVersion() + 2, factory.getSnapshot().getVersion());
+        assertThrows(RuleBrokenException.class, () -> factory.getSnapshot().printAssembly("Car"));
+    }
+
+    @Test
+    void diffReportsChangedItems() throws RuleBrokenException {
+        NeedsAssessment factory = new NeedsAssessment(ExplosionCache.DEFAULT_CAPACITY, true);
+        factory.addAssembly("Car", Arrays.asList(new Item(4, "Wheel"), new Item(1, "Body")));
+        factory.addAssembly("Bike", Arrays.asList(new Item(2, "Wheel")));
+        BomSnapshot before = factory.getSnapshot();
+        factory.removePart("Car", 1, "Body");
+        Map<String, ItemRecord> differences = before.diff(factory.getSnapshot());
+        assertEquals(new HashSet<>(Arrays.asList("Car", "Body")), differences.keySet());
+        assertNull(differences.get("Body"));
+    }
+
+    @Test
+    void readersSeeConsistentSnapshots() throws InterruptedException, RuleBrokenException {
+        NeedsAssessment factory = new NeedsAssessment(ExplosionCache.DEFAULT_CAPACITY, true);
+        List<Item> subassemblies = new ArrayList<>();
+        for (int index = 0; index < SUBASSEMBLIES; index++) {
+            factory.addAssembly("Sub" + (char) ('a' + index), Arrays.asList(new Item(1, "Pa")));
+            subassemblies.add(new Item(index + 1, "Sub" + (char) ('a' + index)));
+        }
+        factory.addAssembly("Root", subassemblies);
+        Map<Long, String> expected = new ConcurrentHashMap<>();
+        expected.put(factory.getSnapshot().getVersion(), factory.getComponents("Root"));
+        AtomicBoolean done = new AtomicBoolean();
+        List<Map<Long, String>> observations = new ArrayList<>();
+        List<Thread> readers = new ArrayList<>();
+        for (int reader = 0; reader < 3; reader++) {
+            Map<Long, String> observed = new HashMap<>();
+            observations.add(observed);
+            Thread thread = new Thread(() -> {
+                while (!done.get()) {
+                    BomSnapshot snapshot = factory.getSnapshot();
+                    try {
+                        observed.put(snapshot.getVersion(), snapshot.getComponents("Root"));
+                    } catch (RuleBrokenException exception) {
+                        observed.put(snapshot.getVersion(), exception.getMessage());
+                    }
+                }
+            });
+            readers.add(thread);
+            thread.start();
+        }
+        Random random = new Random(5);
+        for (int change = 0; change < CHANGES; change++) {
+            String subassembly = "Sub" + (char) ('a' + random.nextInt(SUBASSEMBLIES));
+            String part = "P" + (char) ('a' + random.nextInt(PARTS));
+            try {
+                if (random.nextBoolean()) {
+                    factory.addPart(subassembly, 1 + random.nextInt(3), part);
+                } else {
+                    factory.removePart(subassembly, 1 + random.nextInt(3), part);
+                }
+            } catch (RuleBrokenException exception) {
+                continue; // Nothing was published.
+            }
+            expected.put(factory.getSnapshot().getVersion(), factory.getComponents("Root"));
+        }
+        done.set(true);
+        for (Thread thread : readers) {
+            thread.join();
+        }
+        for (Map<Long, String> observed : observations) {
+            for (Map.Entry<Long, String> observation : observed.entrySet()) {
+                assertEquals(expected.get(observation.getKey()), observation.getValue(),
+                        "version " + observation.getKey());
+            }
+        }
+    }
+}
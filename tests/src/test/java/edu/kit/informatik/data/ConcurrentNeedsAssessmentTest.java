@@ -0,0 +1,470 @@
+package edu.kit.informatik.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+import edu.kit.informatik.exceptions.RuleBrokenException;
+
+/**
+ * Checks that ConcurrentNeedsAssessment gives the same result as a serial execution.
+ *
+ * Every thread works on its own product line: it adds, changes, removes and queries its own assemblies and parts.
+ * The assemblies can also use parts from a pool that is shared by all threads, which makes the components merge
+ * while the threads run. Since the threads never change the same assembly, the output of every call and the
+ * final state must be the same as when all calls of the first thread, then all calls of the second thread and so
+ * on are run on a single NeedsAssessment.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+class ConcurrentNeedsAssessmentTest {
+
+    /** The number of letters that are used to encode a number in a name. */
+    private static final int LETTERS = 26;
+
+    /** The number of threads. */
+    private static final int THREADS = 4;
+
+    /** The number of calls of every thread. */
+    private static final int OPERATIONS = 5000;
+
+    /** The number of assemblies of every product line. */
+    private static final int ASSEMBLIES = 24;
+
+    /** The number of parts of every product line. */
+    private static final int PARTS = 32;
+
+    /** The largest amount that is used. */
+    private static final int MAX_GENERATED_AMOUNT = 5;
+
+    /** The largest number of children of an added assembly. */
+    private static final int MAX_CHILDREN = 3;
+
+    /** The number of different calls. */
+    private static final int KINDS = 7;
+
+    /** The number of parts that are shared by all product lines (0 keeps the product lines independent). */
+    private int sharedParts;
+
+    @Test
+    void independentProductLines() throws InterruptedException {
+        sharedParts = 0;
+        ConcurrentNeedsAssessment concurrent = runAndCompare(1);
+        // Nothing connects two product lines, so every line keeps at least one component of its own.
+        assertTrue(concurrent.getNumberofComponents() >= THREADS, concurrent.getNumberofComponents()
+                + " components");
+    }
+
+    @Test
+    void productLinesMergeThroughSharedParts() throws InterruptedException {
+        sharedParts = 8;
+        runAndCompare(2);
+    }
+
+    @Test
+    void unknownNamesAreReportedLikeTheSerialSystem() {
+        ConcurrentNeedsAssessment concurrent = new ConcurrentNeedsAssessment();
+        NeedsAssessment serial = new NeedsAssessment();
+        assertSameError(() -> serial.removeAssembly("X"), () -> concurrent.removeAssembly("X"));
+        assertSameError(() -> serial.addPart("X", 1, "Y"), () -> concurrent.addPart("X", 1, "Y"));
+        assertSameError(() -> serial.removePart("X", 1, "Y"), () -> concurrent.removePart("X", 1, "Y"));
+        assertSameError(() -> serial.printAssembly("X"), () -> concurrent.printAssembly("X"));
+        assertSameError(() -> serial.getAssemblies("X"), () -> concurrent.getAssemblies("X"));
+        assertSameError(() -> serial.getComponents("X"), () -> concurrent.getComponents("X"));
+        assertSameError(() -> serial.getWhereUsed("X"), () -> concurrent.getWhereUsed("X"));
+        assertSameError(() -> serial.getImplosion("X"), () -> concurrent.getImplosion("X"));
+        assertEquals(0, concurrent.getNumberofComponents());
+    }
+
+    /**
+     * Runs the calls of all threads concurrently and serially and compares the results.
+     * @param seed The seed of the random number generators.
+     * @return The concurrent system after all calls.
+     * @throws InterruptedException If the test is interrupted.
+     */
+    private ConcurrentNeedsAssessment runAndCompare(long seed) throws InterruptedException {
+        ConcurrentNeedsAssessment concurrent = new ConcurrentNeedsAssessment();
+        List<List<String>> concurrentOutputs = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+        for (int thread = 0; thread < THREADS; thread++) {
+            final int line = thread;
+            final List<String> outputs = new ArrayList<>();
+            concurrentOutputs.add(outputs);
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    Random random = new Random(seed + line);
+                    for (int operation = 0; operation < OPERATIONS; operation++) {
+                        outputs.add(call(new Concurrent(concurrent), line, random));
+                    }
+                } catch (InterruptedException | RuntimeException exception) {
+                    failures.add(exception);
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        assertEquals(Collections.emptyList(), failures);
+        NeedsAssessment serial = new NeedsAssessment();
+        for (int line = 0; line < THREADS; line++) {
+            Random random = new Random(seed + line);
+            for (int operation = 0; operation < OPERATIONS; operation++) {
+                assertEquals(call(new Serial(serial), line, random), concurrentOutputs.get(line).get(operation),
+                        "call " + operation + " of thread " + line);
+            }
+        }
+        for (String name : allNames()) {
+            for (int kind = 0; kind < 3; kind++) {
+                assertEquals(query(new Serial(serial), kind, name), query(new Concurrent(concurrent), kind, name),
+                        "query " + kind + " of " + name);
+            }
+        }
+        return concurrent;
+    }
+
+    /**
+     * @return The names of all assemblies and parts that may be used.
+     */
+    private List<String> allNames() {
+        List<String> names = new ArrayList<>();
+        for (int line = 0; line < THREADS; line++) {
+            for (int index = 0; index < ASSEMBLIES; index++) {
+                names.add(assemblyName(line, index));
+            }
+            for (int index = 0; index < PARTS; index++) {
+                names.add(partName(line, index));
+            }
+        }
+        for (int index = 0; index < sharedParts; index++) {
+            names.add(sharedName(index));
+        }
+        return names;
+    }
+
+    /**
+     * Makes a random call of a product line.
+     * @param target The system the call is made on.
+     * @param line The product line.
+     * @param random The random number generator of the product line.
+     * @return The output of the call.
+     */
+    private String call(Target target, int line, Random random) {
+        String assembly = assemblyName(line, random.nextInt(ASSEMBLIES));
+        int amount = 1 + random.nextInt(MAX_GENERATED_AMOUNT);
+        try {
+            switch (random.nextInt(KINDS)) {
+                case 0:
+                    List<Item> children = new ArrayList<>();
+                    int numberofChildren = 1 + random.nextInt(MAX_CHILDREN);
+                    for (int index = 0; index < numberofChildren; index++) {
+                        String child = childName(line, random);
+                        if (!child.equals(assembly) && !children.contains(new Item(child))) {
+                            children.add(new Item(1 + random.nextInt(MAX_GENERATED_AMOUNT), child));
+                        }
+                    }
+                    if (children.isEmpty()) {
+                        return "skipped";
+                    }
+                    target.addAssembly(assembly, children);
+                    return "OK";
+                case 1:
+                case 2:
+                    String child = childName(line, random);
+                    if (child.equals(assembly)) {
+                        return "skipped";
+                    }
+                    target.addPart(assembly, amount, child);
+                    return "OK";
+                case 3:
+                    target.removePart(assembly, amount, childName(line, random));
+                    return "OK";
+                case 4:
+                    if (random.nextInt(MAX_GENERATED_AMOUNT) != 0) { // Removing assemblies less often keeps them big.
+                        return "skipped";
+                    }
+                    target.removeAssembly(assembly);
+                    return "OK";
+                default:
+                    return query(target, random.nextInt(3), assembly);
+            }
+        } catch (RuleBrokenException exception) {
+            return "Error, " + exception.getMessage();
+        }
+    }
+
+    /**
+     * Runs a query.
+     * @param target The system.
+     * @param kind The kind of query.
+     * @param name The name the query is run for.
+     * @return The output.
+     */
+    private static String query(Target target, int kind, String name) {
+        try {
+            switch (kind) {
+                case 0:
+                    return target.printAssembly(name);
+                case 1:
+                    return target.getAssemblies(name);
+                default:
+                    return target.getComponents(name);
+            }
+        } catch (RuleBrokenException exception) {
+            return "Error, " + exception.getMessage();
+        }
+    }
+
+    /**
+     * Asserts that a call on both systems fails with the same message.
+     * @param serial The call on the serial system.
+     * @param concurrent The call on the concurrent system.
+     */
+    private static void assertSameError(Call serial, Call concurrent) {
+        String expected = assertThrows(RuleBrokenException.class, serial::run).getMessage();
+        assertEquals(expected, assertThrows(RuleBrokenException.class, concurrent::run).getMessage());
+    }
+
+    /**
+     * Picks a child for an assembly of a product line: an assembly or part of the same line or a shared part.
+     * @param line The product line.
+     * @param random The random number generator of the product line.
+     * @return The name of the child.
+     */
+    private String childName(int line, Random random) {
+        int choice = random.nextInt(ASSEMBLIES + PARTS + sharedParts);
+        if (choice < ASSEMBLIES) {
+            return assemblyName(line, choice);
+        }
+        if (choice < ASSEMBLIES + PARTS) {
+            return partName(line, choice - ASSEMBLIES);
+        }
+        return sharedName(choice - ASSEMBLIES - PARTS);
+    }
+
+    /**
+     * @param line The product line.
+     * @param index The index of the assembly.
+     * @return The name of an assembly of a product line.
+     */
+    private static String assemblyName(int line, int index) {
+        return name("L", line) + name("A", index);
+    }
+
+    /**
+     * @param line The product line.
+     * @param index The index of the part.
+     * @return The name of a part of a product line.
+     */
+    private static String partName(int line, int index) {
+        return name("L", line) + name("P", index);
+    }
+
+    /**
+     * @param index The index of the part.
+     * @return The name of a shared part.
+     */
+    private static String sharedName(int index) {
+        return name("S", index);
+    }
+
+    /**
+     * Method to create a valid name (letters only) from a number.
+     * @param prefix The upper case prefix of the name, which separates it from other numbers.
+     * @param number The number.
+     * @return The name.
+     */
+    private static String name(String prefix, long number) {
+        StringBuilder name = new StringBuilder(prefix);
+        long rest = number;
+        do {
+            name.append((char) ('a' + rest % LETTERS));
+            rest /= LETTERS;
+        } while (rest > 0);
+        return name.toString();
+    }
+
+    /**
+     * A call that may break a rule.
+     */
+    private interface Call {
+
+        /**
+         * @throws RuleBrokenException If a rule is broken.
+         */
+        void run() throws RuleBrokenException;
+    }
+
+    /**
+     * The calls that are made on either system.
+     */
+    private interface Target {
+
+        /**
+         * @param nameOfAssembly The name of the assembly.
+         * @param children The children.
+         * @throws RuleBrokenException If a rule is broken.
+         */
+        void addAssembly(String nameOfAssembly, List<Item> children) throws RuleBrokenException;
+
+        /**
+         * @param nameofAssembly The name of the assembly.
+         * @throws RuleBrokenException If a rule is broken.
+         */
+        void removeAssembly(String nameofAssembly) throws RuleBrokenException;
+
+        /**
+         * @param nameofAssembly The name of the assembly.
+         * @param amount The amount.
+         * @param name The name of the item.
+         * @throws RuleBrokenException If a rule is broken.
+         */
+        void addPart(String nameofAssembly, int amount, String name) throws RuleBrokenException;
+
+        /**
+         * @param nameofAssembly The name of the assembly.
+         * @param amount The amount.
+         * @param name The name of the item.
+         * @throws RuleBrokenException If a rule is broken.
+         */
+        void removePart(String nameofAssembly, int amount, String name) throws RuleBrokenException;
+
+        /**
+         * @param nameofAssembly The name of the assembly.
+         * @return The output.
+         * @throws RuleBrokenException If a rule is broken.
+         */
+        String printAssembly(String nameofAssembly) throws RuleBrokenException;
+
+        /**
+         * @param nameofAssembly The name of the assembly.
+         * @return The output.
+         * @throws RuleBrokenException If a rule is broken.
+         */
+        String getAssemblies(String nameofAssembly) throws RuleBrokenException;
+
+        /**
+         * @param nameofAssembly The name of the assembly.
+         * @return The output.
+         * @throws RuleBrokenException If a rule is broken.
+         */
+        String getComponents(String nameofAssembly) throws RuleBrokenException;
+    }
+
+    /**
+     * The calls on the concurrent system.
+     */
+    private static final class Concurrent implements Target {
+
+        /** The system. */
+        private final ConcurrentNeedsAssessment factory;
+
+        /**
+         * @param factory The system.
+         */
+        Concurrent(ConcurrentNeedsAssessment factory) {
+            this.factory = factory;
+        }
+
+        @Override
+        public void addAssembly(String nameOfAssembly, List<Item> children) throws RuleBrokenException {
+            factory.addAssembly(nameOfAssembly, children);
+        }
+
+        @Override
+        public void removeAssembly(String nameofAssembly) throws RuleBrokenException {
+            factory.removeAssembly(nameofAssembly);
+        }
+
+        @Override
+        public void addPart(String nameofAssembly, int amount, String name) throws RuleBrokenException {
+            factory.addPart(nameofAssembly, amount, name);
+        }
+
+        @Override
+        public void removePart(String nameofAssembly, int amount, String name) throws RuleBrokenException {
+            factory.removePart(nameofAssembly, amount, name);
+        }
+
+        @Override
+        public String printAssembly(String nameofAssembly) throws RuleBrokenException {
+            return factory.printAssembly(nameofAssembly);
+        }
+
+        @Override
+        public String getAssemblies(String nameofAssembly) throws RuleBrokenException {
+            return factory.getAssemblies(nameofAssembly);
+        }
+
+        @Override
+        public String getComponents(String nameofAssembly) throws RuleBrokenException {
+            return factory.getComponents(nameofAssembly);
+        }
+    }
+
+    /**
+     * The calls on the serial system.
+     */
+    private static final class Serial implements Target {
+
+        /** The system. */
+        private final NeedsAssessment factory;
+
+        /**
+         * @param factory The system.
+         */
+        Serial(NeedsAssessment factory) {
+            this.factory = factory;
+        }
+
+        @Override
+        public void addAssembly(String nameOfAssembly, List<Item> children) throws RuleBrokenException {
+            factory.addAssembly(nameOfAssembly, children);
+        }
+
+        @Override
+        public void removeAssembly(String nameofAssembly) throws RuleBrokenException {
+            factory.removeAssembly(nameofAssembly);
+        }
+
+        @Override
+        public void addPart(String nameofAssembly, int amount, String name) throws RuleBrokenException {
+            factory.addPart(nameofAssembly, amount, name);
+        }
+
+        @Override
+        public void removePart(String nameofAssembly, int amount, String name) throws RuleBrokenException {
+            factory.removePart(nameofAssembly, amount, name);
+        }
+
+        @Override
+        public String printAssembly(String nameofAssembly) throws RuleBrokenException {
+            return factory.printAssembly(nameofAssembly);
+        }
+
+        @Override
+        public String getAssemblies(String nameofAssembly) throws RuleBrokenException {
+            return factory.getAssemblies(nameofAssembly);
+        }
+
+        @Override
+        public String getComponents(String nameofAssembly) throws RuleBrokenException {
+            return factory.getComponents(nameofAssembly);
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package edu.kit.informatik.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import edu.kit.informatik.exceptions.RuleBrokenException;
+
+/**
+ * Tests undo, redo and named snapshots.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+class HistoryTest {
+
+    /** The number of names the random changes use. */
+    private static final int NAMES = 12;
+
+    /** The number of changes that can be undone in the randomized test. */
+    private static final int CAPACITY = 8;
+
+    /** The number of steps of the randomized test. */
+    private static final int STEPS = 3000;
+
+    @Test
+    void undoAndRedo() throws RuleBrokenException {
+        NeedsAssessment factory = withHistory(10);
+        factory.addAssembly("Car", Arrays.asList(new Item(4, "Wheel")));
+        factory.addPart("Car", 1, "Body");
+        factory.undo();
+        assertEquals("Wheel:4", factory.printAssembly("Car"));
+        factory.undo();
+        assertThrows(RuleBrokenException.class, () -> factory.printAssembly("Car"));
+        assertThrows(RuleBrokenException.class, factory::undo);
+        factory.redo();
+        factory.redo();
+        assertEquals("Body:1;Wheel:4", factory.printAssembly("Car"));
+        assertThrows(RuleBrokenException.class, factory::redo);
+    }
+
+    @Test
+    void changeClearsRedo() throws RuleBrokenException {
+        NeedsAssessment factory = withHistory(10);
+        factory.addAssembly("Car", Arrays.asList(new Item(4, "Wheel")));
+        factory.addPart("Car", 1, "Body");
+        factory.undo();
+        factory.addPart("Car", 2, "Seat");
+        assertThrows(RuleBrokenException.class, factory::redo);
+        assertEquals("Seat:2;Wheel:4", factory.printAssembly("Car"));
+    }
+
+    @Test
+    void onlyTheLastChangesCanBeUndone() throws RuleBrokenException {
+        NeedsAssessment factory = withHistory(2);
+        factory.addAssembly("Car", Arrays.asList(new Item(1, "Wheel")));
+        for (int change = 0; change < 3; change++) {
+            factory.addPart("Car", 1, "Wheel");
+        }
+        factory.undo();
+        factory.undo();
+        assertThrows(RuleBrokenException.class, factory::undo);
+        assertEquals("Wheel:2", factory.printAssembly("Car"));
+    }
+
+    @Test
+    void namedSnapshots() throws RuleBrokenException {
+        NeedsAssessment factory = withHistory(10);
+        factory.addAssembly("Car", Arrays.asList(new Item(4, "Wheel")));
+        factory.takeSnapshot("first");
+        factory.removeAssembly("Car");
+        factory.addAssembly("Bike", Arrays.asList(new Item(2, "Wheel")));
+        assertEquals("Wheel:4", factory.getSnapshot("first").getComponents("Car"));
+        factory.restoreSnapshot("first");
+        assertEquals("Wheel:4", factory.printAssembly("Car"));
+        assertThrows(RuleBrokenException.class, () -> factory.printAssembly("Bike"));
+        factory.undo(); // Undoes the restore.
+        assertEquals("Wheel:2", factory.printAssembly("Bike"));
+        assertThrows(RuleBrokenException.class, () -> factory.getSnapshot("second"));
+        assertThrows(RuleBrokenException.class, () -> factory.restoreSnapshot("second"));
+    }
+
+    @Test
+    void historyIsOptional() throws RuleBrokenException {
+        NeedsAssessment factory = new NeedsAssessment();
+        factory.addAssembly("Car", Arrays.asList(new Item(4, "Wheel")));
+        assertThrows(RuleBrokenException.class, factory::undo);
+        assertThrows(RuleBrokenException.class, () -> factory.takeSnapshot("first"));
+        assertThrows(IllegalStateException.class, () -> factory.setHistoryCapacity(10));
+    }
+
+    @Test
+    void noUndoInTransaction() throws RuleBrokenException {
+        NeedsAssessment factory = withHistory(10);
+        factory.addAssembly("Car", Arrays.asList(new Item(4, "Wheel")));
+        factory.begin();
+        assertThrows(RuleBrokenException.class, factory::undo);
+        factory.rollback();
+        factory.undo();
+    }
+
+    @Test
+    void matchesCopiesOfThePreviousStates() throws IOException, RuleBrokenException {
+        Random random = new Random(25);
+        String[] names = BomFixtures.names(NAMES);
+        NeedsAssessment factory = withHistory(CAPACITY);
+        factory.setMaintainedRollups(true);
+        NeedsAssessment expected = new NeedsAssessment();
+        Deque<NeedsAssessment> undo = new ArrayDeque<>();
+        Deque<NeedsAssessment> redo = new ArrayDeque<>();
+        Map<String, NeedsAssessment> named = new HashMap<>();
+        for (int step = 0; step < STEPS; step++) {
+            int operation = random.nextInt(20);
+            if (operation < 12) {
+                NeedsAssessment before = BomFixtures.copy(expected);
+                Change change = randomChange(expected, names, random);
+                boolean applied = change.applyTo(factory);
+                assertEquals(applied, change.applyTo(expected), "change at step " + step);
+                if (applied) {
+                    undo.push(before);
+                    if (undo.size() > CAPACITY) {
+                        undo.removeLast();
+                    }
+                    redo.clear();
+                }
+            } else if (operation < 15) {
+                assertEquals(!undo.isEmpty(), succeeds(factory::undo), "undo at step " + step);
+                if (!undo.isEmpty()) {
+                    redo.push(expected);
+                    expected = undo.pop();
+                }
+            } else if (operation < 17) {
+                assertEquals(!redo.isEmpty(), succeeds(factory::redo), "redo at step " + step);
+                if (!redo.isEmpty()) {
+                    undo.push(expected);
+                    expected = redo.pop();
+                }
+            } else if (operation == 17) {
+                String name = "s" + random.nextInt(4);
+                factory.takeSnapshot(name);
+                named.put(name, BomFixtures.copy(expected));
+            } else {
+                String name = "s" + random.nextInt(4);
+                assertEquals(named.containsKey(name), succeeds(() -> factory.restoreSnapshot(name)));
+                if (named.containsKey(name)) {
+                    undo.push(expected);
+                    if (undo.size() > CAPACITY) {
+                        undo.removeLast();
+                    }
+                    redo.clear();
+                    expected = BomFixtures.copy(named.get(name));
+                }
+            }
+            assertEquals(BomFixtures.state(expected, names), BomFixtures.state(factory, names),
+                    "state at step " + step);
+        }
+        for (Map.Entry<String, NeedsAssessment> snapshot : named.entrySet()) {
+            BomSnapshot asOf = factory.getSnapshot(snapshot.getKey());
+            for (String name : names) {
+                assertEquals(BomFixtures.describe(() -> snapshot.getValue().getComponents(name)),
+                        BomFixtures.describe(() -> asOf.getComponents(name)));
+            }
+        }
+    }
+
+    /**
+     * Creates a system that keeps a history.
+     * @param capacity The number of changes that can be undone.
+     * @return The system.
+     */
+    private static NeedsAssessment withHistory(int capacity) {
+        NeedsAssessment factory = new NeedsAssessment(ExplosionCache.DEFAULT_CAPACITY, true);
+        factory.setHistoryCapacity(capacity);
+        return factory;
+    }
+
+    /**
+     * Picks a random change, mostly one that is valid.
+     * @param factory The system the change is picked for.
+     * @param names All names.
+     * @param random The random number generator.
+     * @return The change.
+     */
+    private static Change randomChange(NeedsAssessment factory, String[] names, Random random) {
+        String assembly = names[random.nextInt(names.length)];
+        String child = names[random.nextInt(names.length)];
+        int amount = 1 + random.nextInt(3);
+        switch (random.nextInt(4)) {
+            case 0:
+                List<Item> children = new ArrayList<>();
+                Set<String> used = new HashSet<>();
+                for (int index = random.nextInt(3); index >= 0; index--) {
+                    String name = names[random.nextInt(names.length)];
+                    if (used.add(name) && !name.equals(assembly)) {
+                        children.add(new Item(1 + random.nextInt(3), name));
+                    }
+                }
+                return target -> target.addAssembly(assembly, children);
+            case 1:
+                return target -> target.addPart(assembly, amount, child);
+            case 2:
+                TreeNode node = factory.getSystem().getAssembly(assembly);
+                if (node != null) {
+                    Edge edge = node.getChildren().iterator().next();
+                    int removed = random.nextBoolean() ? edge.getAmount() : 1;
+                    return target -> target.removePart(assembly, removed, edge.getChild().getName());
+                }
+                return target -> target.removePart(assembly, amount, child);
+            default:
+                return target -> target.removeAssembly(assembly);
+        }
+    }
+
+    /**
+     * Runs a call and tells whether it succeeded.
+     * @param call The call.
+     * @return true if it didn't break a rule, otherwise false.
+     */
+    private static boolean succeeds(Change.Call call) {
+        try {
+            call.run();
+            return true;
+        } catch (RuleBrokenException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * A change that can be made on any system.
+     */
+    private interface Change {
+
+        /**
+         * @param target The system.
+         * @throws RuleBrokenException If a rule is broken.
+         */
+        void apply(NeedsAssessment target) throws RuleBrokenException;
+
+        /**
+         * @param target The system.
+         * @return true if the change was made, false if it broke a rule.
+         */
+        default boolean applyTo(NeedsAssessment target) {
+            return succeeds(() -> apply(target));
+        }
+
+        /**
+         * A call that may break a rule.
+         */
+        interface Call {
+
+            /**
+             * @throws RuleBrokenException If a rule is broken.
+             */
+            void run() throws RuleBrokenException;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package edu.kit.informatik.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import edu.kit.informatik.exceptions.RuleBrokenException;
+
+/**
+ * Tests the maintained totals of getComponents against a fresh explosion.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+class RollupTotalsTest {
+
+    /** The number of names the random changes use. */
+    private static final int NAMES = 12;
+
+    /** The number of random changes. */
+    private static final int CHANGES = 3000;
+
+    @Test
+    void removingSharedSubassembly() throws RuleBrokenException {
+        NeedsAssessment factory = new NeedsAssessment();
+        factory.setMaintainedRollups(true);
+        factory.addAssembly("Car", Arrays.asList(new Item(4, "Wheel"), new Item(1, "Body")));
+        factory.addAssembly("Wheel", Arrays.asList(new Item(5, "Bolt"), new Item(1, "Rim")));
+        factory.addAssembly("Body", Arrays.asList(new Item(20, "Bolt")));
+        assertEquals("Bolt:40;Rim:4", factory.getComponents("Car"));
+        factory.removePart("Car", 4, "Wheel");
+        assertEquals("Bolt:20", factory.getComponents("Car"));
+        factory.addPart("Car", 2, "Wheel");
+        assertEquals("Bolt:30;Rim:2", factory.getComponents("Car"));
+        factory.removePart("Car", 1, "Body");
+        assertEquals("Bolt:10;Rim:2", factory.getComponents("Car"));
+        assertEquals(1, factory.getRollups().size());
+    }
+
+    @Test
+    void keepsTotalsThatWrapAroundToZero() throws RuleBrokenException {
+        NeedsAssessment fresh = new NeedsAssessment();
+        NeedsAssessment maintained = new NeedsAssessment();
+        maintained.setMaintainedRollups(true);
+        for (NeedsAssessment factory : new NeedsAssessment[] {fresh, maintained}) {
+            factory.addAssembly("Top", Arrays.asList(new Item(512, "B"), new Item(1, "X")));
+            factory.addAssembly("B", Arrays.asList(new Item(512, "C")));
+            factory.addAssembly("C", Arrays.asList(new Item(512, "E")));
+            factory.addAssembly("E", Arrays.asList(new Item(32, "L"))); // Top contains L 2^32 times through B.
+            factory.addAssembly("X", Arrays.asList(new Item(1, "L"), new Item(1, "M")));
+            factory.getComponents("Top");
+            factory.removePart("X", 1, "L");
+        }
+        assertEquals("M:1;L:0", fresh.getComponents("Top"));
+        assertEquals(fresh.getComponents("Top"), maintained.getComponents("Top"));
+    }
+
+    @Test
+    void matchesFreshExplosion() throws RuleBrokenException {
+        Random random = new Random(22);
+        String[] names = BomFixtures.names(NAMES);
+        NeedsAssessment fresh = new NeedsAssessment();
+        NeedsAssessment maintained = new NeedsAssessment();
+        maintained.setMaintainedRollups(true);
+        for (int change = 0; change < CHANGES; change++) {
+            String assembly = names[random.nextInt(NAMES)];
+            String child = names[random.nextInt(NAMES)];
+            int amount = 1 + random.nextInt(5);
+            int operation = random.nextInt(10);
+            List<Item> children = new ArrayList<>();
+            if (!child.equals(assembly)) {
+                children.add(new Item(amount, child));
+            }
+            assertEquals(apply(fresh, operation, assembly, children, amount, child),
+                    apply(maintained, operation, assembly, children, amount, child), "change " + change);
+            for (String name : names) {
+                assertEquals(BomFixtures.describe(() -> fresh.getComponents(name)),
+                        BomFixtures.describe(() -> maintained.getComponents(name)), name + " after " + change);
+            }
+        }
+    }
+
+    /**
+     * Applies a change.
+     * @param factory The system.
+     * @param operation Which change is applied (addAssembly, removeAssembly, addPart or removePart).
+     * @param assembly The name of the assembly.
+     * @param children The children of a new assembly.
+     * @param amount The amount of a part.
+     * @param child The name of the part.
+     * @return true if the change was made, false if it broke a rule.
+     */
+    private static boolean apply(NeedsAssessment factory, int operation, String assembly, List<Item> children,
+            int amount, String child) {
+        try {
+            if (operation == 0) {
+                factory.addAssembly(assembly, children);
+            } else if (operation == 1) {
+                factory.removeAssembly(assembly);
+            } else if (operation < 6) {
+                factory.addPart(assembly, amount, child);
+            } else {
+                factory.removePart(assembly, amount, child);
+            }
+            return true;
+        } catch (RuleBrokenException exception) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package edu.kit.informatik.data;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.kit.informatik.exceptions.RuleBrokenException;
+
+/**
+ * Tests the binary snapshot format.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+class SnapshotFileTest {
+
+    /** The directory of the snapshots. */
+    @TempDir
+    Path directory;
+
+    @Test
+    void writesDocumentedFormat() throws IOException, RuleBrokenException {
+        NeedsAssessment factory = new NeedsAssessment();
+        factory.addAssembly("A", Arrays.asList(new Item(1000, "B")));
+        byte[] expected = {
+            'B', 'O', 'M', 'S', 1, // Magic and version.
+            2, 1, 'A', 1, 'B', // The names in topological order.
+            1, 1, (byte) 0xE8, 0x07, // A has one child: B at the next index, 1000 times (two varint bytes).
+            0, // B has no children.
+        };
+        assertArrayEquals(expected, SnapshotFile.toByteArray(factory));
+    }
+
+    @Test
+    void roundTripKeepsAllItems() throws IOException, RuleBrokenException {
+        NeedsAssessment factory = new NeedsAssessment();
+        factory.addAssembly("Car", Arrays.asList(new Item(4, "Wheel"), new Item(1, "Body")));
+        factory.addAssembly("Wheel", Arrays.asList(new Item(5, "Bolt"), new Item(1, "Rim")));
+        factory.addAssembly("Body", Arrays.asList(new Item(20, "Bolt")));
+        factory.addAssembly("Bike", Arrays.asList(new Item(2, "Wheel")));
+        Path file = directory.resolve("bom.snapshot");
+        SnapshotFile.save(factory, file);
+
+        NeedsAssessment loaded = new NeedsAssessment();
+        SnapshotFile.load(file, loaded);
+        for (String name : new String[] {"Car", "Wheel", "Body", "Bike"}) {
+            assertEquals(factory.printAssembly(name), loaded.printAssembly(name));
+            assertEquals(factory.getAssemblies(name), loaded.getAssemblies(name));
+            assertEquals(factory.getComponents(name), loaded.getComponents(name));
+        }
+        assertEquals("COMPONENT", loaded.printAssembly("Bolt"));
+        assertArrayEquals(Files.readAllBytes(file), SnapshotFile.toByteArray(loaded));
+        // The loaded system can be changed like any other.
+        loaded.addPart("Bike", 1, "Bell");
+        assertEquals("Bolt:10;Rim:2;Bell:1", loaded.getComponents("Bike"));
+    }
+
+    @Test
+    void roundTripOfEmptySystem() throws IOException {
+        Path file = directory.resolve("empty.snapshot");
+        SnapshotFile.save(new NeedsAssessment(), file);
+        NeedsAssessment loaded = new NeedsAssessment();
+        SnapshotFile.load(file, loaded);
+        assertEquals(0, loaded.getSystem().getItems().size());
+    }
+
+    @Test
+    void onlyLoadsIntoEmptySystem() throws IOException, RuleBrokenException {
+        Path file = directory.resolve("bom.snapshot");
+        SnapshotFile.save(new NeedsAssessment(), file);
+        NeedsAssessment factory = new NeedsAssessment();
+        factory.addAssembly("A", Arrays.asList(new Item(1, "B")));
+        assertThrows(IllegalStateException.class, () -> SnapshotFile.load(file, factory));
+    }
+
+    @Test
+    void rejectsCorruptSnapshots() throws IOException, RuleBrokenException {
+        NeedsAssessment factory = new NeedsAssessment();
+        factory.addAssembly("A", Arrays.asList(new Item(3, "B")));
+        byte[] snapshot = SnapshotFile.toByteArray(factory);
+
+        byte[] wrongMagic = snapshot.clone();
+        wrongMagic[0] = 'X';
+        assertCorrupt(wrongMagic);
+        assertCorrupt(Arrays.copyOf(snapshot, snapshot.length - 2));
+        byte[] zeroAmount = snapshot.clone();
+        zeroAmount[zeroAmount.length - 2] = 0;
+        assertCorrupt(zeroAmount);
+        byte[] edgeToParent = snapshot.clone();
+        edgeToParent[edgeToParent.length - 3] = 0;
+        assertCorrupt(edgeToParent);
+        assertCorrupt(new byte[] {'B', 'O', 'M', 'S', 1, -1, -1, -1, -1, 0x0F}); // -1 items.
+        assertCorrupt(new byte[] {'B', 'O', 'M', 'S', 1, 100, 1, 'A', 0}); // More items than bytes.
+        assertCorrupt(new byte[] {'B', 'O', 'M', 'S', 1, 3, 1, 'A', 1, 'B', 1, 'B', 0, 0, 0}); // B twice.
+        assertCorrupt(new byte[] {'B', 'O', 'M', 'S', 1, 1, 1, '1', 0}); // A name that isn't made of letters.
+        assertCorrupt(new byte[] {'B', 'O', 'M', 'S', 1, 2, 1, 'A', 1, ';', 0, 0});
+    }
+
+    /**
+     * Asserts that a snapshot cannot be loaded and leaves the system untouched.
+     * @param snapshot The snapshot.
+     * @throws IOException If the snapshot cannot be written to a file.
+     */
+    private void assertCorrupt(byte[] snapshot) throws IOException {
+        Path file = directory.resolve("corrupt.snapshot");
+        Files.write(file, snapshot);
+        NeedsAssessment factory = new NeedsAssessment();
+        assertThrows(IOException.class, () -> SnapshotFile.load(file, factory));
+        assertEquals(0, factory.getSystem().getItems().size());
+        assertEquals(0, factory.getSystem().getNames().size()); // No ids are left behind.
+    }
+}
@@ -0,0 +1,58 @@
+package edu.kit.informatik.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import edu.kit.informatik.exceptions.RuleBrokenException;
+
+/**
+ * Tests that every system has its own symbol table, so names used by one system don't take ids in another one.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+class SymbolTablePerSystemTest {
+
+    @Test
+    void systemsDontShareIds() throws RuleBrokenException {
+        NeedsAssessment busy = new NeedsAssessment();
+        for (int index = 0; index < 500; index++) {
+            busy.addAssembly("A" + name(index), Arrays.asList(new Item(1, "P" + name(index))));
+        }
+        NeedsAssessment small = new NeedsAssessment();
+        small.addAssembly("Car", Arrays.asList(new Item(4, "Wheel"), new Item(1, "Body")));
+        assertEquals(3, small.getSystem().getNames().size());
+        assertEquals(1000, busy.getSystem().getNames().size());
+    }
+
+    @Test
+    void frozenViewOfSmallSystem() throws RuleBrokenException {
+        NeedsAssessment busy = new NeedsAssessment();
+        for (int index = 0; index < 500; index++) {
+            busy.addAssembly("A" + name(index), Arrays.asList(new Item(1, "P" + name(index))));
+        }
+        NeedsAssessment small = new NeedsAssessment();
+        small.addAssembly("Car", Arrays.asList(new Item(4, "Wheel"), new Item(1, "Body")));
+        small.setFrozenReads(true);
+        assertEquals("Body:1;Wheel:4", small.printAssembly("Car"));
+        assertEquals("Wheel:4;Body:1", small.getComponents("Car"));
+        assertEquals(busy.printAssembly("Aa"), busy.getFrozenView().printAssembly("Aa"));
+    }
+
+    /**
+     * Helper method to get a name made of letters for a number.
+     * @param index The number.
+     * @return The name.
+     */
+    private static String name(int index) {
+        StringBuilder name = new StringBuilder();
+        for (int rest = index; rest >= 0; rest = rest / 26 - 1) {
+            name.append((char) ('a' + rest % 26));
+        }
+        return name.toString();
+    }
+}
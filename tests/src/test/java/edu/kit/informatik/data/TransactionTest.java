@@ -0,0 +1,180 @@
+package edu.kit.informatik.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import edu.kit.informatik.exceptions.RuleBrokenException;
+
+/**
+ * Tests the transactions of addPart and removePart edits.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+class TransactionTest {
+
+    /** The number of names the random transactions use. */
+    private static final int NAMES = 20;
+
+    /** The number of random transactions. */
+    private static final int TRANSACTIONS = 1000;
+
+    @Test
+    void editsAreOnlyAppliedOnCommit() throws RuleBrokenException {
+        NeedsAssessment factory = new NeedsAssessment();
+        factory.addAssembly("Car", Arrays.asList(new Item(4, "Wheel")));
+        factory.begin();
+        factory.addPart("Car", 1, "Body");
+        factory.removePart("Car", 4, "Wheel");
+        assertEquals("Wheel:4", factory.printAssembly("Car"));
+        factory.commit();
+        assertFalse(factory.isInTransaction());
+        assertEquals("Body:1", factory.printAssembly("Car"));
+        assertThrows(RuleBrokenException.class, () -> factory.printAssembly("Wheel"));
+    }
+
+    @Test
+    void onlyTheResultIsValidated() throws RuleBrokenException {
+        NeedsAssessment factory = new NeedsAssessment();
+        factory.addAssembly("A", Arrays.asList(new Item(500, "B")));
+        factory.addAssembly("B", Arrays.asList(new Item(1, "C")));
+        factory.addAssembly("C", Arrays.asList(new Item(1, "D")));
+        factory.begin();
+        factory.addPart("A", 600, "B"); // Above the maximum until the next edit.
+        factory.removePart("A", 200, "B");
+        factory.addPart("C", 1, "A"); // A cycle A-B-C-A until the next edit.
+        factory.removePart("B", 1, "C");
+        factory.commit();
+        assertEquals("B:900", factory.printAssembly("A"));
+        assertEquals("A:1;D:1", factory.printAssembly("C"));
+    }
+
+    @Test
+    void failedCommitChangesNothing() throws RuleBrokenException {
+        NeedsAssessment factory = new NeedsAssessment();
+        factory.addAssembly("A", Arrays.asList(new Item(1, "B")));
+        factory.addAssembly("B", Arrays.asList(new Item(1, "C")));
+        factory.begin();
+        factory.addPart("A", 3, "D");
+        factory.addPart("C", 1, "A"); // Closes the cycle A-B-C-A.
+        assertThrows(RuleBrokenException.class, factory::commit);
+        assertFalse(factory.isInTransaction());
+        assertEquals("B:1", factory.printAssembly("A"));
+        assertEquals("COMPONENT", factory.printAssembly("C"));
+
+        factory.begin();
+        factory.addPart("A", 1000, "B");
+        assertThrows(RuleBrokenException.class, factory::commit);
+        assertEquals("B:1", factory.printAssembly("A"));
+    }
+
+    @Test
+    void rollbackDiscardsEdits() throws RuleBrokenException {
+        NeedsAssessment factory = new NeedsAssessment();
+        factory.addAssembly("A", Arrays.asList(new Item(1, "B")));
+        factory.begin();
+        factory.addPart("A", 1, "C");
+        assertEquals("A+1:C", factory.getStagedEdits());
+        factory.rollback();
+        assertEquals("B:1", factory.printAssembly("A"));
+        assertThrows(RuleBrokenException.class, factory::rollback);
+        assertThrows(RuleBrokenException.class, factory::commit);
+    }
+
+    @Test
+    void otherChangesAreRejectedInTransaction() throws RuleBrokenException {
+        NeedsAssessment factory = new NeedsAssessment();
+        factory.addAssembly("A", Arrays.asList(new Item(1, "B")));
+        factory.begin();
+        assertThrows(RuleBrokenException.class, factory::begin);
+        assertThrows(RuleBrokenException.class, () -> factory.addAssembly("C", Arrays.asList(new Item(1, "D"))));
+        assertThrows(RuleBrokenException.class, () -> factory.removeAssembly("A"));
+        factory.commit();
+        assertEquals("B:1", factory.printAssembly("A"));
+    }
+
+    @Test
+    void matchesSequentialEdits() throws IOException, RuleBrokenException {
+        Random random = new Random(23);
+        String[] names = BomFixtures.names(NAMES);
+        NeedsAssessment factory = new NeedsAssessment();
+        factory.setMaintainedRollups(true);
+        for (int index = 0; index < NAMES / 2; index++) {
+            factory.addAssembly(names[index], Arrays.asList(new Item(1 + random.nextInt(3),
+                    names[NAMES / 2 + random.nextInt(NAMES / 2)])));
+        }
+        int applied = 0;
+        for (int transaction = 0; transaction < TRANSACTIONS; transaction++) {
+            NeedsAssessment sequential = BomFixtures.copy(factory);
+            String before = BomFixtures.state(factory, names);
+            boolean sequentialValid = true;
+            factory.begin();
+            for (int edit = 1 + random.nextInt(6); edit > 0; edit--) {
+                String assembly = pickAssembly(sequential, names, random);
+                String child = names[random.nextInt(NAMES)];
+                int amount = 1 + random.nextInt(random.nextInt(20) == 0 ? 600 : 3);
+                boolean add = random.nextInt(3) != 0;
+                try {
+                    if (add) {
+                        factory.addPart(assembly, amount, child);
+                        sequential.addPart(assembly, amount, child);
+                    } else {
+                        factory.removePart(assembly, amount, child);
+                        sequential.removePart(assembly, amount, child);
+                    }
+                } catch (RuleBrokenException exception) {
+                    sequentialValid = false; // Only the sequential edits can fail here.
+                }
+            }
+            try {
+                factory.commit();
+            } catch (RuleBrokenException exception) {
+                assertFalse(sequentialValid, "the transaction failed although every edit was valid: "
+                        + exception.getMessage());
+                assertEquals(before, BomFixtures.state(factory, names));
+                continue;
+            }
+            if (sequentialValid) {
+                assertEquals(BomFixtures.state(sequential, names), BomFixtures.state(factory, names));
+                applied++;
+            }
+            if (factory.getSystem().getItems().isEmpty()) {
+                factory.addAssembly(names[0], Arrays.asList(new Item(1, names[1])));
+            }
+        }
+        assertTrue(applied > TRANSACTIONS / 10, applied + " transactions applied");
+        assertEquals(BomFixtures.state(BomFixtures.copy(factory), names), BomFixtures.state(factory, names));
+    }
+
+    /**
+     * Picks the assembly of an edit, mostly one that exists.
+     * @param factory The system.
+     * @param names All names.
+     * @param random The random number generator.
+     * @return The name of the assembly.
+     */
+    private static String pickAssembly(NeedsAssessment factory, String[] names, Random random) {
+        List<String> assemblies = new ArrayList<>();
+        for (TreeNode item : factory.getSystem().getItems()) {
+            if (!item.isLeaf()) {
+                assemblies.add(item.getName());
+            }
+        }
+        if (assemblies.isEmpty() || random.nextInt(5) == 0) {
+            return names[random.nextInt(names.length)];
+        }
+        assemblies.sort(null);
+        return assemblies.get(random.nextInt(assemblies.size()));
+    }
+}
@@ -0,0 +1,160 @@
+package edu.kit.informatik.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.kit.informatik.commands.AddAssemblyCommand;
+import edu.kit.informatik.data.NeedsAssessment;
+import edu.kit.informatik.data.SnapshotFile;
+import edu.kit.informatik.exceptions.InvalidInputException;
+import edu.kit.informatik.exceptions.RuleBrokenException;
+
+/**
+ * Tests that the state of the system is recovered from a journal, also after a compaction that didn't finish.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+class JournalRecoveryTest {
+
+    /** A segment size after which the journal is compacted every few records. */
+    private static final long THRESHOLD = 64;
+
+    /** The directory of the journal. */
+    @TempDir
+    Path directory;
+
+    @Test
+    void recoversAfterCompaction() throws IOException {
+        NeedsAssessment expected = new NeedsAssessment();
+        NeedsAssessment factory = new NeedsAssessment();
+        try (Journal journal = open(factory, THRESHOLD)) {
+            addAssemblies(journal, factory, expected, 0, 4);
+        }
+        assertTrue(Files.exists(directory.resolve("snapshot-000000000001.bin")));
+        assertFalse(Files.exists(directory.resolve("journal-000000000000.log")));
+
+        NeedsAssessment recovered = new NeedsAssessment();
+        open(recovered, THRESHOLD).close();
+        assertSameState(expected, recovered);
+    }
+
+    @Test
+    void keepsSegmentsOfAnInterruptedCompaction() throws IOException {
+        NeedsAssessment expected = new NeedsAssessment();
+        NeedsAssessment factory = new NeedsAssessment();
+        try (Journal journal = open(factory, THRESHOLD)) {
+            addAssemblies(journal, factory, expected, 0, 4);
+        }
+        // The snapshot of the next compaction cannot be written, as if the program crashed before it was.
+        Path blocker = Files.createDirectory(directory.resolve("snapshot-000000000002.bin.tmp"));
+        NeedsAssessment interrupted = new NeedsAssessment();
+        Journal failing = open(interrupted, THRESHOLD);
+        addAssemblies(failing, interrupted, expected, 4, 8);
+        assertThrows(IOException.class, failing::close);
+        assertTrue(Files.exists(directory.resolve("journal-000000000002.log")));
+        assertFalse(Files.exists(directory.resolve("snapshot-000000000002.bin")));
+        Files.delete(blocker);
+
+        NeedsAssessment recovered = new NeedsAssessment();
+        open(recovered, Long.MAX_VALUE).close();
+        assertSameState(expected, recovered);
+        // Opening the journal must not have deleted anything the recovered state depends on.
+        NeedsAssessment recoveredAgain = new NeedsAssessment();
+        open(recoveredAgain, Long.MAX_VALUE).close();
+        assertSameState(expected, recoveredAgain);
+    }
+
+    @Test
+    void ignoresIncompleteRecord() throws IOException {
+        NeedsAssessment expected = new NeedsAssessment();
+        NeedsAssessment factory = new NeedsAssessment();
+        try (Journal journal = open(factory, Long.MAX_VALUE)) {
+            addAssemblies(journal, factory, expected, 0, 1);
+            addAssemblies(journal, factory, new NeedsAssessment(), 1, 2);
+        }
+        // Cut off the last byte of the second record, as if the program crashed while it was written.
+        Path segment = directory.resolve("journal-000000000000.log");
+        byte[] bytes = Files.readAllBytes(segment);
+        Files.write(segment, Arrays.copyOf(bytes, bytes.length - 1));
+
+        NeedsAssessment recovered = new NeedsAssessment();
+        try (Journal journal = open(recovered, Long.MAX_VALUE)) {
+            assertSameState(expected, recovered);
+            addAssemblies(journal, recovered, expected, 2, 3);
+        }
+        NeedsAssessment recoveredAgain = new NeedsAssessment();
+        open(recoveredAgain, Long.MAX_VALUE).close();
+        assertSameState(expected, recoveredAgain);
+    }
+
+    /**
+     * Opens the journal and replays it into a system.
+     * @param factory The empty system.
+     * @param threshold The size of a segment after which the journal is compacted.
+     * @return The journal.
+     * @throws IOException If the journal cannot be opened.
+     */
+    private Journal open(NeedsAssessment factory, long threshold) throws IOException {
+        AddAssemblyCommand command = new AddAssemblyCommand(factory);
+        return Journal.open(directory, threshold, factory, line -> run(command, line));
+    }
+
+    /**
+     * Adds the assemblies Aa, Ab, ... from the index from to the index to - 1 to a journaled system and to the
+     * expected system.
+     * @param journal The journal of the system.
+     * @param factory The journaled system.
+     * @param expected The system that isn't journaled.
+     * @param from The first assembly.
+     * @param to The assembly after the last one.
+     * @throws IOException If a record cannot be appended or committed.
+     */
+    private static void addAssemblies(Journal journal, NeedsAssessment factory, NeedsAssessment expected, int from,
+            int to) throws IOException {
+        AddAssemblyCommand command = new AddAssemblyCommand(factory);
+        AddAssemblyCommand expectedCommand = new AddAssemblyCommand(expected);
+        for (int index = from; index < to; index++) {
+            char suffix = (char) ('a' + index);
+            String record = "addAssembly A" + suffix + "=" + (index + 1) + ":P" + suffix;
+            run(command, record);
+            run(expectedCommand, record);
+            journal.append(record);
+            journal.commit();
+        }
+    }
+
+    /**
+     * Runs a journal record.
+     * @param command The addAssembly command of the system.
+     * @param record The record.
+     */
+    private static void run(AddAssemblyCommand command, String record) {
+        try {
+            command.run(record.substring(record.indexOf(' ') + 1));
+        } catch (InvalidInputException | RuleBrokenException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /**
+     * Asserts that two systems are in the same state.
+     * @param expected The expected system.
+     * @param actual The actual system.
+     * @throws IOException If a snapshot cannot be written.
+     */
+    private static void assertSameState(NeedsAssessment expected, NeedsAssessment actual) throws IOException {
+        assertArrayEquals(SnapshotFile.toByteArray(expected), SnapshotFile.toByteArray(actual));
+    }
+}
@@ -0,0 +1,63 @@
+package edu.kit.informatik.ui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.kit.informatik.commands.BomCommands;
+import edu.kit.informatik.commands.HistoryCommands;
+import edu.kit.informatik.commands.StatisticsCommands;
+import edu.kit.informatik.commands.TransactionCommands;
+import edu.kit.informatik.data.NeedsAssessment;
+
+/**
+ * Tests the registry of the commands and the registration of the command modules.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+class CommandRegistryTest {
+
+    @Test
+    void findsCommandInRegionOfLine() {
+        CommandRegistry commands = new CommandRegistry();
+        commands.register(new BomCommands(new NeedsAssessment()));
+        String line = "printAssembly Car";
+        CommandInterface command = commands.get(line, 0, line.indexOf(' '));
+        assertEquals("printAssembly", command.getNameofCommand());
+        assertSame(command, commands.get("xprintAssembly", 1, 14));
+        assertNull(commands.get(line, 0, 5));
+        assertNull(commands.get("unknown", 0, 7));
+    }
+
+    @Test
+    void registersAllModules() {
+        NeedsAssessment factory = new NeedsAssessment();
+        CommandRegistry commands = new CommandRegistry();
+        commands.register(new BomCommands(factory));
+        commands.register(new TransactionCommands(factory));
+        commands.register(new HistoryCommands(factory));
+        commands.register(new StatisticsCommands(null));
+        List<String> names = new ArrayList<>();
+        for (CommandInterface command : commands.getCommands()) {
+            names.add(command.getNameofCommand());
+            assertSame(command, commands.get(command.getNameofCommand(), 0, command.getNameofCommand().length()));
+        }
+        assertEquals(19, names.size());
+    }
+
+    @Test
+    void rejectsDuplicateNames() {
+        NeedsAssessment factory = new NeedsAssessment();
+        CommandRegistry commands = new CommandRegistry();
+        commands.register(new BomCommands(factory));
+        assertThrows(IllegalArgumentException.class, () -> commands.register(new BomCommands(factory)));
+    }
+}
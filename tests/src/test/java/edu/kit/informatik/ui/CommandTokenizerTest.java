@@ -0,0 +1,78 @@
+package edu.kit.informatik.ui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import edu.kit.informatik.data.SystemInitializer;
+import edu.kit.informatik.exceptions.InvalidInputException;
+
+/**
+ * Tests the tokenizer of the parameters of the commands.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+class CommandTokenizerTest {
+
+    @Test
+    void tokenizesAssembly() throws InvalidInputException {
+        CommandTokenizer tokenizer = new CommandTokenizer();
+        tokenizer.tokenizeAssembly("Car=4:Wheel;1:Body");
+        assertEquals("Car", tokenizer.getHead());
+        assertEquals(2, tokenizer.size());
+        assertEquals(4, tokenizer.getAmount(0));
+        assertEquals("Wheel", tokenizer.getName(0));
+        assertEquals(1, tokenizer.getAmount(1));
+        assertEquals("Body", tokenizer.getName(1));
+    }
+
+    @Test
+    void acceptsAmountsUpToTheMax() throws InvalidInputException {
+        CommandTokenizer tokenizer = new CommandTokenizer();
+        int max = SystemInitializer.getMaxAmount();
+        tokenizer.tokenizeAssembly("A=" + max + ":B;" + (max - 1) + ":C");
+        assertEquals(max, tokenizer.getAmount(0));
+        assertEquals(max - 1, tokenizer.getAmount(1));
+    }
+
+    @Test
+    void rejectsInvalidAmounts() {
+        CommandTokenizer tokenizer = new CommandTokenizer();
+        int max = SystemInitializer.getMaxAmount();
+        for (String amount : new String[] {"0", "01", Integer.toString(max + 1), max + "0", "-1", ""}) {
+            assertThrows(InvalidInputException.class, () -> tokenizer.tokenizeAssembly("A=" + amount + ":B"),
+                    amount);
+        }
+    }
+
+    @Test
+    void rejectsInvalidNames() {
+        CommandTokenizer tokenizer = new CommandTokenizer();
+        assertThrows(InvalidInputException.class, () -> tokenizer.tokenizeAssembly("A1=1:B"));
+        assertThrows(InvalidInputException.class, () -> tokenizer.tokenizeAssembly("A=1:B;"));
+        assertThrows(InvalidInputException.class, () -> tokenizer.tokenizeAssembly("A=1:B "));
+    }
+
+    @Test
+    void tokenizesEdits() throws InvalidInputException {
+        CommandTokenizer tokenizer = new CommandTokenizer();
+        StringBuilder edits = new StringBuilder("Car+2:Bell");
+        for (int edit = 1; edit < 40; edit++) { // More edits than the initial capacity of the buffers.
+            edits.append(";Bike-").append(edit).append(":Wheel");
+        }
+        tokenizer.tokenizeEdits(edits.toString());
+        assertEquals(40, tokenizer.size());
+        assertEquals("Car", tokenizer.getAssembly(0));
+        assertEquals(2, tokenizer.getAmount(0));
+        assertEquals("Bell", tokenizer.getName(0));
+        assertEquals("Bike", tokenizer.getAssembly(39));
+        assertEquals(-39, tokenizer.getAmount(39));
+        assertEquals("Wheel", tokenizer.getName(39));
+        for (String invalid : new String[] {"", "A+1:B;", "A*1:B", "A+1:B-1:C", "A-0:B", ";A+1:B"}) {
+            assertThrows(InvalidInputException.class, () -> tokenizer.tokenizeEdits(invalid), invalid);
+        }
+    }
+}
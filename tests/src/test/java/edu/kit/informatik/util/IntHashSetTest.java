@@ -0,0 +1,32 @@
+package edu.kit.informatik.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the hash set of ints.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+class IntHashSetTest {
+
+    @Test
+    void addsEveryValueOnce() {
+        IntHashSet set = new IntHashSet(1);
+        for (int value = 0; value < 10_000; value += 3) {
+            assertTrue(set.add(value));
+        }
+        for (int value = 0; value < 10_000; value += 3) {
+            assertFalse(set.add(value));
+        }
+        assertEquals(3334, set.size());
+        for (int value = 0; value < 10_000; value++) {
+            assertEquals(value % 3 == 0, set.contains(value));
+        }
+    }
+}
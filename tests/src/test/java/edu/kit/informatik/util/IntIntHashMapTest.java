@@ -0,0 +1,73 @@
+package edu.kit.informatik.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the hash map from int keys to int values.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+class IntIntHashMapTest {
+
+    @Test
+    void putKeepsValueAcrossResize() {
+        IntIntHashMap map = new IntIntHashMap(1);
+        for (int key = 0; key < 1000; key++) {
+            map.put(key, key * 3 + 1); // Every few keys the put grows the arrays.
+        }
+        assertEquals(1000, map.size());
+        for (int key = 0; key < 1000; key++) {
+            assertEquals(key * 3 + 1, map.get(key, -1));
+        }
+    }
+
+    @Test
+    void putReplacesValue() {
+        IntIntHashMap map = new IntIntHashMap();
+        map.put(7, 1);
+        map.put(7, 2);
+        assertEquals(1, map.size());
+        assertEquals(2, map.get(7, -1));
+    }
+
+    @Test
+    void addToStartsAtZero() {
+        IntIntHashMap map = new IntIntHashMap();
+        assertEquals(5, map.addTo(3, 5));
+        assertEquals(2, map.addTo(3, -3));
+        assertTrue(map.containsKey(3));
+        assertFalse(map.containsKey(4));
+        assertEquals(-1, map.get(4, -1));
+    }
+
+    @Test
+    void matchesHashMap() {
+        Random random = new Random(42);
+        IntIntHashMap map = new IntIntHashMap();
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int operation = 0; operation < 100_000; operation++) {
+            int key = random.nextInt(5000);
+            int value = random.nextInt();
+            if (random.nextBoolean()) {
+                map.put(key, value);
+                expected.put(key, value);
+            } else {
+                assertEquals(expected.merge(key, value, Integer::sum).intValue(), map.addTo(key, value));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue().intValue(), map.get(entry.getKey(), 0));
+        }
+    }
+}
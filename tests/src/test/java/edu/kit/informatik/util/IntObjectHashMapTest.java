@@ -0,0 +1,83 @@
+package edu.kit.informatik.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the insertion-ordered hash map from int keys to objects.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+class IntObjectHashMapTest {
+
+    @Test
+    void keepsInsertionOrder() {
+        IntObjectHashMap<String> map = new IntObjectHashMap<>();
+        map.put(5, "a");
+        map.put(1, "b");
+        map.put(9, "c");
+        map.remove(1);
+        map.put(1, "d");
+        assertEquals("a", map.put(5, "e")); // Keeps its position.
+        assertEquals(Arrays.asList("e", "c", "d"), new ArrayList<>(map.values()));
+    }
+
+    @Test
+    void removeAndClear() {
+        IntObjectHashMap<String> map = new IntObjectHashMap<>();
+        map.put(2, "x");
+        assertNull(map.remove(3));
+        assertEquals("x", map.remove(2));
+        assertTrue(map.isEmpty());
+        map.put(4, "y");
+        map.clear();
+        assertNull(map.get(4));
+        assertEquals(0, map.values().size());
+    }
+
+    @Test
+    void iterationFailsAfterChange() {
+        IntObjectHashMap<String> map = new IntObjectHashMap<>();
+        map.put(1, "a");
+        map.put(2, "b");
+        Iterator<String> iterator = map.values().iterator();
+        iterator.next();
+        map.put(3, "c");
+        assertThrows(ConcurrentModificationException.class, iterator::hasNext);
+    }
+
+    @Test
+    void matchesLinkedHashMap() {
+        Random random = new Random(7);
+        IntObjectHashMap<Integer> map = new IntObjectHashMap<>();
+        Map<Integer, Integer> expected = new LinkedHashMap<>();
+        for (int operation = 0; operation < 100_000; operation++) {
+            int key = random.nextInt(2000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, operation), map.put(key, operation));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (int key = 0; key < 2000; key++) {
+            assertEquals(expected.containsKey(key), map.containsKey(key));
+            assertEquals(expected.get(key), map.get(key));
+        }
+        assertEquals(new ArrayList<>(expected.values()), new ArrayList<>(map.values()));
+    }
+}
@@ -0,0 +1,137 @@
+package edu.kit.informatik.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the immutable hash map.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+class PersistentHashMapTest {
+
+    @Test
+    void oldVersionsDontChange() {
+        PersistentHashMap<String, Integer> first = PersistentHashMap.<String, Integer>empty().plus("a", 1);
+        PersistentHashMap<String, Integer> second = first.plus("b", 2).plus("a", 3);
+        PersistentHashMap<String, Integer> third = second.minus("a");
+        assertEquals(1, first.size());
+        assertEquals(1, first.get("a").intValue());
+        assertNull(first.get("b"));
+        assertEquals(3, second.get("a").intValue());
+        assertNull(third.get("a"));
+        assertEquals(2, third.get("b").intValue());
+    }
+
+    @Test
+    void unchangedMapIsReturned() {
+        Integer one = 1;
+        PersistentHashMap<String, Integer> map = PersistentHashMap.<String, Integer>empty().plus("a", one);
+        assertSame(map, map.plus("a", one));
+        assertSame(map, map.minus("b"));
+        assertTrue(map.minus("a").isEmpty());
+    }
+
+    @Test
+    void collidingKeys() {
+        PersistentHashMap<Key, Integer> map = PersistentHashMap.empty();
+        for (int index = 0; index < 10; index++) {
+            map = map.plus(new Key(index), index);
+        }
+        assertEquals(10, map.size());
+        for (int index = 0; index < 10; index++) {
+            assertEquals(index, map.get(new Key(index)).intValue());
+        }
+        for (int index = 0; index < 10; index += 2) {
+            map = map.minus(new Key(index));
+        }
+        assertEquals(5, map.size());
+        assertNull(map.get(new Key(4)));
+        assertEquals(5, map.get(new Key(5)).intValue());
+    }
+
+    @Test
+    void matchesHashMap() {
+        Random random = new Random(11);
+        PersistentHashMap<String, Integer> map = PersistentHashMap.empty();
+        Map<String, Integer> expected = new HashMap<>();
+        for (int operation = 0; operation < 50_000; operation++) {
+            String key = "K" + random.nextInt(3000);
+            if (random.nextInt(3) == 0) {
+                map = map.minus(key);
+                expected.remove(key);
+            } else {
+                map = map.plus(key, operation);
+                expected.put(key, operation);
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        Map<String, Integer> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void diffReportsChangedKeys() {
+        PersistentHashMap<String, Integer> before = PersistentHashMap.empty();
+        for (int index = 0; index < 1000; index++) {
+            before = before.plus("K" + index, index);
+        }
+        PersistentHashMap<String, Integer> after = before.plus("K1", -1).minus("K2").plus("New", 7);
+        Map<String, Integer> differences = new HashMap<>();
+        before.diff(after, differences::put);
+        Map<String, Integer> expected = new HashMap<>();
+        expected.put("K1", -1);
+        expected.put("K2", null);
+        expected.put("New", 7);
+        assertEquals(expected, differences);
+
+        differences.clear();
+        after.diff(before, differences::put);
+        expected.clear();
+        expected.put("K1", 1);
+        expected.put("K2", 2);
+        expected.put("New", null);
+        assertEquals(expected, differences);
+
+        differences.clear();
+        before.diff(before, differences::put);
+        assertTrue(differences.isEmpty());
+    }
+
+    /**
+     * A key whose hash collides with every other key.
+     */
+    private static final class Key {
+
+        /** The value that tells keys apart. */
+        private final int value;
+
+        /**
+         * @param value The value that tells keys apart.
+         */
+        Key(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key && ((Key) other).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package edu.kit.informatik.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the symbol table that assigns names dense ids.
+ *
+ * @author Rakan Zeid Al Masri
+ * @version 1.0
+ */
+
+class SymbolTableTest {
+
+    @Test
+    void assignsDenseIds() {
+        SymbolTable table = new SymbolTable();
+        for (int index = 0; index < 200; index++) { // More than the initial capacity.
+            assertEquals(index, table.intern("N" + index));
+        }
+        assertEquals(42, table.intern("N42"));
+        assertEquals("N199", table.nameOf(199));
+        assertEquals(-1, table.lookup("missing"));
+        assertEquals(200, table.size());
+    }
+
+    @Test
+    void tablesAreIndependent() {
+        SymbolTable first = new SymbolTable();
+        SymbolTable second = new SymbolTable();
+        first.intern("A");
+        first.intern("B");
+        assertEquals(0, second.intern("B"));
+        assertEquals(-1, second.lookup("A"));
+    }
+
+    @Test
+    void concurrentInternsAgree() throws Exception {
+        SymbolTable table = new SymbolTable();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<int[]>> results = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                results.add(executor.submit(() -> {
+                    int[] ids = new int[1000];
+                    for (int index = 0; index < ids.length; index++) {
+                        ids[index] = table.intern("N" + index);
+                    }
+                    return ids;
+                }));
+            }
+            int[] first = results.get(0).get();
+            Set<Integer> distinct = new HashSet<>();
+            for (int index = 0; index < first.length; index++) {
+                distinct.add(first[index]);
+                assertEquals("N" + index, table.nameOf(first[index]));
+            }
+            for (Future<int[]> result : results) {
+                assertEquals(Arrays.toString(first), Arrays.toString(result.get()));
+            }
+            assertEquals(1000, distinct.size());
+            assertEquals(1000, table.size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}